@@ -0,0 +1,83 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.entities.Player;
+import com.miniplatformer.entities.ProjectilePool;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.patterns.factory.EnemyFactory;
+import com.miniplatformer.systems.SoundSystem;
+import com.miniplatformer.utils.GameLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds a reproducible benchmark world with the given number of platforms, enemies,
+ * collectibles, obstacles and projectiles.
+ * Objects are scattered in a band above the player, who stands on a safe platform,
+ * so every tick does the full amount of work without the player dying or collecting anything.
+ */
+public final class BenchmarkWorld {
+    private static final String[] ENEMY_TYPES = {"goomba", "koopa", "flying", "shooter"};
+    private static final String[] COLLECTIBLE_TYPES = {"coin", "coin", "coin", "shield", "weapon", "speedBoost"};
+    private static final double OBJECT_BAND_HEIGHT = 250;
+
+    private BenchmarkWorld() {
+    }
+
+    /**
+     * Reset the GameManager and start a game on a generated world
+     */
+    public static GameManager create(int count, long seed) {
+        GameLogger.setLevel("WARN");
+        SoundSystem.setEnabled(false);
+        GameManager.reset();
+        GameManager manager = GameManager.getInstance();
+
+        Random rand = new Random(seed);
+        double worldWidth = Math.max(GameConfig.WINDOW_WIDTH, count * 40.0);
+        Level level = new Level("Benchmark " + count, worldWidth, GameConfig.WINDOW_HEIGHT);
+
+        // Safe ground under the player's start position
+        level.add(new Platform(0, GameConfig.PLAYER_START_Y + GameConfig.PLAYER_HEIGHT, 300, 20, GameConfig.COLOR_PLATFORM));
+
+        for (int i = 0; i < count; i++) {
+            level.add(new Platform(rand.nextDouble() * worldWidth, rand.nextDouble() * OBJECT_BAND_HEIGHT,
+                40 + rand.nextInt(120), 20, GameConfig.COLOR_PLATFORM));
+        }
+        for (int i = 0; i < count; i++) {
+            level.add(new Collectible(rand.nextDouble() * worldWidth, rand.nextDouble() * OBJECT_BAND_HEIGHT,
+                COLLECTIBLE_TYPES[rand.nextInt(COLLECTIBLE_TYPES.length)]));
+        }
+        for (int i = 0; i < count; i++) {
+            level.add(new Obstacle(rand.nextDouble() * worldWidth, rand.nextDouble() * OBJECT_BAND_HEIGHT,
+                rand.nextBoolean() ? "spike" : "fire"));
+        }
+
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            enemies.add(EnemyFactory.createEnemy(ENEMY_TYPES[i % ENEMY_TYPES.length],
+                rand.nextDouble() * worldWidth, rand.nextDouble() * OBJECT_BAND_HEIGHT));
+        }
+
+        manager.startGame(level, enemies);
+
+        manager.setProjectilePool(new ProjectilePool(Math.max(count, GameConfig.MAX_PROJECTILES),
+            ProjectilePool.OverflowPolicy.DROP_NEWEST));
+        for (int i = 0; i < count; i++) {
+            double velocity = rand.nextBoolean() ? GameConfig.PROJECTILE_SPEED : -GameConfig.PROJECTILE_SPEED;
+            manager.spawnProjectile(rand.nextDouble() * worldWidth, rand.nextDouble() * OBJECT_BAND_HEIGHT, velocity);
+        }
+
+        // Land the player on the safe platform
+        Player player = manager.getPlayer();
+        player.setOnGround(true);
+        return manager;
+    }
+}
@@ -0,0 +1,57 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.entities.Player;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.systems.Broadphase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spatial hash broadphase: per-tick re-bucketing of moving entities and the player's query
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadphaseBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int count;
+
+    private GameManager manager;
+    private Broadphase broadphase;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        manager = BenchmarkWorld.create(count, 42L);
+        broadphase = manager.getBroadphase();
+        player = manager.getPlayer();
+        broadphase.update(manager.getCurrentLevel(), manager.getEnemies(), manager.getProjectiles());
+    }
+
+    @Benchmark
+    public void update() {
+        broadphase.update(manager.getCurrentLevel(), manager.getEnemies(), manager.getProjectiles());
+    }
+
+    @Benchmark
+    public List<Platform> queryPlayer() {
+        return broadphase.queryPlatforms(player.getX(), player.getY(), player.getWidth(), player.getHeight());
+    }
+}
@@ -0,0 +1,84 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.entities.Player;
+import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.systems.CollisionSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each CollisionSystem pass in isolation, against the same inputs PlayingState hands it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionSystemBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int count;
+
+    private Player player;
+    private List<Platform> platforms;
+    private List<Collectible> collectibles;
+    private List<Obstacle> obstacles;
+    private List<Enemy> enemies;
+    private List<Projectile> projectiles;
+
+    @Setup
+    public void setUp() {
+        GameManager manager = BenchmarkWorld.create(count, 42L);
+        player = manager.getPlayer();
+        Level level = manager.getCurrentLevel();
+        platforms = level.getPlatforms();
+        collectibles = level.getCollectibles();
+        obstacles = level.getObstacles();
+        enemies = manager.getEnemies();
+        projectiles = manager.getProjectiles();
+    }
+
+    @Benchmark
+    public void checkPlatformCollisions() {
+        CollisionSystem.checkPlatformCollisions(player, platforms);
+    }
+
+    @Benchmark
+    public void checkEnemyCollisions() {
+        CollisionSystem.checkEnemyCollisions(player, enemies);
+    }
+
+    @Benchmark
+    public void checkCollectibleCollisions() {
+        CollisionSystem.checkCollectibleCollisions(player, collectibles);
+    }
+
+    @Benchmark
+    public void checkObstacleCollisions() {
+        CollisionSystem.checkObstacleCollisions(player, obstacles);
+    }
+
+    @Benchmark
+    public void checkProjectileCollisions() {
+        CollisionSystem.checkProjectileCollisions(player, projectiles);
+    }
+}
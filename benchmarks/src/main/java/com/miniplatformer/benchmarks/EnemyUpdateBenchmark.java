@@ -0,0 +1,102 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.patterns.factory.EnemyFactory;
+import com.miniplatformer.patterns.factory.EnemyStore;
+import com.miniplatformer.systems.ParallelPhases;
+import com.miniplatformer.systems.SoundSystem;
+import com.miniplatformer.utils.GameLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enemy AI and movement: one object per enemy versus the structure-of-arrays EnemyStore,
+ * each on the game thread and split across cores by ParallelPhases
+ * The game clock is not advanced, so shooters never fire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EnemyUpdateBenchmark {
+    private static final String[] ENEMY_TYPES = {"goomba", "koopa", "flying", "shooter"};
+
+    @Param({"100", "10000", "100000"})
+    public int count;
+
+    private List<Enemy> objects;
+    private EnemyStore store;
+    private ParallelPhases phases;
+
+    @Setup
+    public void setUp() {
+        GameLogger.setLevel("WARN");
+        SoundSystem.setEnabled(false);
+        GameManager.reset();
+        phases = new ParallelPhases();
+
+        Random rand = new Random(42L);
+        objects = new ArrayList<>(count);
+        store = new EnemyStore(count);
+        for (int i = 0; i < count; i++) {
+            String type = ENEMY_TYPES[i % ENEMY_TYPES.length];
+            double x = rand.nextDouble() * 800;
+            double y = rand.nextDouble() * 600;
+            objects.add(EnemyFactory.createEnemy(type, x, y));
+            store.add(type, x, y);
+        }
+    }
+
+    @Benchmark
+    public void updateObjects() {
+        for (Enemy enemy : objects) {
+            enemy.savePreviousPosition();
+        }
+        for (Enemy enemy : objects) {
+            enemy.update();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        phases.close();
+    }
+
+    @Benchmark
+    public void updateStore() {
+        store.savePreviousPositions();
+        store.update();
+    }
+
+    @Benchmark
+    public void updateObjectsParallel() {
+        for (Enemy enemy : objects) {
+            enemy.savePreviousPosition();
+        }
+        phases.forEach(objects, Enemy::update);
+    }
+
+    @Benchmark
+    public void updateStoreParallel() {
+        store.savePreviousPositions();
+        store.update(phases);
+    }
+}
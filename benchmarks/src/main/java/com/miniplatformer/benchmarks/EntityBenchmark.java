@@ -0,0 +1,57 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.entities.Entity;
+import com.miniplatformer.patterns.composite.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Narrow-phase overlap tests against entities and level components
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityBenchmark {
+
+    private Entity player;
+    private Entity overlapping;
+    private Entity distant;
+    private Platform platform;
+
+    @Setup
+    public void setUp() {
+        player = new Entity(100, 100, 32, 48);
+        overlapping = new Entity(120, 130, 32, 32);
+        distant = new Entity(600, 500, 32, 32);
+        platform = new Platform(90, 148, 200, 20, GameConfig.COLOR_PLATFORM);
+    }
+
+    @Benchmark
+    public boolean collidesWithHit() {
+        return player.collidesWith(overlapping);
+    }
+
+    @Benchmark
+    public boolean collidesWithMiss() {
+        return player.collidesWith(distant);
+    }
+
+    @Benchmark
+    public boolean collidesWithComponent() {
+        return player.collidesWith(platform);
+    }
+}
@@ -0,0 +1,52 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.utils.EventJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of journaling one gameplay event to the memory-mapped file
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventJournalBenchmark {
+
+    private Path file;
+    private long tick;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("events", ".journal");
+        EventJournal.open(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        EventJournal.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void record() {
+        EventJournal.setTick(tick++);
+        EventJournal.record(EventJournal.Event.COIN, EventJournal.PLAYER, 100.0, 420.0, 10);
+    }
+}
@@ -0,0 +1,50 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.patterns.composite.GameComponent;
+import com.miniplatformer.patterns.composite.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level composite traversal: per-tick update and component access
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int count;
+
+    private Level level;
+
+    @Setup
+    public void setUp() {
+        level = BenchmarkWorld.create(count, 42L).getCurrentLevel();
+    }
+
+    @Benchmark
+    public void update() {
+        level.update();
+    }
+
+    @Benchmark
+    public List<GameComponent> getComponents() {
+        return level.getComponents();
+    }
+}
@@ -0,0 +1,101 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.systems.BinaryLevel;
+import com.miniplatformer.systems.LevelCompiler;
+import com.miniplatformer.utils.GameLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level startup: opening a compiled level and building its Level and enemies, against
+ * parsing the same level from text
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelLoadBenchmark {
+    private static final String[] ENEMY_TYPES = {"goomba", "koopa", "flying", "shooter"};
+
+    @Param({"1000", "50000"})
+    private int objectCount;
+
+    private Path textFile;
+    private Path binaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        GameLogger.setLevel("WARN");
+        Random random = new Random(42);
+        double width = objectCount * 40.0;
+        List<String> lines = new ArrayList<>(objectCount + 1);
+        lines.add("level \"Benchmark\" " + width + " 600");
+        for (int i = 0; i < objectCount; i++) {
+            double x = random.nextInt((int) width - 200);
+            int y = 100 + random.nextInt(450);
+            switch (i % 10) {
+                case 0:
+                    lines.add("enemy " + ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)] + " " + x + " " + y);
+                    break;
+                case 1:
+                    lines.add("obstacle spike " + x + " " + y);
+                    break;
+                case 2: case 3: case 4: case 5:
+                    lines.add("coin " + x + " " + y);
+                    break;
+                default:
+                    lines.add("platform " + x + " " + y + " " + (60 + random.nextInt(140)) + " 20");
+                    break;
+            }
+        }
+        textFile = Files.createTempFile("level", ".txt");
+        binaryFile = Files.createTempFile("level", BinaryLevel.EXTENSION);
+        Files.write(textFile, lines, StandardCharsets.UTF_8);
+        LevelCompiler.compile(textFile, binaryFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(textFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public void loadBinary(Blackhole blackhole) throws IOException {
+        BinaryLevel data = BinaryLevel.open(binaryFile);
+        Level level = data.createLevel();
+        blackhole.consume(level);
+        blackhole.consume(data.createEnemies());
+    }
+
+    @Benchmark
+    public void loadText(Blackhole blackhole) throws IOException {
+        BinaryLevel data = new BinaryLevel(LevelCompiler.compile(Files.readAllLines(textFile, StandardCharsets.UTF_8)));
+        Level level = data.createLevel();
+        blackhole.consume(level);
+        blackhole.consume(data.createEnemies());
+    }
+}
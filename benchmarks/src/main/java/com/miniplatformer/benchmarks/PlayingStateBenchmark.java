@@ -0,0 +1,48 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.patterns.state.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full simulation tick: PlayingState.update over worlds of increasing size
+ * The game clock is not advanced, so shooters never fire and the world stays the same size
+ * for the whole run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayingStateBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int count;
+
+    private GameManager manager;
+    private GameState playingState;
+
+    @Setup
+    public void setUp() {
+        manager = BenchmarkWorld.create(count, 42L);
+        playingState = manager.getCurrentState();
+    }
+
+    @Benchmark
+    public void update() {
+        playingState.update(manager);
+    }
+}
@@ -0,0 +1,54 @@
+package com.miniplatformer.benchmarks;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.entities.ProjectilePool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state projectile churn: every tick a burst of shots is fired while older ones fly
+ * off screen and are compacted away. Cost and allocation should stay flat however long it runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProjectilePoolBenchmark {
+
+    @Param({"1", "16"})
+    public int shotsPerTick;
+
+    private ProjectilePool pool;
+    private int tick;
+
+    @Setup
+    public void setUp() {
+        // Enough room for every shot alive at once: a bullet crosses the screen in 200 ticks
+        pool = new ProjectilePool(shotsPerTick * 256, ProjectilePool.OverflowPolicy.REPLACE_OLDEST);
+        tick = 0;
+    }
+
+    @Benchmark
+    public int tick() {
+        for (int i = 0; i < shotsPerTick; i++) {
+            pool.spawn(GameConfig.WINDOW_WIDTH / 2.0, (tick * 7 + i * 13) % GameConfig.WINDOW_HEIGHT,
+                (i & 1) == 0 ? GameConfig.PROJECTILE_SPEED : -GameConfig.PROJECTILE_SPEED);
+        }
+        pool.update();
+        tick++;
+        return pool.size();
+    }
+}
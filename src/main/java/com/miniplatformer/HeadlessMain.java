@@ -0,0 +1,186 @@
+package com.miniplatformer;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.HeadlessSimulation;
+import com.miniplatformer.core.InputScript;
+import com.miniplatformer.core.Replay;
+import com.miniplatformer.core.ReplayRecorder;
+import com.miniplatformer.core.Replayer;
+import com.miniplatformer.systems.ProceduralChunkSource;
+import com.miniplatformer.utils.EventJournal;
+import com.miniplatformer.utils.FrameProfiler;
+import com.miniplatformer.utils.GameLogger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Headless entry point
+ * Runs the game simulation without a display, e.g. on a Linux server:
+ * java -cp mini-platformer.jar com.miniplatformer.HeadlessMain --ticks 100000 --script inputs.txt
+ * Add --world-chunks N to play a procedurally generated world streamed in N chunks,
+ * and --profile to print per-phase tick timings at the end. --seed N fixes the random streams
+ * (power-ups, drops), so a run can be reproduced from the seed it prints.
+ * --record FILE saves the run as a replay; --replay FILE re-runs a replay recorded by the game
+ * or by --record at full speed and checks it against the recorded keyframes.
+ */
+public class HeadlessMain {
+
+    public static void main(String[] args) {
+        long ticks = 10_000;
+        Path scriptFile = null;
+        String logLevel = "WARN";
+        Path journalFile = null;
+        int worldChunks = GameConfig.WORLD_CHUNKS;
+        boolean profile = false;
+        Path recordFile = null;
+        Path replayFile = null;
+        Long seed = GameConfig.SESSION_SEED;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Long.parseLong(requireValue(args, ++i));
+                    break;
+                case "--script":
+                    scriptFile = Path.of(requireValue(args, ++i));
+                    break;
+                case "--log-level":
+                    logLevel = requireValue(args, ++i);
+                    break;
+                case "--journal":
+                    journalFile = Path.of(requireValue(args, ++i));
+                    break;
+                case "--world-chunks":
+                    worldChunks = Integer.parseInt(requireValue(args, ++i));
+                    break;
+                case "--profile":
+                    profile = true;
+                    break;
+                case "--record":
+                    recordFile = Path.of(requireValue(args, ++i));
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(requireValue(args, ++i));
+                    break;
+                case "--replay":
+                    replayFile = Path.of(requireValue(args, ++i));
+                    break;
+                default:
+                    System.err.println("Usage: HeadlessMain [--ticks N] [--script FILE] [--log-level LEVEL] [--journal FILE] [--world-chunks N] [--profile] [--seed N] [--record FILE] [--replay FILE]");
+                    System.exit(2);
+            }
+        }
+
+        GameLogger.setLevel(logLevel);
+
+        InputScript script = InputScript.empty();
+        if (scriptFile != null) {
+            try {
+                script = InputScript.load(scriptFile);
+            } catch (IOException | IllegalArgumentException e) {
+                GameLogger.error("Could not load input script " + scriptFile, e);
+                System.exit(1);
+            }
+        }
+
+        if (journalFile != null) {
+            try {
+                EventJournal.open(journalFile);
+            } catch (IOException e) {
+                GameLogger.error("Could not open event journal " + journalFile, e);
+                System.exit(1);
+            }
+        }
+
+        if (replayFile != null) {
+            replay(replayFile, profile);
+            return;
+        }
+
+        HeadlessSimulation simulation = new HeadlessSimulation();
+        if (seed != null) {
+            simulation.getManager().setSessionSeed(seed);
+        }
+        if (worldChunks > 0) {
+            simulation.loadLevel(new ProceduralChunkSource(GameConfig.WORLD_SEED, worldChunks));
+        } else {
+            simulation.loadLevel();
+        }
+        ReplayRecorder recorder = null;
+        if (recordFile != null) {
+            recorder = new ReplayRecorder(Replay.ORIGIN_LEVEL, simulation.getManager().getSessionSeed(),
+                GameConfig.WORLD_SEED, worldChunks, GameConfig.REPLAY_KEYFRAME_TICKS);
+            simulation.getManager().setReplayRecorder(recorder);
+        }
+
+        long start = System.nanoTime();
+        long simulated = simulation.run(script, ticks);
+        long elapsedNanos = System.nanoTime() - start;
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("Seed: %d%n", simulation.getManager().getSessionSeed());
+        System.out.printf("Simulated %d ticks in %.3f s (%.0f ticks/s)%n", simulated, seconds, simulated / seconds);
+        System.out.printf("Final state: %s, score: %d, lives: %d%n",
+            simulation.getManager().getCurrentState().getClass().getSimpleName(),
+            simulation.getManager().getScore(),
+            simulation.getManager().getLives());
+        if (profile) {
+            System.out.println(FrameProfiler.getSummary());
+        }
+        if (EventJournal.isOpen()) {
+            System.out.printf("Journaled %d events to %s%n", EventJournal.getCount(), journalFile);
+            EventJournal.close();
+        }
+        if (recorder != null) {
+            try {
+                recorder.save(recordFile);
+                System.out.printf("Recorded %s to %s%n", recorder.toReplay(), recordFile);
+            } catch (IOException e) {
+                GameLogger.error("Could not save replay " + recordFile, e);
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void replay(Path file, boolean profile) {
+        Replayer replayer;
+        try {
+            Replay replay = Replay.read(file);
+            System.out.println("Replaying " + replay);
+            replayer = new Replayer(replay);
+        } catch (IOException | IllegalStateException e) {
+            GameLogger.error("Could not load replay " + file, e);
+            System.exit(1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long simulated = replayer.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("Replayed %d ticks in %.3f s (%.0f ticks/s)%n", simulated, seconds, simulated / seconds);
+        System.out.printf("Final state: %s, score: %d, lives: %d%n",
+            replayer.getManager().getCurrentState().getClass().getSimpleName(),
+            replayer.getManager().getScore(),
+            replayer.getManager().getLives());
+        if (replayer.getDesyncTick() >= 0) {
+            System.out.printf("Desync: state differs from the recording at tick %d%n", replayer.getDesyncTick());
+        } else {
+            System.out.println("All keyframes match the recording");
+        }
+        if (profile) {
+            System.out.println(FrameProfiler.getSummary());
+        }
+        if (replayer.getDesyncTick() >= 0) {
+            System.exit(3);
+        }
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            System.err.println("Missing value for " + args[index - 1]);
+            System.exit(2);
+        }
+        return args[index];
+    }
+}
@@ -2,6 +2,21 @@ package com.miniplatformer;
 
 import com.miniplatformer.config.GameConfig;
 import com.miniplatformer.core.GameManager;
+import com.miniplatformer.core.InputScript;
+import com.miniplatformer.core.Replay;
+import com.miniplatformer.core.ReplayRecorder;
+import com.miniplatformer.entities.Player;
+import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.factory.FlyingEnemy;
+import com.miniplatformer.patterns.factory.Goomba;
+import com.miniplatformer.patterns.factory.Koopa;
+import com.miniplatformer.patterns.factory.Shooter;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SoundSystem;
+import com.miniplatformer.systems.SpriteAtlas;
+import com.miniplatformer.utils.EventJournal;
+import com.miniplatformer.utils.FrameProfiler;
 import com.miniplatformer.utils.GameLogger;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
@@ -14,22 +29,29 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Main Application Entry Point
  * JavaFX application for Mini Platformer game
  */
 public class Main extends Application {
+    // Benchmark mode: render as fast as possible instead of at the display refresh rate
+    private static final boolean UNCAPPED = Boolean.getBoolean("miniplatformer.uncapped");
+    
     private Canvas canvas;
     private GraphicsContext gc;
     private GameManager gameManager;
     private AnimationTimer gameLoop;
     
-    // Input state
-    private boolean leftPressed = false;
-    private boolean rightPressed = false;
-    private boolean jumpPressed = false;
-    private boolean attackPressed = false;
-    private boolean escapePressed = false;
+    private ReplayRecorder replayRecorder;
+    private boolean replaySaved;
+    
+    // Input state as InputScript bits, latched and forwarded to the game once per tick
+    private int heldKeys = 0;
+    private int tappedKeys = 0; // Pressed since the last tick, so a tap shorter than a tick still counts
+    private int forwardedKeys = 0;
 
     @Override
     public void start(Stage primaryStage) {
@@ -38,6 +60,30 @@ public class Main extends Application {
         // Initialize game manager
         gameManager = GameManager.getInstance();
         
+        // Record every tick's input so the session can be replayed headlessly
+        replayRecorder = new ReplayRecorder(Replay.ORIGIN_MENU, gameManager.getSessionSeed(),
+            GameConfig.WORLD_SEED, GameConfig.WORLD_CHUNKS, GameConfig.REPLAY_KEYFRAME_TICKS);
+        gameManager.setReplayRecorder(replayRecorder);
+        // Menus quit with System.exit, which skips stop()
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            saveReplay();
+            EventJournal.close();
+        }, "session-save"));
+        
+        // Synthesize sound effects and open the audio line before the first frame
+        SoundSystem.init();
+        
+        // Rasterize every entity sprite before the first frame
+        SpriteAtlas.preload(Player.class, Projectile.class, Collectible.class,
+            Goomba.class, Koopa.class, FlyingEnemy.class, Shooter.class);
+        
+        // Journal every gameplay event in binary form
+        try {
+            EventJournal.open(Path.of(GameConfig.EVENT_JOURNAL_FILE));
+        } catch (IOException e) {
+            GameLogger.error("Could not open event journal, continuing without it", e);
+        }
+        
         // Create canvas
         canvas = new Canvas(GameConfig.WINDOW_WIDTH, GameConfig.WINDOW_HEIGHT);
         gc = canvas.getGraphicsContext2D();
@@ -58,72 +104,136 @@ public class Main extends Application {
         primaryStage.setResizable(false);
         primaryStage.show();
         
-        // Start game loop
+        // Start game loop - fixed-timestep simulation, rendering every display frame
         gameLoop = new AnimationTimer() {
-            private long lastUpdate = 0;
-            private final long targetFPS = 1000000000 / GameConfig.FPS;
+            private long lastFrameTime = -1;
+            private long accumulator = 0;
+            private long fpsWindowStart = 0;
+            private int framesInWindow = 0;
             
             @Override
             public void handle(long now) {
-                if (now - lastUpdate >= targetFPS) {
-                    // Update game
+                long frameStart = FrameProfiler.start();
+                if (lastFrameTime < 0) {
+                    lastFrameTime = now;
+                    fpsWindowStart = now;
+                }
+                
+                // Clamp long stalls (debugger, window drag) so the simulation doesn't try to replay them
+                long frameTime = Math.min(now - lastFrameTime, GameConfig.MAX_FRAME_NANOS);
+                lastFrameTime = now;
+                accumulator += frameTime;
+                
+                // Update game in fixed ticks, independent of the display rate
+                int ticks = 0;
+                while (accumulator >= GameConfig.TICK_NANOS && ticks < GameConfig.MAX_TICKS_PER_FRAME) {
+                    forwardInput();
                     gameManager.update();
-                    
-                    // Render game
-                    gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
-                    gameManager.getCurrentState().render(gc);
-                    
-                    lastUpdate = now;
+                    accumulator -= GameConfig.TICK_NANOS;
+                    ticks++;
+                }
+                if (ticks == GameConfig.MAX_TICKS_PER_FRAME) {
+                    accumulator = 0;
+                }
+                
+                // Render game, interpolating between the last two ticks
+                gameManager.setRenderAlpha((double) accumulator / GameConfig.TICK_NANOS);
+                long clearStart = FrameProfiler.start();
+                gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                FrameProfiler.stop(FrameProfiler.Phase.CLEAR, clearStart);
+                gameManager.getCurrentState().render(gc);
+                
+                if (UNCAPPED) {
+                    reportFrameRate(now);
+                }
+                FrameProfiler.stop(FrameProfiler.Phase.FRAME, frameStart);
+                FrameProfiler.endFrame(now);
+            }
+            
+            private void reportFrameRate(long now) {
+                framesInWindow++;
+                if (now - fpsWindowStart >= 1_000_000_000L) {
+                    RenderCommandBuffer buffer = gameManager.getRenderBuffer();
+                    GameLogger.info("Render rate: {} FPS, {} draw commands, {} state changes",
+                        framesInWindow, buffer.getLastCommandCount(), buffer.getLastStateChanges());
+                    framesInWindow = 0;
+                    fpsWindowStart = now;
                 }
             }
         };
         
         gameLoop.start();
-        GameLogger.info("Game loop started at " + GameConfig.FPS + " FPS");
+        GameLogger.info("Game loop started at {} ticks/s{}", GameConfig.TICK_RATE,
+            UNCAPPED ? ", uncapped rendering" : "");
     }
     
     /**
      * Handle key press events
      */
     private void handleKeyPressed(KeyEvent event) {
-        KeyCode code = event.getCode();
-        
-        if (code == KeyCode.LEFT) {
-            leftPressed = true;
-        } else if (code == KeyCode.RIGHT) {
-            rightPressed = true;
-        } else if (code == KeyCode.SPACE || code == KeyCode.UP) {
-            jumpPressed = true;
-        } else if (code == KeyCode.ENTER) {
-            attackPressed = true;
-        } else if (code == KeyCode.ESCAPE) {
-            escapePressed = true;
+        if (event.getCode() == KeyCode.F3) {
+            FrameProfiler.toggleOverlay();
+            return;
         }
-        
-        // Pass input to game manager
-        gameManager.handleInput(leftPressed, rightPressed, jumpPressed, attackPressed, escapePressed);
+        int key = keyBit(event.getCode());
+        heldKeys |= key;
+        tappedKeys |= key;
     }
     
     /**
      * Handle key release events
      */
     private void handleKeyReleased(KeyEvent event) {
-        KeyCode code = event.getCode();
-        
-        if (code == KeyCode.LEFT) {
-            leftPressed = false;
-        } else if (code == KeyCode.RIGHT) {
-            rightPressed = false;
-        } else if (code == KeyCode.SPACE || code == KeyCode.UP) {
-            jumpPressed = false;
-        } else if (code == KeyCode.ENTER) {
-            attackPressed = false;
-        } else if (code == KeyCode.ESCAPE) {
-            escapePressed = false;
+        heldKeys &= ~keyBit(event.getCode());
+    }
+    
+    private static int keyBit(KeyCode code) {
+        switch (code) {
+            case LEFT:
+                return InputScript.LEFT;
+            case RIGHT:
+                return InputScript.RIGHT;
+            case SPACE:
+            case UP:
+                return InputScript.JUMP;
+            case ENTER:
+                return InputScript.ATTACK;
+            case ESCAPE:
+                return InputScript.ESCAPE;
+            default:
+                return 0;
+        }
+    }
+    
+    /**
+     * Pass the keys latched since the last tick to the game manager, like HeadlessSimulation.step
+     */
+    private void forwardInput() {
+        int keys = heldKeys | tappedKeys;
+        tappedKeys = 0;
+        if (keys != forwardedKeys) {
+            gameManager.handleInput(
+                (keys & InputScript.LEFT) != 0,
+                (keys & InputScript.RIGHT) != 0,
+                (keys & InputScript.JUMP) != 0,
+                (keys & InputScript.ATTACK) != 0,
+                (keys & InputScript.ESCAPE) != 0);
+            forwardedKeys = keys;
+        }
+    }
+    
+    /**
+     * Write the session's replay once, on stop or from the shutdown hook
+     */
+    private synchronized void saveReplay() {
+        if (replaySaved || replayRecorder == null) return;
+        replaySaved = true;
+        try {
+            replayRecorder.save(Path.of(GameConfig.REPLAY_FILE));
+            GameLogger.info("Replay of {} ticks saved to {}", replayRecorder.getTickCount(), GameConfig.REPLAY_FILE);
+        } catch (IOException e) {
+            GameLogger.error("Could not save the replay", e);
         }
-        
-        // Pass input to game manager
-        gameManager.handleInput(leftPressed, rightPressed, jumpPressed, attackPressed, escapePressed);
     }
     
     @Override
@@ -132,10 +242,18 @@ public class Main extends Application {
         if (gameLoop != null) {
             gameLoop.stop();
         }
+        SoundSystem.shutdown();
+        saveReplay();
+        EventJournal.close();
+        FrameProfiler.logSummary();
         GameManager.reset();
     }
     
     public static void main(String[] args) {
+        if (UNCAPPED) {
+            // Must be set before the JavaFX toolkit starts
+            System.setProperty("javafx.animation.fullspeed", "true");
+        }
         launch(args);
     }
 }
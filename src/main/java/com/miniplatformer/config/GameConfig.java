@@ -17,6 +17,48 @@ public class GameConfig {
     public static final double MOVE_SPEED = 5;
     public static final int MAX_LIVES = 3;
 
+    // Simulation settings
+    // Physics constants are expressed per tick, so the tick rate stays at the rate they were tuned for
+    public static final int TICK_RATE = 60;
+    public static final long TICK_NANOS = 1_000_000_000L / TICK_RATE;
+    public static final long MAX_FRAME_NANOS = 250_000_000L; // Clamp long stalls so the loop can catch up
+    public static final int MAX_TICKS_PER_FRAME = 10;
+    public static final double SPATIAL_CELL_SIZE = 64; // Broadphase grid cell, about two player widths
+
+    // Parallel update settings
+    // Update phases with at least this many entities are split into batches run on every core
+    public static final int PARALLEL_UPDATE_THRESHOLD = Integer.getInteger("miniplatformer.parallelThreshold", 4096);
+    public static final int PARALLEL_BATCH_SIZE = 1024; // Fixed, so batches never depend on the core count
+    public static final int UPDATE_THREADS = Integer.getInteger("miniplatformer.updateThreads",
+        Runtime.getRuntime().availableProcessors()); // 1 keeps every phase on the game thread
+
+    // Instrumentation settings
+    // Live metrics MBean for JConsole / VisualVM; -Dminiplatformer.jmx=false leaves it unregistered
+    public static final boolean JMX_METRICS = !"false".equals(System.getProperty("miniplatformer.jmx"));
+    public static final int METRICS_PUBLISH_TICKS = TICK_RATE; // Entity counts and footprints refresh about once a second
+
+    // Camera settings
+    public static final double CAMERA_DEADZONE_WIDTH = 160;  // The player moves freely inside this box
+    public static final double CAMERA_DEADZONE_HEIGHT = 160;
+    public static final double CULL_MARGIN = 64; // Covers interpolation and sprite margins around the view
+
+    // Level streaming settings
+    public static final double LEVEL_CHUNK_WIDTH = 800; // One screen; also the width of a baked static layer
+    public static final int STREAM_LOAD_DISTANCE = 2;   // Chunks kept loaded on each side of the player
+    public static final int STREAM_EVICT_DISTANCE = 3;  // Chunks further away than this are evicted
+    public static final int STREAM_ATTACH_DELAY_TICKS = TICK_RATE / 2; // Decode budget of a requested chunk; it attaches on this tick
+    // Opt-in procedural world streamed in chunks (-Dminiplatformer.worldChunks=300); 0 plays level 1
+    public static final int WORLD_CHUNKS = Integer.getInteger("miniplatformer.worldChunks", 0);
+    public static final long WORLD_SEED = Long.getLong("miniplatformer.worldSeed", 1L);
+
+    // Binary gameplay event journal, always written by the windowed game
+    public static final String EVENT_JOURNAL_FILE = "logs/events.journal";
+    // Seed of the session's random streams (-Dminiplatformer.seed=N to reproduce a run); a fresh one when unset
+    public static final Long SESSION_SEED = Long.getLong("miniplatformer.seed");
+    // Input replay of the last windowed session, replayable with HeadlessMain --replay
+    public static final String REPLAY_FILE = "logs/session.mplr";
+    public static final int REPLAY_KEYFRAME_TICKS = 10 * TICK_RATE; // State checksum and seek point every 10 s
+
     // Player settings
     public static final int PLAYER_WIDTH = 32;
     public static final int PLAYER_HEIGHT = 48;
@@ -27,6 +69,8 @@ public class GameConfig {
     public static final int ENEMY_WIDTH = 32;
     public static final int ENEMY_HEIGHT = 32;
     public static final double ENEMY_SPEED = 2;
+    // Opt-in structure-of-arrays enemy storage (-Dminiplatformer.enemyStore=true)
+    public static final boolean USE_ENEMY_STORE = Boolean.getBoolean("miniplatformer.enemyStore");
 
     // Power-up settings
     public static final int POWERUP_WIDTH = 24;
@@ -62,6 +106,8 @@ public class GameConfig {
     public static final int PROJECTILE_HEIGHT = 8;
     public static final double PROJECTILE_SPEED = 4;
     public static final long SHOOT_COOLDOWN = 2000; // 2 seconds
+    public static final double PROJECTILE_RANGE = WINDOW_WIDTH; // A bullet despawns after one screen, ~3.3s
+    public static final int MAX_PROJECTILES = 128; // Pool capacity; a bullet lives ~3.3s and each shooter fires every 2s
     public static final String COLOR_POWERUP_SPEED = "#00FF00";
     public static final String COLOR_POWERUP_SHIELD = "#00BFFF";
     public static final String COLOR_POWERUP_WEAPON = "#FF0000";
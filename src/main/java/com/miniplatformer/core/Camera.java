@@ -0,0 +1,99 @@
+package com.miniplatformer.core;
+
+import com.miniplatformer.config.GameConfig;
+
+/**
+ * Scrolling camera owned by the GameManager
+ * Follows a target (the player) with a dead zone and is clamped to the world bounds, so levels
+ * can be wider and taller than the window. Everything in the simulation stays in world
+ * coordinates; the camera only maps them to the screen and tells rendering what is visible.
+ * It moves once per rendered frame, from interpolated positions, and never affects gameplay.
+ */
+public class Camera {
+    private final double viewWidth;
+    private final double viewHeight;
+    private double x;
+    private double y;
+    private double worldX;
+    private double worldY;
+    private double worldWidth;
+    private double worldHeight;
+
+    public Camera() {
+        this(GameConfig.WINDOW_WIDTH, GameConfig.WINDOW_HEIGHT);
+    }
+
+    public Camera(double viewWidth, double viewHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = viewWidth;
+        this.worldHeight = viewHeight;
+    }
+
+    /**
+     * Set the area the camera may show, usually the current level's bounds
+     */
+    public void setWorldBounds(double x, double y, double width, double height) {
+        this.worldX = x;
+        this.worldY = y;
+        this.worldWidth = width;
+        this.worldHeight = height;
+        clamp();
+    }
+
+    /**
+     * Move just enough to keep the target box inside the dead zone around the view's centre
+     */
+    public void follow(double targetX, double targetY, double targetWidth, double targetHeight) {
+        double zoneLeft = x + (viewWidth - GameConfig.CAMERA_DEADZONE_WIDTH) / 2;
+        double zoneTop = y + (viewHeight - GameConfig.CAMERA_DEADZONE_HEIGHT) / 2;
+        if (targetX < zoneLeft) {
+            x -= zoneLeft - targetX;
+        } else if (targetX + targetWidth > zoneLeft + GameConfig.CAMERA_DEADZONE_WIDTH) {
+            x += targetX + targetWidth - (zoneLeft + GameConfig.CAMERA_DEADZONE_WIDTH);
+        }
+        if (targetY < zoneTop) {
+            y -= zoneTop - targetY;
+        } else if (targetY + targetHeight > zoneTop + GameConfig.CAMERA_DEADZONE_HEIGHT) {
+            y += targetY + targetHeight - (zoneTop + GameConfig.CAMERA_DEADZONE_HEIGHT);
+        }
+        clamp();
+    }
+
+    /**
+     * Jump straight to the target, centred, e.g. on level start or respawn
+     */
+    public void centerOn(double targetX, double targetY, double targetWidth, double targetHeight) {
+        x = targetX + targetWidth / 2 - viewWidth / 2;
+        y = targetY + targetHeight / 2 - viewHeight / 2;
+        clamp();
+    }
+
+    private void clamp() {
+        // A world smaller than the view stays pinned to its top-left corner
+        x = Math.max(worldX, Math.min(x, worldX + worldWidth - viewWidth));
+        y = Math.max(worldY, Math.min(y, worldY + worldHeight - viewHeight));
+    }
+
+    /**
+     * Left edge of the view in world coordinates, snapped to whole pixels so tiles don't shimmer
+     */
+    public double getX() {
+        return Math.round(x);
+    }
+
+    /**
+     * Top edge of the view in world coordinates, snapped to whole pixels
+     */
+    public double getY() {
+        return Math.round(y);
+    }
+
+    public double getViewWidth() {
+        return viewWidth;
+    }
+
+    public double getViewHeight() {
+        return viewHeight;
+    }
+}
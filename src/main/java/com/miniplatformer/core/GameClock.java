@@ -0,0 +1,50 @@
+package com.miniplatformer.core;
+
+import com.miniplatformer.config.GameConfig;
+
+/**
+ * Simulation clock owned by the GameManager
+ * Advances by exactly one tick per simulation update, so every gameplay timer runs on
+ * simulation time: it stops while paused and runs as fast as the simulation is stepped.
+ */
+public class GameClock {
+    private final int tickRate;
+    private long tick;
+
+    public GameClock() {
+        this(GameConfig.TICK_RATE);
+    }
+
+    public GameClock(int tickRate) {
+        this.tickRate = tickRate;
+        this.tick = 0;
+    }
+
+    /**
+     * Advance the clock by one tick
+     */
+    public void tick() {
+        tick++;
+    }
+
+    /**
+     * Jump to a tick, when a replay keyframe is restored
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Number of ticks simulated so far
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Simulation time in milliseconds, the replacement for System.currentTimeMillis() in gameplay code
+     */
+    public long getTimeMillis() {
+        return tick * 1000 / tickRate;
+    }
+}
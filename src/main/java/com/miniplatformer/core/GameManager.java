@@ -2,16 +2,33 @@ package com.miniplatformer.core;
 
 import com.miniplatformer.config.GameConfig;
 import com.miniplatformer.entities.Player;
+import com.miniplatformer.instrumentation.GameMetrics;
+import com.miniplatformer.instrumentation.ProjectileSpawnEvent;
+import com.miniplatformer.instrumentation.StateTransitionEvent;
+import com.miniplatformer.instrumentation.TickEvent;
 import com.miniplatformer.patterns.composite.Level;
 import com.miniplatformer.patterns.factory.Enemy;
-import com.miniplatformer.patterns.factory.EnemyFactory;
+import com.miniplatformer.patterns.factory.EnemyStore;
 import com.miniplatformer.patterns.state.*;
 import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.entities.ProjectilePool;
+import com.miniplatformer.systems.BinaryLevel;
+import com.miniplatformer.systems.Broadphase;
+import com.miniplatformer.systems.LevelStreamer;
+import com.miniplatformer.systems.ParallelPhases;
+import com.miniplatformer.systems.ProceduralChunkSource;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.utils.EventJournal;
+import com.miniplatformer.utils.FrameProfiler;
 import com.miniplatformer.utils.GameLogger;
+import com.miniplatformer.utils.LogRateLimiter;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Game Manager - Singleton Pattern
@@ -19,23 +36,44 @@ import java.util.List;
  */
 public class GameManager {
     private static GameManager instance;
+    private static final LogRateLimiter SCORE_LOG_LIMIT = new LogRateLimiter("Score increased", 4, 1, TimeUnit.SECONDS);
     
     private GameState currentState;
     private Player player;
     private Level currentLevel;
     private List<Enemy> enemies;
-    private List<Projectile> projectiles;
+    private EnemyStore enemyStore; // Only set when enemies live in a structure-of-arrays store
+    private LevelStreamer levelStreamer; // Only set when the level is streamed in chunks
+    private ProjectilePool projectilePool;
     private int score;
     private int lives;
     private long startTime;
     private long elapsedTime;
+    private double renderAlpha;
+    private final GameClock clock;
+    private Broadphase broadphase;
+    private final RenderCommandBuffer renderBuffer;
+    private final Camera camera;
+    private final ParallelPhases parallelPhases;
+    private final GameMetrics metrics;
+    private final RandomService random;
+    private int input; // InputScript bits last passed to handleInput
+    private ReplayRecorder replayRecorder;
     
     private GameManager() {
         this.score = 0;
         this.lives = GameConfig.MAX_LIVES;
         this.enemies = new ArrayList<>();
-        this.projectiles = new ArrayList<>();
+        this.projectilePool = new ProjectilePool(GameConfig.MAX_PROJECTILES, ProjectilePool.OverflowPolicy.REPLACE_OLDEST);
+        this.clock = new GameClock();
+        this.broadphase = new Broadphase();
+        this.renderBuffer = new RenderCommandBuffer();
+        this.camera = new Camera();
+        this.parallelPhases = new ParallelPhases();
         this.currentState = new MenuState();
+        this.random = new RandomService(GameConfig.SESSION_SEED != null ? GameConfig.SESSION_SEED : System.nanoTime(), clock);
+        this.metrics = new GameMetrics(this);
+        metrics.register();
         GameLogger.info("GameManager initialized");
     }
     
@@ -53,120 +91,101 @@ public class GameManager {
      * Start a new game
      */
     public void startGame() {
+        if (GameConfig.WORLD_CHUNKS > 0) {
+            startGame(new LevelStreamer(new ProceduralChunkSource(GameConfig.WORLD_SEED, GameConfig.WORLD_CHUNKS), true));
+            return;
+        }
+
+        BinaryLevel data;
+        try {
+            data = BinaryLevel.load("level1");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load level 1", e);
+        }
+        Level level = data.createLevel();
+        addRandomPowerups(level, data);
+        GameLogger.info("{} loaded: {} objects, {} enemies", data.getName(), data.getRecordCount(), data.getTotalEnemyCount());
+
+        if (GameConfig.USE_ENEMY_STORE) {
+            startGame(level, data.createEnemyStore());
+        } else {
+            startGame(level, data.createEnemies());
+        }
+    }
+    
+    /**
+     * Start a new game on the given level and enemies
+     */
+    public void startGame(Level level, List<Enemy> levelEnemies) {
+        this.enemyStore = null;
+        setLevelStreamer(null);
+        beginGame(level, levelEnemies);
+    }
+
+    /**
+     * Start a new game on a level streamed in chunks around the player
+     */
+    public void startGame(LevelStreamer streamer) {
+        this.enemyStore = null;
+        setLevelStreamer(streamer);
+        beginGame(streamer.getLevel(), new ArrayList<>());
+    }
+
+    private void setLevelStreamer(LevelStreamer streamer) {
+        if (levelStreamer != null && levelStreamer != streamer) {
+            levelStreamer.close();
+        }
+        this.levelStreamer = streamer;
+    }
+    
+    /**
+     * Start a new game on the given level, with enemies held in a structure-of-arrays store
+     */
+    public void startGame(Level level, EnemyStore store) {
+        this.enemyStore = store;
+        setLevelStreamer(null);
+        beginGame(level, store.getViews());
+    }
+    
+    private void beginGame(Level level, List<Enemy> levelEnemies) {
         GameLogger.info("Game started");
         this.score = 0;
         this.lives = GameConfig.MAX_LIVES;
-        this.startTime = System.currentTimeMillis();
+        this.startTime = clock.getTimeMillis();
         this.elapsedTime = 0;
-        this.projectiles = new ArrayList<>();
+        this.projectilePool.clear();
         
         // Create player
         this.player = new Player(GameConfig.PLAYER_START_X, GameConfig.PLAYER_START_Y);
         
-        // Create level
-        this.currentLevel = createLevel1();
-        
-        // Create enemies - Distributed evenly across the level
-        this.enemies = new ArrayList<>();
-        enemies.add(EnemyFactory.createEnemy("goomba", 350, 518));
-        enemies.add(EnemyFactory.createEnemy("koopa", 550, 518));
-        enemies.add(EnemyFactory.createEnemy("shooter", 650, 418)); // Moved from 100
-        enemies.add(EnemyFactory.createEnemy("flying", 400, 250));
-        enemies.add(EnemyFactory.createEnemy("shooter", 750, 418));
-        enemies.add(EnemyFactory.createEnemy("goomba", 150, 518)); // Safe Goomba near start but on ground
+        this.currentLevel = level;
+        this.enemies = levelEnemies;
+        this.broadphase = new Broadphase();
+        if (levelStreamer != null) {
+            levelStreamer.update(this); // Attach the chunks around the start before the first frame
+        }
+        camera.setWorldBounds(level.getX(), level.getY(), level.getWidth(), level.getHeight());
+        camera.centerOn(player.getX(), player.getY(), player.getWidth(), player.getHeight());
         
         // Set initial state
         setState(new PlayingState());
     }
     /**
-     * Create level 1 - Enhanced with more complexity
+     * Scatter the level's random power-ups on randomly chosen platforms
      */
-    private Level createLevel1() {
-        Level level = new Level("Level 1", GameConfig.WINDOW_WIDTH, GameConfig.WINDOW_HEIGHT);
-        
-        // Add ground platforms with gaps for challenge
-        level.add(new com.miniplatformer.patterns.composite.Platform(0, 550, 200, 50, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(250, 550, 150, 50, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(450, 550, 350, 50, GameConfig.COLOR_PLATFORM));
-        
-        // Add multiple layers of floating platforms
-        level.add(new com.miniplatformer.patterns.composite.Platform(50, 450, 120, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(200, 450, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(350, 450, 120, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(550, 450, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(700, 450, 100, 20, GameConfig.COLOR_PLATFORM));
-        
-        level.add(new com.miniplatformer.patterns.composite.Platform(100, 380, 150, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(300, 380, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(450, 380, 150, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(650, 380, 100, 20, GameConfig.COLOR_PLATFORM));
-        
-        level.add(new com.miniplatformer.patterns.composite.Platform(50, 300, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(200, 300, 120, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(400, 300, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(550, 300, 120, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(700, 300, 100, 20, GameConfig.COLOR_PLATFORM));
-        
-        level.add(new com.miniplatformer.patterns.composite.Platform(150, 220, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(300, 220, 120, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(500, 220, 100, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(650, 220, 120, 20, GameConfig.COLOR_PLATFORM));
-        
-        level.add(new com.miniplatformer.patterns.composite.Platform(100, 150, 80, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(250, 150, 80, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(400, 150, 80, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(550, 150, 80, 20, GameConfig.COLOR_PLATFORM));
-        level.add(new com.miniplatformer.patterns.composite.Platform(700, 150, 80, 20, GameConfig.COLOR_PLATFORM));
-        
-        // Add coins scattered throughout the level
-        addCoinsToLevel(level);
-        
-        // Add random power-ups
-        addRandomPowerups(level);
-        
-        // Add obstacles (Spikes and Fire)
-        level.add(new com.miniplatformer.patterns.composite.Obstacle(210, 568, "spike"));
-        level.add(new com.miniplatformer.patterns.composite.Obstacle(410, 568, "spike"));
-        level.add(new com.miniplatformer.patterns.composite.Obstacle(250, 420, "fire"));
-        level.add(new com.miniplatformer.patterns.composite.Obstacle(600, 350, "fire"));
-        level.add(new com.miniplatformer.patterns.composite.Obstacle(450, 120, "fire"));
-        
-        GameLogger.info("Level 1 created with random power-ups and enhanced design");
-        return level;
-    }
-
-    private void addCoinsToLevel(Level level) {
-        // Simple helper to add coins in clusters or rows
-        double[][] coinCoords = {
-            {100, 520}, {150, 520}, {300, 520}, {500, 520}, {600, 520}, {700, 520},
-            {100, 420}, {200, 420}, {350, 420}, {550, 420}, {700, 420},
-            {150, 350}, {300, 350}, {450, 350}, {650, 350},
-            {100, 270}, {250, 270}, {400, 270}, {550, 270}, {700, 270},
-            {150, 190}, {300, 190}, {500, 190}, {650, 190},
-            {100, 120}, {250, 120}, {400, 120}, {550, 120}, {700, 120}
-        };
-        for (double[] coord : coinCoords) {
-            level.add(new com.miniplatformer.patterns.composite.Collectible(coord[0], coord[1], "coin"));
-        }
-    }
-
-    private void addRandomPowerups(Level level) {
-        String[] powerTypes = {"weapon", "weapon", "shield", "doubleJump", "speedBoost", "invincibility"};
-        java.util.Random rand = new java.util.Random();
+    private void addRandomPowerups(Level level, BinaryLevel data) {
+        String[] powerTypes = data.getPowerupTypes();
+        if (powerTypes.length == 0) return;
+        SplittableRandom rand = random.get(RandomService.Stream.LEVEL);
         
         // Extract platforms to pick from
-        List<com.miniplatformer.patterns.composite.Platform> platforms = new ArrayList<>();
-        for (com.miniplatformer.patterns.composite.GameComponent comp : level.getComponents()) {
-            if (comp instanceof com.miniplatformer.patterns.composite.Platform) {
-                platforms.add((com.miniplatformer.patterns.composite.Platform) comp);
-            }
-        }
+        List<com.miniplatformer.patterns.composite.Platform> platforms = new ArrayList<>(level.getPlatforms());
 
-        // Spawn 4-6 random power-ups
-        int numPowerups = 4 + rand.nextInt(3);
-        java.util.Collections.shuffle(platforms);
+        int numPowerups = data.getPowerupMin() + rand.nextInt(data.getPowerupMax() - data.getPowerupMin() + 1);
 
         for (int i = 0; i < Math.min(numPowerups, platforms.size()); i++) {
+            // Partial Fisher-Yates: only the platforms actually used get drawn
+            Collections.swap(platforms, i, i + rand.nextInt(platforms.size() - i));
             com.miniplatformer.patterns.composite.Platform p = platforms.get(i);
             String type = powerTypes[rand.nextInt(powerTypes.length)];
             
@@ -175,7 +194,7 @@ public class GameManager {
             double itemY = p.getY() - 30;
             
             level.add(new com.miniplatformer.patterns.composite.Collectible(itemX, itemY, type));
-            GameLogger.info("Spawned random power-up: " + type + " at (" + itemX + ", " + itemY + ")");
+            GameLogger.info("Spawned random power-up: {} at ({}, {})", type, itemX, itemY);
         }
     }
     
@@ -205,7 +224,7 @@ public class GameManager {
     public void gameOver() {
         setState(new GameOverState(score));
         GameLogger.logState("Game", "PLAYING", "GAME_OVER");
-        GameLogger.info("Final score: " + score);
+        GameLogger.info("Final score: {}", score);
     }
     
     /**
@@ -214,35 +233,79 @@ public class GameManager {
     public void victory() {
         setState(new VictoryState(score, elapsedTime));
         GameLogger.logState("Game", "PLAYING", "VICTORY");
-        GameLogger.info("Victory! Final score: " + score + ", Time: " + (elapsedTime / 1000) + "s");
+        GameLogger.info("Victory! Final score: {}, Time: {}s", score, elapsedTime / 1000);
     }
     
     /**
      * Update the game
      */
     public void update() {
-        elapsedTime = System.currentTimeMillis() - startTime;
+        long start = FrameProfiler.start();
+        TickEvent tickEvent = new TickEvent();
+        tickEvent.begin();
+        // Simulation time only advances while playing, so pauses don't run timers down
+        if (currentState instanceof PlayingState) {
+            clock.tick();
+        }
+        EventJournal.setTick(clock.getTick());
+        elapsedTime = clock.getTimeMillis() - startTime;
         
         if (currentState != null) {
             currentState.update(this);
         }
+        FrameProfiler.stop(FrameProfiler.Phase.TICK, start);
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            commitTickEvent(tickEvent);
+        }
+        metrics.onTick();
+        if (replayRecorder != null) {
+            replayRecorder.onTick(input, this);
+        }
+    }
+
+    private void commitTickEvent(TickEvent event) {
+        event.tick = clock.getTick();
+        event.state = currentState != null ? currentState.getStateName() : null;
+        event.enemies = enemies.size();
+        event.projectiles = projectilePool.size();
+        event.levelComponents = currentLevel != null ? currentLevel.getComponents().size() : 0;
+        if (currentState instanceof PlayingState) {
+            event.streaming = FrameProfiler.getLastNanos(FrameProfiler.Phase.STREAMING);
+            event.player = FrameProfiler.getLastNanos(FrameProfiler.Phase.PLAYER);
+            event.enemyUpdate = FrameProfiler.getLastNanos(FrameProfiler.Phase.ENEMIES);
+            event.levelUpdate = FrameProfiler.getLastNanos(FrameProfiler.Phase.LEVEL);
+            event.projectileUpdate = FrameProfiler.getLastNanos(FrameProfiler.Phase.PROJECTILES);
+            event.broadphase = FrameProfiler.getLastNanos(FrameProfiler.Phase.BROADPHASE);
+            event.collisions = FrameProfiler.getLastNanos(FrameProfiler.Phase.COLLIDE_PLATFORMS)
+                + FrameProfiler.getLastNanos(FrameProfiler.Phase.COLLIDE_ENEMIES)
+                + FrameProfiler.getLastNanos(FrameProfiler.Phase.COLLIDE_COLLECTIBLES)
+                + FrameProfiler.getLastNanos(FrameProfiler.Phase.COLLIDE_OBSTACLES)
+                + FrameProfiler.getLastNanos(FrameProfiler.Phase.COLLIDE_PROJECTILES);
+        }
+        event.commit();
     }
     
     /**
      * Set the current game state
      */
     public void setState(GameState newState) {
+        StateTransitionEvent.emit("Game", currentState != null ? currentState.getStateName() : null,
+            newState.getStateName());
         if (currentState != null) {
             currentState.exit(this);
         }
         this.currentState = newState;
         currentState.enter(this);
+        EventJournal.record(EventJournal.Event.STATE_CHANGE, EventJournal.GAME, 0, 0,
+            EventJournal.nameId(newState.getStateName()));
     }
     
     /**
      * Handle input
      */
     public void handleInput(boolean leftPressed, boolean rightPressed, boolean jumpPressed, boolean attackPressed, boolean escapePressed) {
+        input = InputScript.pack(leftPressed, rightPressed, jumpPressed, attackPressed, escapePressed);
         if (currentState != null) {
             currentState.handleInput(this, leftPressed, rightPressed, jumpPressed, attackPressed, escapePressed);
         }
@@ -253,6 +316,32 @@ public class GameManager {
         return currentState;
     }
     
+    public GameClock getClock() {
+        return clock;
+    }
+    
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+
+    /**
+     * Width of the current level, the horizontal limit for enemies, projectiles and the player
+     */
+    public double getWorldWidth() {
+        return currentLevel != null ? currentLevel.getX() + currentLevel.getWidth() : GameConfig.WINDOW_WIDTH;
+    }
+
+    /**
+     * Height of the current level; falling below it costs a life
+     */
+    public double getWorldHeight() {
+        return currentLevel != null ? currentLevel.getY() + currentLevel.getHeight() : GameConfig.WINDOW_HEIGHT;
+    }
+    
     public Player getPlayer() {
         return player;
     }
@@ -265,12 +354,99 @@ public class GameManager {
         return enemies;
     }
     
+    /**
+     * Streamer feeding the current level and getEnemies(), or null when the level is fully loaded
+     */
+    public LevelStreamer getLevelStreamer() {
+        return levelStreamer;
+    }
+    
+    /**
+     * Structure-of-arrays store backing getEnemies(), or null when enemies are plain objects
+     */
+    public EnemyStore getEnemyStore() {
+        return enemyStore;
+    }
+    
+    /**
+     * Live projectiles, backed by the projectile pool
+     */
     public List<Projectile> getProjectiles() {
-        return projectiles;
+        return projectilePool.getLive();
     }
     
-    public void addProjectile(Projectile projectile) {
-        this.projectiles.add(projectile);
+    public ProjectilePool getProjectilePool() {
+        return projectilePool;
+    }
+
+    /**
+     * Command buffer the playing state records each frame into
+     */
+    public RenderCommandBuffer getRenderBuffer() {
+        return renderBuffer;
+    }
+
+    /**
+     * Fork-join runner for the large update phases of a tick
+     */
+    public ParallelPhases getParallelPhases() {
+        return parallelPhases;
+    }
+    
+    /**
+     * Seed of this session's randomness, stored in replays
+     */
+    public long getSessionSeed() {
+        return random.getSeed();
+    }
+
+    /**
+     * Restart every random stream from the given seed, e.g. before replaying a session
+     */
+    public void setSessionSeed(long sessionSeed) {
+        random.reseed(sessionSeed);
+    }
+
+    /**
+     * Seeded random streams of this session
+     */
+    public RandomService getRandom() {
+        return random;
+    }
+
+    /**
+     * Record the input of every following tick, or stop recording with null
+     */
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    public ReplayRecorder getReplayRecorder() {
+        return replayRecorder;
+    }
+
+    /**
+     * Metrics surface registered with JMX
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Replace the projectile pool, e.g. with a larger one for stress tests
+     */
+    public void setProjectilePool(ProjectilePool projectilePool) {
+        this.projectilePool = projectilePool;
+    }
+    
+    /**
+     * Spawn a projectile from the pool
+     * @return the projectile, or null if the pool was full and dropped it
+     */
+    public Projectile spawnProjectile(double x, double y, double velocityX) {
+        Projectile projectile = projectilePool.spawn(x, y, velocityX);
+        ProjectileSpawnEvent.emit(x, y, velocityX, projectile != null, projectilePool.size());
+        return projectile;
     }
     
     public int getScore() {
@@ -283,7 +459,8 @@ public class GameManager {
     
     public void addScore(int points) {
         this.score += points;
-        GameLogger.logGameplay("Score increased by " + points + ". Total: " + score);
+        GameLogger.logGameplay(SCORE_LOG_LIMIT, "Score increased by {}. Total: {}", points, score);
+        EventJournal.record(EventJournal.Event.SCORE, EventJournal.GAME, 0, 0, score);
     }
     
     public int getLives() {
@@ -301,10 +478,145 @@ public class GameManager {
         return elapsedTime;
     }
     
+    /**
+     * Fraction of a tick (0..1) elapsed since the last simulation update, used to interpolate rendering
+     */
+    public double getRenderAlpha() {
+        return renderAlpha;
+    }
+    
+    public void setRenderAlpha(double renderAlpha) {
+        this.renderAlpha = renderAlpha;
+    }
+    
+    /**
+     * Restorable copy of the whole simulation at the current tick, for replay keyframes
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Bring the simulation back to a snapshot, as if the ticks since had never run
+     * Nothing is entered, exited or logged; the snapshot is left untouched, so it can be restored again.
+     */
+    public void restore(Snapshot snapshot) {
+        clock.setTick(snapshot.tick);
+        random.reseed(random.getSeed()); // Streams are derived again from the seed and the restored tick
+        EventJournal.setTick(snapshot.tick);
+        currentState = snapshot.currentState.copy();
+        score = snapshot.score;
+        lives = snapshot.lives;
+        startTime = snapshot.startTime;
+        elapsedTime = snapshot.elapsedTime;
+        input = snapshot.input;
+
+        player = snapshot.player;
+        if (player != null) {
+            player.restore(snapshot.playerSnapshot);
+        }
+        currentLevel = snapshot.level;
+        if (currentLevel != null) {
+            currentLevel.restore(snapshot.levelSnapshot);
+        }
+        enemyStore = snapshot.enemyStore;
+        setLevelStreamer(snapshot.levelStreamer);
+        if (levelStreamer != null) {
+            levelStreamer.restore(snapshot.streamerSnapshot);
+        }
+        enemies = snapshot.enemies;
+        if (!sameEnemies(snapshot.enemyList)) {
+            enemies.clear();
+            Collections.addAll(enemies, snapshot.enemyList);
+        }
+        for (int i = 0; i < snapshot.enemyList.length; i++) {
+            snapshot.enemyList[i].restore(snapshot.enemySnapshots[i]);
+        }
+        projectilePool = snapshot.projectilePool;
+        projectilePool.restore(snapshot.projectileSnapshot);
+        broadphase.restore(snapshot.broadphaseSnapshot);
+
+        if (currentLevel != null) {
+            camera.setWorldBounds(currentLevel.getX(), currentLevel.getY(), currentLevel.getWidth(), currentLevel.getHeight());
+        }
+        if (player != null) {
+            camera.centerOn(player.getX(), player.getY(), player.getWidth(), player.getHeight());
+        }
+    }
+
+    private boolean sameEnemies(Enemy[] saved) {
+        if (saved.length != enemies.size()) return false;
+        for (int i = 0; i < saved.length; i++) {
+            if (enemies.get(i) != saved[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Everything a tick depends on - Memento Pattern
+     * Holds the game state, the player with its power-ups and state, every enemy, the level's
+     * components and their active flags, the streamer's chunks and removed entries, the projectile
+     * pool, the broadphase, score, lives and the clock. Random streams are derived from the seed
+     * and the tick, so restoring the clock restores them too. Objects are kept by reference so a
+     * restore puts back the very same player, level and enemies, with their state from the copies.
+     */
+    public static final class Snapshot {
+        private final long tick;
+        private final GameState currentState;
+        private final int score;
+        private final int lives;
+        private final long startTime;
+        private final long elapsedTime;
+        private final int input;
+        private final Player player;
+        private final Player.Snapshot playerSnapshot;
+        private final Level level;
+        private final Level.Snapshot levelSnapshot;
+        private final EnemyStore enemyStore;
+        private final LevelStreamer levelStreamer;
+        private final LevelStreamer.Snapshot streamerSnapshot;
+        private final List<Enemy> enemies;
+        private final Enemy[] enemyList;
+        private final Object[] enemySnapshots;
+        private final ProjectilePool projectilePool;
+        private final ProjectilePool.Snapshot projectileSnapshot;
+        private final Broadphase.Snapshot broadphaseSnapshot;
+
+        private Snapshot(GameManager manager) {
+            this.tick = manager.clock.getTick();
+            this.currentState = manager.currentState.copy();
+            this.score = manager.score;
+            this.lives = manager.lives;
+            this.startTime = manager.startTime;
+            this.elapsedTime = manager.elapsedTime;
+            this.input = manager.input;
+            this.player = manager.player;
+            this.playerSnapshot = player != null ? player.snapshot() : null;
+            this.level = manager.currentLevel;
+            this.levelSnapshot = level != null ? level.snapshot() : null;
+            this.enemyStore = manager.enemyStore;
+            this.levelStreamer = manager.levelStreamer;
+            this.streamerSnapshot = levelStreamer != null ? levelStreamer.snapshot() : null;
+            this.enemies = manager.enemies;
+            this.enemyList = enemies.toArray(new Enemy[0]);
+            this.enemySnapshots = new Object[enemyList.length];
+            for (int i = 0; i < enemyList.length; i++) {
+                enemySnapshots[i] = enemyList[i].snapshot();
+            }
+            this.projectilePool = manager.projectilePool;
+            this.projectileSnapshot = projectilePool.snapshot();
+            this.broadphaseSnapshot = manager.broadphase.snapshot();
+        }
+    }
+
     /**
      * Reset the singleton instance
      */
     public static void reset() {
+        if (instance != null) {
+            instance.parallelPhases.close();
+            instance.metrics.unregister();
+        }
         instance = null;
     }
 }
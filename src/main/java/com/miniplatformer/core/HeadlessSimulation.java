@@ -0,0 +1,140 @@
+package com.miniplatformer.core;
+
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.patterns.state.GameOverState;
+import com.miniplatformer.patterns.state.VictoryState;
+import com.miniplatformer.systems.ChunkSource;
+import com.miniplatformer.systems.LevelStreamer;
+import com.miniplatformer.systems.SoundSystem;
+import com.miniplatformer.utils.FrameProfiler;
+
+import java.util.List;
+
+/**
+ * Headless simulation runner
+ * Steps the game through GameManager without a display or the JavaFX toolkit,
+ * for batch simulation and performance testing. Nothing here ever renders.
+ */
+public class HeadlessSimulation {
+    private final GameManager manager;
+    private long tick;
+    private int lastInput;
+
+    public HeadlessSimulation() {
+        SoundSystem.setEnabled(false);
+        GameManager.reset();
+        this.manager = GameManager.getInstance();
+        this.tick = 0;
+        this.lastInput = 0;
+    }
+
+    /**
+     * Load the built-in level and start playing
+     */
+    public void loadLevel() {
+        manager.startGame();
+        resetTicks();
+    }
+
+    /**
+     * Load a custom level and start playing
+     */
+    public void loadLevel(Level level, List<Enemy> enemies) {
+        manager.startGame(level, enemies);
+        resetTicks();
+    }
+
+    /**
+     * Stream a chunked level and start playing
+     * Chunks load synchronously, so runs stay deterministic.
+     */
+    public void loadLevel(ChunkSource source) {
+        manager.startGame(new LevelStreamer(source, false));
+        resetTicks();
+    }
+
+    private void resetTicks() {
+        tick = 0;
+        lastInput = 0;
+    }
+
+    /**
+     * Advance one tick with the given input bits (see InputScript)
+     * Input is only forwarded when it changes, like key press/release events in Main.
+     */
+    public void step(int input) {
+        if (input != lastInput) {
+            manager.handleInput(
+                (input & InputScript.LEFT) != 0,
+                (input & InputScript.RIGHT) != 0,
+                (input & InputScript.JUMP) != 0,
+                (input & InputScript.ATTACK) != 0,
+                (input & InputScript.ESCAPE) != 0);
+            lastInput = input;
+        }
+        manager.update();
+        FrameProfiler.endFrame(System.nanoTime());
+        tick++;
+    }
+
+    /**
+     * Run the script until the game ends or maxTicks have been simulated
+     * @return number of ticks simulated
+     */
+    public long run(InputScript script, long maxTicks) {
+        long start = tick;
+        while (tick - start < maxTicks && !isFinished()) {
+            step(script.inputAt(tick));
+        }
+        return tick - start;
+    }
+
+    /**
+     * Check if the game has reached game over or victory
+     */
+    public boolean isFinished() {
+        return manager.getCurrentState() instanceof GameOverState
+            || manager.getCurrentState() instanceof VictoryState;
+    }
+
+    /**
+     * Restorable copy of the game and the runner's own tick count, for replay keyframes
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(manager.snapshot(), tick, lastInput);
+    }
+
+    /**
+     * Bring the simulation back to a snapshot; following steps continue from its tick
+     */
+    public void restore(Snapshot snapshot) {
+        manager.restore(snapshot.manager);
+        tick = snapshot.tick;
+        lastInput = snapshot.lastInput;
+    }
+
+    public static final class Snapshot {
+        private final GameManager.Snapshot manager;
+        private final long tick;
+        private final int lastInput;
+
+        private Snapshot(GameManager.Snapshot manager, long tick, int lastInput) {
+            this.manager = manager;
+            this.tick = tick;
+            this.lastInput = lastInput;
+        }
+
+        public long getTick() {
+            return tick;
+        }
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public GameManager getManager() {
+        return manager;
+    }
+}
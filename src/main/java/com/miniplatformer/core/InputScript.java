@@ -0,0 +1,115 @@
+package com.miniplatformer.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scripted input for headless simulations
+ * Each line is "<tick> <keys>", where keys is any combination of L (left), R (right),
+ * J (jump), A (attack) and E (escape), or "-" for no keys. Keys are held until the next line.
+ * Lines starting with '#' are comments.
+ */
+public class InputScript {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int JUMP = 1 << 2;
+    public static final int ATTACK = 1 << 3;
+    public static final int ESCAPE = 1 << 4;
+
+    private final long[] ticks;
+    private final int[] inputs;
+
+    private InputScript(long[] ticks, int[] inputs) {
+        this.ticks = ticks;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Script that never presses anything
+     */
+    public static InputScript empty() {
+        return new InputScript(new long[0], new int[0]);
+    }
+
+    /**
+     * Load a script from a file
+     */
+    public static InputScript load(Path file) throws IOException {
+        return parse(Files.readAllLines(file));
+    }
+
+    /**
+     * Parse script lines
+     */
+    public static InputScript parse(List<String> lines) {
+        List<long[]> entries = new ArrayList<>();
+        long lastTick = -1;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected '<tick> <keys>' but got '" + line + "'");
+            }
+            long tick;
+            try {
+                tick = Long.parseLong(parts[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": invalid tick '" + parts[0] + "'");
+            }
+            if (tick <= lastTick) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": ticks must be increasing");
+            }
+            entries.add(new long[]{tick, parseKeys(parts[1], i + 1)});
+            lastTick = tick;
+        }
+
+        long[] ticks = new long[entries.size()];
+        int[] inputs = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ticks[i] = entries.get(i)[0];
+            inputs[i] = (int) entries.get(i)[1];
+        }
+        return new InputScript(ticks, inputs);
+    }
+
+    private static int parseKeys(String keys, int lineNumber) {
+        if (keys.equals("-")) return 0;
+        int bits = 0;
+        for (char c : keys.toUpperCase().toCharArray()) {
+            switch (c) {
+                case 'L': bits |= LEFT; break;
+                case 'R': bits |= RIGHT; break;
+                case 'J': bits |= JUMP; break;
+                case 'A': bits |= ATTACK; break;
+                case 'E': bits |= ESCAPE; break;
+                default:
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unknown key '" + c + "'");
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Input bits for the five keys passed to GameManager.handleInput
+     */
+    public static int pack(boolean left, boolean right, boolean jump, boolean attack, boolean escape) {
+        return (left ? LEFT : 0) | (right ? RIGHT : 0) | (jump ? JUMP : 0) | (attack ? ATTACK : 0) | (escape ? ESCAPE : 0);
+    }
+
+    /**
+     * Get the input bits held at the given tick
+     */
+    public int inputAt(long tick) {
+        int index = Arrays.binarySearch(ticks, tick);
+        if (index < 0) {
+            index = -index - 2; // Last entry before this tick
+        }
+        return index >= 0 ? inputs[index] : 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.miniplatformer.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per-session randomness, one independent stream per subsystem
+ * Every stream is derived from the session seed, its own name and the current simulation tick
+ * only, so drawing more numbers for drops never shifts level generation, a run with the same
+ * seed and inputs (a replay) draws exactly the same numbers, and restoring a replay keyframe
+ * needs nothing but the clock: the streams of that tick are derived again on their next use.
+ * A stream is created at most once per tick, and only in ticks that draw from it.
+ *
+ * Streams belong to the game thread. Work running in parallel batches takes a child stream
+ * from split() before the phase instead of sharing one.
+ */
+public final class RandomService {
+    /**
+     * Subsystems with their own stream
+     */
+    public enum Stream {
+        LEVEL,  // Level setup: random power-ups
+        DROPS,  // Power-ups dropped by defeated enemies
+        AI      // Enemy decisions
+    }
+
+    private static final Stream[] STREAMS = Stream.values();
+
+    private final GameClock clock;
+    private final SplittableRandom[] streams = new SplittableRandom[STREAMS.length];
+    private final long[] streamTicks = new long[STREAMS.length]; // Tick each stream was derived for
+    private long seed;
+
+    public RandomService(long seed, GameClock clock) {
+        this.clock = clock;
+        reseed(seed);
+    }
+
+    /**
+     * Restart every stream from a new session seed
+     * Also forgets the draws already made this tick, which a restored keyframe relies on.
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        for (Stream stream : STREAMS) {
+            streams[stream.ordinal()] = null;
+        }
+    }
+
+    /**
+     * The stream of a subsystem for the current tick
+     */
+    public SplittableRandom get(Stream stream) {
+        int index = stream.ordinal();
+        long tick = clock.getTick();
+        if (streams[index] == null || streamTicks[index] != tick) {
+            streams[index] = new SplittableRandom(derive(seed, index, tick));
+            streamTicks[index] = tick;
+        }
+        return streams[index];
+    }
+
+    /**
+     * New generator statistically independent of the stream, which advances by one split
+     */
+    public SplittableRandom split(Stream stream) {
+        return get(stream).split();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Seed of a stream at a tick: the three inputs hashed so neighbouring ticks give unrelated streams
+     */
+    private static long derive(long seed, int stream, long tick) {
+        long h = seed ^ 0x9E3779B97F4A7C15L * (stream + 1);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L + tick;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
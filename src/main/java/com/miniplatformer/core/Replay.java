@@ -0,0 +1,260 @@
+package com.miniplatformer.core;
+
+import com.miniplatformer.patterns.factory.Enemy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Recorded session: the seeds it started from and the input of every tick
+ * Inputs are the five InputScript bits latched for each tick, run-length encoded as one input
+ * byte followed by a varint run length, so an hour of play takes a few kilobytes.
+ *
+ * Every keyframeInterval ticks a keyframe stores a checksum of the game state, which a replay
+ * compares to report the first tick it drifted from the recording. The file only holds the
+ * checksum; the Replayer takes a restorable snapshot of the simulation at the same ticks as it
+ * plays through them, and seeks from those.
+ *
+ * File layout (little endian):
+ *   header     magic, version, origin, tick count, session seed, world seed, world chunks,
+ *              keyframe interval, keyframe count, run stream length (HEADER_SIZE bytes)
+ *   keyframes  checksum (long)
+ *   runs       input byte, varint length
+ */
+public final class Replay {
+    public static final String EXTENSION = ".mplr";
+    public static final int MAGIC = 0x524C504D; // "MPLR"
+    public static final short VERSION = 2;
+    public static final int HEADER_SIZE = 48;
+    public static final int KEYFRAME_SIZE = 8;
+
+    /**
+     * Recording started on the title menu (windowed game)
+     */
+    public static final byte ORIGIN_MENU = 0;
+    /**
+     * Recording started on a freshly loaded level (HeadlessSimulation.loadLevel)
+     */
+    public static final byte ORIGIN_LEVEL = 1;
+
+    private final byte origin;
+    private final long tickCount;
+    private final long sessionSeed;
+    private final long worldSeed;
+    private final int worldChunks;
+    private final int keyframeInterval;
+    private final long[] checksums;
+    private final byte[] runs;
+
+    Replay(byte origin, long tickCount, long sessionSeed, long worldSeed, int worldChunks, int keyframeInterval,
+           long[] checksums, byte[] runs) {
+        this.origin = origin;
+        this.tickCount = tickCount;
+        this.sessionSeed = sessionSeed;
+        this.worldSeed = worldSeed;
+        this.worldChunks = worldChunks;
+        this.keyframeInterval = keyframeInterval;
+        this.checksums = checksums;
+        this.runs = runs;
+    }
+
+    /**
+     * Read a replay file
+     */
+    public static Replay read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a replay");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException(file + ": unsupported replay version " + buffer.getShort(4));
+        }
+        byte origin = buffer.get(6);
+        long tickCount = buffer.getLong(8);
+        long sessionSeed = buffer.getLong(16);
+        long worldSeed = buffer.getLong(24);
+        int worldChunks = buffer.getInt(32);
+        int keyframeInterval = buffer.getInt(36);
+        int keyframeCount = buffer.getInt(40);
+        int runBytes = buffer.getInt(44);
+        if (buffer.remaining() != HEADER_SIZE + (long) keyframeCount * KEYFRAME_SIZE + runBytes) {
+            throw new IOException(file + ": truncated replay");
+        }
+
+        long[] checksums = new long[keyframeCount];
+        buffer.position(HEADER_SIZE);
+        for (int i = 0; i < keyframeCount; i++) {
+            checksums[i] = buffer.getLong();
+        }
+        byte[] runs = new byte[runBytes];
+        buffer.get(runs);
+        return new Replay(origin, tickCount, sessionSeed, worldSeed, worldChunks, keyframeInterval,
+            checksums, runs);
+    }
+
+    /**
+     * Write this replay to a file, replacing it
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + checksums.length * KEYFRAME_SIZE + runs.length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putShort(VERSION).put(origin).put((byte) 0);
+        buffer.putLong(tickCount).putLong(sessionSeed).putLong(worldSeed);
+        buffer.putInt(worldChunks).putInt(keyframeInterval).putInt(checksums.length).putInt(runs.length);
+        for (long checksum : checksums) {
+            buffer.putLong(checksum);
+        }
+        buffer.put(runs);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, buffer.array());
+    }
+
+    /**
+     * Decoder positioned on the first tick
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Fingerprint of the simulation state compared at keyframes
+     * Covers what a divergence shows up in first: state, score, lives, player and enemy positions.
+     */
+    public static long checksum(GameManager manager) {
+        long hash = manager.getClock().getTick();
+        hash = hash * 31 + (manager.getCurrentState() != null ? manager.getCurrentState().getStateName().hashCode() : 0);
+        hash = hash * 31 + manager.getScore();
+        hash = hash * 31 + manager.getLives();
+        hash = hash * 31 + manager.getProjectilePool().size();
+        if (manager.getPlayer() != null) {
+            hash = hash * 31 + Double.doubleToLongBits(manager.getPlayer().getX());
+            hash = hash * 31 + Double.doubleToLongBits(manager.getPlayer().getY());
+        }
+        List<Enemy> enemies = manager.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isActive()) continue;
+            hash = hash * 31 + Double.doubleToLongBits(enemy.getX());
+            hash = hash * 31 + Double.doubleToLongBits(enemy.getY());
+        }
+        return hash;
+    }
+
+    public byte getOrigin() {
+        return origin;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getSessionSeed() {
+        return sessionSeed;
+    }
+
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+
+    /**
+     * Procedural world size the session played, 0 for level 1
+     */
+    public int getWorldChunks() {
+        return worldChunks;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getKeyframeCount() {
+        return checksums.length;
+    }
+
+    /**
+     * State checksum recorded after (keyframe + 1) * keyframeInterval ticks
+     */
+    public long getChecksum(int keyframe) {
+        return checksums[keyframe];
+    }
+
+    /**
+     * Size of the encoded input stream in bytes
+     */
+    public int getRunBytes() {
+        return runs.length;
+    }
+
+    @Override
+    public String toString() {
+        return "Replay[" + tickCount + " ticks, " + checksums.length + " keyframes, " + runs.length
+            + " input bytes, seed " + sessionSeed + "]";
+    }
+
+    /**
+     * Sequential decoder of the input stream
+     */
+    public final class Cursor {
+        private int offset;
+        private int input;
+        private long remaining;
+        private long tick;
+
+        private Cursor() {
+        }
+
+        /**
+         * Input of the current tick, then move to the next one; 0 past the end of the recording
+         */
+        public int next() {
+            while (remaining == 0) {
+                if (offset >= runs.length) {
+                    tick++;
+                    return 0;
+                }
+                readRun();
+            }
+            remaining--;
+            tick++;
+            return input;
+        }
+
+        /**
+         * Independent decoder at the same position, e.g. to resume from a keyframe later
+         */
+        public Cursor copy() {
+            Cursor copy = new Cursor();
+            copy.offset = offset;
+            copy.input = input;
+            copy.remaining = remaining;
+            copy.tick = tick;
+            return copy;
+        }
+
+        /**
+         * Tick the next call to next() returns the input of
+         */
+        public long getTick() {
+            return tick;
+        }
+
+        private void readRun() {
+            input = runs[offset++];
+            long length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = runs[offset++];
+                length |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            remaining = length;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.miniplatformer.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Records the input of every tick into a Replay
+ * The GameManager calls onTick() after each update with the input bits that tick saw. Each
+ * call extends the current run or closes it and opens a new one, so recording costs a few
+ * bytes per input change; a keyframe checksum is taken every keyframeInterval ticks. Methods
+ * are synchronized so a shutdown hook can save while the game thread is still ticking.
+ */
+public class ReplayRecorder {
+    private final byte origin;
+    private final long sessionSeed;
+    private final long worldSeed;
+    private final int worldChunks;
+    private final int keyframeInterval;
+
+    private byte[] runs = new byte[256];
+    private int runBytes;
+    private int runInput = -1;
+    private long runLength;
+    private long tickCount;
+
+    private long[] checksums = new long[16];
+    private int keyframeCount;
+
+    public ReplayRecorder(byte origin, long sessionSeed, long worldSeed, int worldChunks, int keyframeInterval) {
+        this.origin = origin;
+        this.sessionSeed = sessionSeed;
+        this.worldSeed = worldSeed;
+        this.worldChunks = worldChunks;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Record one simulated tick; game thread only
+     */
+    public synchronized void onTick(int input, GameManager manager) {
+        if (input != runInput) {
+            closeRun();
+            runInput = input;
+        }
+        runLength++;
+        tickCount++;
+
+        if (tickCount % keyframeInterval == 0) {
+            if (keyframeCount == checksums.length) {
+                checksums = Arrays.copyOf(checksums, keyframeCount * 2);
+            }
+            checksums[keyframeCount++] = Replay.checksum(manager);
+        }
+    }
+
+    private void closeRun() {
+        if (runLength == 0) return;
+        if (runBytes + 11 > runs.length) {
+            runs = Arrays.copyOf(runs, runs.length * 2);
+        }
+        runs[runBytes++] = (byte) runInput;
+        long length = runLength;
+        while (length >= 0x80) {
+            runs[runBytes++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        runs[runBytes++] = (byte) length;
+        runLength = 0;
+    }
+
+    /**
+     * Everything recorded so far; recording can carry on afterwards
+     */
+    public synchronized Replay toReplay() {
+        int savedBytes = runBytes;
+        long savedLength = runLength;
+        closeRun();
+        Replay replay = new Replay(origin, tickCount, sessionSeed, worldSeed, worldChunks, keyframeInterval,
+            Arrays.copyOf(checksums, keyframeCount), Arrays.copyOf(runs, runBytes));
+        // Reopen the run so the next ticks keep extending it
+        runBytes = savedBytes;
+        runLength = savedLength;
+        return replay;
+    }
+
+    /**
+     * Write everything recorded so far to a file
+     */
+    public void save(Path file) throws IOException {
+        toReplay().write(file);
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+}
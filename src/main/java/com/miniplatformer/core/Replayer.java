@@ -0,0 +1,121 @@
+package com.miniplatformer.core;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.systems.ProceduralChunkSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-drives a recorded session headlessly at full speed
+ * The game restarts from the recorded seeds and origin, then every tick is fed the recorded
+ * input exactly as the windowed game latched it. At each keyframe the state checksum is
+ * compared with the recording; the first mismatch is kept as the desync tick.
+ *
+ * Playback also takes a restorable snapshot of the whole simulation at every keyframe tick it
+ * passes. Seeking restores the nearest snapshot at or before the target and only simulates the
+ * ticks after it, backwards as well as forwards; ticks past the last snapshot taken so far have
+ * to be simulated once, taking snapshots on the way.
+ */
+public class Replayer {
+    private final Replay replay;
+    private final List<Keyframe> keyframes = new ArrayList<>(); // Keyframe i is at tick i * keyframeInterval
+    private HeadlessSimulation simulation;
+    private Replay.Cursor cursor;
+    private long desyncTick;
+
+    /**
+     * Simulation snapshot with the input decoder positioned on the tick after it
+     */
+    private static final class Keyframe {
+        final HeadlessSimulation.Snapshot simulation;
+        final Replay.Cursor cursor;
+
+        Keyframe(HeadlessSimulation.Snapshot simulation, Replay.Cursor cursor) {
+            this.simulation = simulation;
+            this.cursor = cursor;
+        }
+    }
+
+    public Replayer(Replay replay) {
+        this.replay = replay;
+        start();
+    }
+
+    private void start() {
+        if (replay.getOrigin() == Replay.ORIGIN_MENU && (replay.getWorldChunks() != GameConfig.WORLD_CHUNKS
+                || replay.getWorldChunks() > 0 && replay.getWorldSeed() != GameConfig.WORLD_SEED)) {
+            throw new IllegalStateException("Replay was recorded with -Dminiplatformer.worldChunks="
+                + replay.getWorldChunks() + " -Dminiplatformer.worldSeed=" + replay.getWorldSeed()
+                + "; run the replayer with the same settings");
+        }
+        simulation = new HeadlessSimulation();
+        simulation.getManager().setSessionSeed(replay.getSessionSeed());
+        if (replay.getOrigin() == Replay.ORIGIN_LEVEL) {
+            if (replay.getWorldChunks() > 0) {
+                simulation.loadLevel(new ProceduralChunkSource(replay.getWorldSeed(), replay.getWorldChunks()));
+            } else {
+                simulation.loadLevel();
+            }
+        }
+        cursor = replay.cursor();
+        desyncTick = -1;
+        keyframes.add(new Keyframe(simulation.snapshot(), cursor.copy()));
+    }
+
+    /**
+     * Simulate the whole recording
+     * @return number of ticks simulated
+     */
+    public long run() {
+        seek(replay.getTickCount());
+        return simulation.getTick();
+    }
+
+    /**
+     * Bring the game to the state it was in after the given number of recorded ticks
+     * Restores the nearest keyframe at or before the tick unless the game is already between
+     * it and the tick, then simulates the rest.
+     */
+    public void seek(long tick) {
+        long target = Math.max(0, Math.min(tick, replay.getTickCount()));
+        Keyframe nearest = keyframes.get((int) Math.min(target / replay.getKeyframeInterval(), keyframes.size() - 1));
+        if (target < simulation.getTick() || nearest.simulation.getTick() > simulation.getTick()) {
+            simulation.restore(nearest.simulation);
+            cursor = nearest.cursor.copy();
+        }
+        while (simulation.getTick() < target) {
+            step();
+        }
+    }
+
+    private void step() {
+        simulation.step(cursor.next());
+        long tick = simulation.getTick();
+        if (tick % replay.getKeyframeInterval() == 0) {
+            int keyframe = (int) (tick / replay.getKeyframeInterval()) - 1;
+            if (desyncTick < 0 && keyframe < replay.getKeyframeCount()
+                    && Replay.checksum(simulation.getManager()) != replay.getChecksum(keyframe)) {
+                desyncTick = tick;
+            }
+            if (keyframe + 1 == keyframes.size()) {
+                keyframes.add(new Keyframe(simulation.snapshot(), cursor.copy()));
+            }
+        }
+    }
+
+    /**
+     * First keyframe tick whose state differed from the recording, or -1 if none so far
+     */
+    public long getDesyncTick() {
+        return desyncTick;
+    }
+
+    public long getTick() {
+        return simulation.getTick();
+    }
+
+    public GameManager getManager() {
+        return simulation.getManager();
+    }
+}
@@ -1,8 +1,8 @@
 package com.miniplatformer.entities;
 
+import com.miniplatformer.patterns.composite.GameComponent;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 
 /**
  * Base entity class for all game objects
@@ -45,6 +45,21 @@ public class Entity {
         position.setY(y);
     }
 
+    public double getPreviousX() {
+        return position.getPreviousX();
+    }
+
+    public double getPreviousY() {
+        return position.getPreviousY();
+    }
+
+    /**
+     * Store the current position as the previous tick's position
+     */
+    public void savePreviousPosition() {
+        position.savePrevious();
+    }
+
     public double getVelocityX() {
         return position.getVelocityX();
     }
@@ -86,19 +101,30 @@ public class Entity {
     }
 
     /**
-     * Get the bounding rectangle for collision detection
+     * Check if this entity's bounding box overlaps the given box (edges touching count as a hit)
+     * Works on raw coordinates so collision checks allocate nothing.
      */
-    public Rectangle getBounds() {
-        return new Rectangle(getX(), getY(), width, height);
+    public boolean intersects(double otherX, double otherY, double otherWidth, double otherHeight) {
+        double x = getX();
+        double y = getY();
+        return x <= otherX + otherWidth
+            && otherX <= x + width
+            && y <= otherY + otherHeight
+            && otherY <= y + height;
     }
 
     /**
      * Check if this entity collides with another entity
      */
     public boolean collidesWith(Entity other) {
-        return this.getBounds().getBoundsInParent().intersects(
-            other.getBounds().getBoundsInParent()
-        );
+        return intersects(other.getX(), other.getY(), other.width, other.height);
+    }
+
+    /**
+     * Check if this entity collides with a level component
+     */
+    public boolean collidesWith(GameComponent component) {
+        return intersects(component.getX(), component.getY(), component.getWidth(), component.getHeight());
     }
 
     /**
@@ -1,12 +1,17 @@
 package com.miniplatformer.entities;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.instrumentation.StateTransitionEvent;
 import com.miniplatformer.patterns.decorator.BaseCharacter;
 import com.miniplatformer.patterns.decorator.Character;
 import com.miniplatformer.patterns.state.IdleState;
 import com.miniplatformer.patterns.state.PlayerState;
+import com.miniplatformer.utils.EventJournal;
 import com.miniplatformer.utils.GameLogger;
+import com.miniplatformer.systems.RenderCommandBuffer;
 import com.miniplatformer.systems.SoundSystem;
+import com.miniplatformer.systems.SpriteAtlas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -26,6 +31,28 @@ public class Player extends Entity {
     private static final long DAMAGE_COOLDOWN = 1000; // 1 second cooldown
     private static final double ANIM_SPEED = 0.01;
 
+    // Animation poses: idle cycle, walk cycle, rising, falling
+    private static final int CYCLE_FRAMES = 16;
+    private static final int POSE_IDLE = 0;
+    private static final int POSE_WALK = CYCLE_FRAMES;
+    private static final int POSE_RISING = CYCLE_FRAMES * 2;
+    private static final int POSE_FALLING = POSE_RISING + 1;
+    private static final int POSE_COUNT = POSE_FALLING + 1;
+    // Power-up indicators, each drawn as its own overlay sprite on top of the body
+    private static final int OVERLAY_SHIELD = 0;
+    private static final int OVERLAY_WEAPON = 1;
+    private static final int OVERLAY_DOUBLE_JUMP = 2;
+    private static final int OVERLAY_INVINCIBLE = 3;
+    // Body frames: every pose facing left, then facing right; overlay frames: every pose per overlay
+    private static final SpriteAtlas.Sprite BODY_SPRITE = SpriteAtlas.define(POSE_COUNT * 2,
+        GameConfig.PLAYER_WIDTH, GameConfig.PLAYER_HEIGHT, 10,
+        (gc, frame, x, y) -> paintBody(gc, x, y, GameConfig.PLAYER_WIDTH, GameConfig.PLAYER_HEIGHT,
+            frame % POSE_COUNT, frame >= POSE_COUNT));
+    private static final SpriteAtlas.Sprite OVERLAY_SPRITE = SpriteAtlas.define(POSE_COUNT * 4,
+        GameConfig.PLAYER_WIDTH, GameConfig.PLAYER_HEIGHT, 10,
+        (gc, frame, x, y) -> paintOverlay(gc, x, y, GameConfig.PLAYER_WIDTH, GameConfig.PLAYER_HEIGHT,
+            frame / POSE_COUNT, frame % POSE_COUNT));
+
     public Player(double x, double y) {
         super(x, y, GameConfig.PLAYER_WIDTH, GameConfig.PLAYER_HEIGHT);
         this.character = new BaseCharacter();
@@ -33,9 +60,9 @@ public class Player extends Entity {
         this.lives = GameConfig.MAX_LIVES;
         this.onGround = false;
         this.facingRight = true;
-        this.lastDamageTime = 0;
-        this.animationStartTime = System.currentTimeMillis();
-        GameLogger.info("Player created at position (" + x + ", " + y + ")");
+        this.lastDamageTime = -DAMAGE_COOLDOWN;
+        this.animationStartTime = GameManager.getInstance().getClock().getTimeMillis();
+        GameLogger.info("Player created at position ({}, {})", x, y);
     }
 
     @Override
@@ -49,12 +76,13 @@ public class Player extends Entity {
         position.updatePosition();
 
         // Check horizontal boundaries - force player to fall if past border
-        if (getX() < 0 || getX() + width > GameConfig.WINDOW_WIDTH) {
-            // Push player back to screen edge and make them fall
+        double worldWidth = GameManager.getInstance().getWorldWidth();
+        if (getX() < 0 || getX() + width > worldWidth) {
+            // Push player back to the level's edge and make them fall
             if (getX() < 0) {
                 setX(0);
-            } else if (getX() + width > GameConfig.WINDOW_WIDTH) {
-                setX(GameConfig.WINDOW_WIDTH - width);
+            } else if (getX() + width > worldWidth) {
+                setX(worldWidth - width);
             }
             // Force player to fall by setting onGround to false
             if (onGround) {
@@ -71,33 +99,102 @@ public class Player extends Entity {
     public void render(GraphicsContext gc) {
         double x = getX();
         double y = getY();
-        long time = System.currentTimeMillis() - animationStartTime;
-        
-        // Calculate animation offsets
-        double bobOffset = 0;
-        double legOffset = 0;
-        double stretchY = 0;
-        double squashX = 0;
-        
+        long time = GameManager.getInstance().getClock().getTimeMillis() - animationStartTime;
+        int pose = currentPose(time);
+
+        BODY_SPRITE.draw(gc, pose + (facingRight ? POSE_COUNT : 0), x, y);
+
+        // Draw power-up indicators
+        Character playerChar = getCharacter();
+        if (playerChar.hasShield()) {
+            OVERLAY_SPRITE.draw(gc, OVERLAY_SHIELD * POSE_COUNT + pose, x, y);
+        }
+        if (playerChar.hasWeapon()) {
+            OVERLAY_SPRITE.draw(gc, OVERLAY_WEAPON * POSE_COUNT + pose, x, y);
+        }
+        if (playerChar.canDoubleJump()) {
+            OVERLAY_SPRITE.draw(gc, OVERLAY_DOUBLE_JUMP * POSE_COUNT + pose, x, y);
+        }
+        if (playerChar.isInvincible()) {
+            OVERLAY_SPRITE.draw(gc, OVERLAY_INVINCIBLE * POSE_COUNT + pose, x, y);
+        }
+    }
+
+    /**
+     * Record the player into a render command buffer: the body in the given layer and the
+     * power-up overlays in the next one, so they always stack on top
+     */
+    public void record(RenderCommandBuffer buffer, int layer) {
+        double x = getX();
+        double y = getY();
+        double width = GameConfig.PLAYER_WIDTH;
+        double height = GameConfig.PLAYER_HEIGHT;
+        long time = GameManager.getInstance().getClock().getTimeMillis() - animationStartTime;
+        int pose = currentPose(time);
+
+        BODY_SPRITE.record(buffer, layer, pose + (facingRight ? POSE_COUNT : 0), x, y, width, height);
+
+        Character playerChar = getCharacter();
+        if (playerChar.hasShield()) {
+            OVERLAY_SPRITE.record(buffer, layer + 1, OVERLAY_SHIELD * POSE_COUNT + pose, x, y, width, height);
+        }
+        if (playerChar.hasWeapon()) {
+            OVERLAY_SPRITE.record(buffer, layer + 1, OVERLAY_WEAPON * POSE_COUNT + pose, x, y, width, height);
+        }
+        if (playerChar.canDoubleJump()) {
+            OVERLAY_SPRITE.record(buffer, layer + 1, OVERLAY_DOUBLE_JUMP * POSE_COUNT + pose, x, y, width, height);
+        }
+        if (playerChar.isInvincible()) {
+            OVERLAY_SPRITE.record(buffer, layer + 1, OVERLAY_INVINCIBLE * POSE_COUNT + pose, x, y, width, height);
+        }
+    }
+
+    /**
+     * Animation pose for the current movement: a frame of the idle or walk cycle, rising or falling
+     */
+    private int currentPose(long time) {
         if (onGround) {
             if (Math.abs(getVelocityX()) > 0.1) {
-                // Walking animation
-                legOffset = Math.sin(time * 0.015) * 10;
-                bobOffset = Math.abs(Math.cos(time * 0.015)) * 4;
-            } else {
-                // Idle animation
-                bobOffset = Math.sin(time * 0.003) * 2;
-            }
-        } else {
-            // Jumping/Falling animation
-            if (getVelocityY() < 0) {
-                stretchY = 5; // Stretch when going up
-                squashX = -2;
-            } else {
-                stretchY = -3; // Squash slightly when falling
-                squashX = 2;
+                return POSE_WALK + SpriteAtlas.phaseFrame(time * 0.015, CYCLE_FRAMES);
             }
+            return POSE_IDLE + SpriteAtlas.phaseFrame(time * 0.003, CYCLE_FRAMES);
         }
+        return getVelocityY() < 0 ? POSE_RISING : POSE_FALLING;
+    }
+
+    private static double cyclePhase(int pose) {
+        return SpriteAtlas.framePhase(pose % CYCLE_FRAMES, CYCLE_FRAMES);
+    }
+
+    private static double bobOffset(int pose) {
+        if (pose >= POSE_RISING) return 0;
+        if (pose >= POSE_WALK) return Math.abs(Math.cos(cyclePhase(pose))) * 4; // Walking animation
+        return Math.sin(cyclePhase(pose)) * 2; // Idle animation
+    }
+
+    private static double stretchY(int pose) {
+        if (pose == POSE_RISING) return 5; // Stretch when going up
+        if (pose == POSE_FALLING) return -3; // Squash slightly when falling
+        return 0;
+    }
+
+    private static double squashX(int pose) {
+        if (pose == POSE_RISING) return -2;
+        if (pose == POSE_FALLING) return 2;
+        return 0;
+    }
+
+    /**
+     * Vector drawing of the player's body in a pose, rasterized once into the sprite atlas
+     */
+    private static void paintBody(GraphicsContext gc, double x, double y, double width, double height,
+                                  int pose, boolean facingRight) {
+        boolean onGround = pose < POSE_RISING;
+        boolean walking = pose >= POSE_WALK && onGround;
+        double bobOffset = bobOffset(pose);
+        double stretchY = stretchY(pose);
+        double squashX = squashX(pose);
+        double legOffset = walking ? Math.sin(cyclePhase(pose)) * 10 : 0;
 
         // Draw player body
         gc.setFill(Color.web(GameConfig.COLOR_PLAYER));
@@ -135,7 +232,7 @@ public class Player extends Entity {
         
         // Draw shoes with walking animation
         gc.setFill(Color.web("#8B4513"));
-        if (onGround && Math.abs(getVelocityX()) > 0.1) {
+        if (walking) {
             // Animated legs
             gc.fillRect(x + 2 + legOffset, y + 40 + bobOffset, 10, 8);
             gc.fillRect(x + width - 12 - legOffset, y + 40 + bobOffset, 10, 8);
@@ -155,9 +252,9 @@ public class Player extends Entity {
             handY2 = y + 15 + bobOffset - stretchY;
             handX1 = x - 4 + squashX;
             handX2 = x + width - 4 - squashX;
-        } else if (Math.abs(getVelocityX()) > 0.1) {
+        } else if (walking) {
             // Walking hands (swinging)
-            double armSwing = Math.sin(time * 0.015) * 8;
+            double armSwing = Math.sin(cyclePhase(pose)) * 8;
             handY1 = y + 20 + bobOffset + armSwing;
             handY2 = y + 20 + bobOffset - armSwing;
             handX1 = x - 2 + squashX;
@@ -172,27 +269,39 @@ public class Player extends Entity {
         
         gc.fillOval(handX1, handY1, 8, 8);
         gc.fillOval(handX2, handY2, 8, 8);
-        
-        // Draw power-up indicators
-        Character playerChar = getCharacter();
-        if (playerChar.hasShield()) {
-            gc.setStroke(Color.web(GameConfig.COLOR_POWERUP_SHIELD));
-            gc.setLineWidth(2);
-            gc.strokeOval(x - 2, y - 2 + bobOffset, width + 4, height + 4);
-        }
-        if (playerChar.hasWeapon()) {
-            gc.setFill(Color.web(GameConfig.COLOR_POWERUP_WEAPON));
-            gc.fillRect(x + width - 6 + squashX, y + 20 + bobOffset * 0.8, 6, 12);
-        }
-        if (playerChar.canDoubleJump()) {
-            gc.setFill(Color.web(GameConfig.COLOR_POWERUP_DOUBLEJUMP));
-            gc.fillOval(x + width / 2 - 4 + squashX, y - 4 + bobOffset * 0.4, 8, 8);
-        }
-        if (playerChar.isInvincible()) {
-            gc.setFill(Color.web(GameConfig.COLOR_POWERUP_INVINCIBILITY));
-            gc.setGlobalAlpha(0.3);
-            gc.fillRect(x + squashX, y + bobOffset - stretchY, width - squashX * 2, height + stretchY - bobOffset);
-            gc.setGlobalAlpha(1.0);
+    }
+
+    /**
+     * Vector drawing of a power-up indicator in a pose, rasterized once into the sprite atlas
+     */
+    private static void paintOverlay(GraphicsContext gc, double x, double y, double width, double height,
+                                     int overlay, int pose) {
+        double bobOffset = bobOffset(pose);
+        double stretchY = stretchY(pose);
+        double squashX = squashX(pose);
+
+        switch (overlay) {
+            case OVERLAY_SHIELD:
+                gc.setStroke(Color.web(GameConfig.COLOR_POWERUP_SHIELD));
+                gc.setLineWidth(2);
+                gc.strokeOval(x - 2, y - 2 + bobOffset, width + 4, height + 4);
+                break;
+            case OVERLAY_WEAPON:
+                gc.setFill(Color.web(GameConfig.COLOR_POWERUP_WEAPON));
+                gc.fillRect(x + width - 6 + squashX, y + 20 + bobOffset * 0.8, 6, 12);
+                break;
+            case OVERLAY_DOUBLE_JUMP:
+                gc.setFill(Color.web(GameConfig.COLOR_POWERUP_DOUBLEJUMP));
+                gc.fillOval(x + width / 2 - 4 + squashX, y - 4 + bobOffset * 0.4, 8, 8);
+                break;
+            case OVERLAY_INVINCIBLE:
+                gc.setFill(Color.web(GameConfig.COLOR_POWERUP_INVINCIBILITY));
+                gc.setGlobalAlpha(0.3);
+                gc.fillRect(x + squashX, y + bobOffset - stretchY, width - squashX * 2, height + stretchY - bobOffset);
+                gc.setGlobalAlpha(1.0);
+                break;
+            default:
+                break;
         }
     }
 
@@ -203,10 +312,14 @@ public class Player extends Entity {
         // Log state transition if changed
         if (previousState != currentState) {
             GameLogger.logState("Player", previousState.getStateName(), currentState.getStateName());
+            EventJournal.record(EventJournal.Event.STATE_CHANGE, EventJournal.PLAYER, getX(), getY(),
+                EventJournal.nameId(currentState.getStateName()));
         }
     }
 
     public void setState(PlayerState newState) {
+        StateTransitionEvent.emit("Player", currentState != null ? currentState.getStateName() : null,
+            newState != null ? newState.getStateName() : null);
         this.currentState = newState;
     }
 
@@ -215,7 +328,7 @@ public class Player extends Entity {
     }
 
     public void takeDamage() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameManager.getInstance().getClock().getTimeMillis();
         
         // Check if cooldown has passed to prevent multiple damage in quick succession
         if (currentTime - lastDamageTime < DAMAGE_COOLDOWN) {
@@ -228,10 +341,12 @@ public class Player extends Entity {
             character.removeShield();
             SoundSystem.playDamage(); // Reuse damage sound for shield break
             GameLogger.logDecoratorRemoval("Shield", "Player");
+            EventJournal.record(EventJournal.Event.SHIELD_BREAK, EventJournal.PLAYER, getX(), getY(), lives);
         } else {
             lives--;
             SoundSystem.playDamage();
-            GameLogger.logGameplay("Player took damage. Lives remaining: " + lives);
+            GameLogger.logGameplay("Player took damage. Lives remaining: {}", lives);
+            EventJournal.record(EventJournal.Event.DAMAGE, EventJournal.PLAYER, getX(), getY(), lives);
             if (lives <= 0) {
                 GameLogger.logState("Player", currentState.getStateName(), "DEAD");
             }
@@ -243,18 +358,21 @@ public class Player extends Entity {
         setY(GameConfig.PLAYER_START_Y);
         setVelocityX(0);
         setVelocityY(0);
+        savePreviousPosition(); // Don't interpolate across the respawn teleport
         onGround = false;
-        lastDamageTime = 0; // Reset damage cooldown on respawn
+        lastDamageTime = -DAMAGE_COOLDOWN; // Reset damage cooldown on respawn
         GameLogger.logGameplay("Player respawned");
+        EventJournal.record(EventJournal.Event.RESPAWN, EventJournal.PLAYER, getX(), getY());
     }
 
     public void jump() {
         if (onGround || character.canDoubleJump()) {
             setVelocityY(GameConfig.JUMP_FORCE);
             onGround = false;
-            jumpStartTime = System.currentTimeMillis();
+            jumpStartTime = GameManager.getInstance().getClock().getTimeMillis();
             SoundSystem.playJump();
             GameLogger.logGameplay("Player jumped");
+            EventJournal.record(EventJournal.Event.JUMP, EventJournal.PLAYER, getX(), getY());
         }
     }
 
@@ -312,4 +430,54 @@ public class Player extends Entity {
     public long getJumpStartTime() {
         return jumpStartTime;
     }
+
+    /**
+     * Copy of everything about the player that changes during play, for replay keyframes
+     * Player states never change once entered, so the current one is shared rather than copied.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Put back a saved state; it is left untouched, so it can be restored again
+     */
+    public void restore(Snapshot snapshot) {
+        position = snapshot.position.clone();
+        active = snapshot.active;
+        character = snapshot.character.copy();
+        currentState = snapshot.currentState;
+        lives = snapshot.lives;
+        onGround = snapshot.onGround;
+        facingRight = snapshot.facingRight;
+        jumpStartTime = snapshot.jumpStartTime;
+        lastDamageTime = snapshot.lastDamageTime;
+        animationStartTime = snapshot.animationStartTime;
+    }
+
+    public static final class Snapshot {
+        private final Position position;
+        private final boolean active;
+        private final Character character;
+        private final PlayerState currentState;
+        private final int lives;
+        private final boolean onGround;
+        private final boolean facingRight;
+        private final long jumpStartTime;
+        private final long lastDamageTime;
+        private final long animationStartTime;
+
+        private Snapshot(Player player) {
+            this.position = player.position.clone();
+            this.active = player.active;
+            this.character = player.character.copy();
+            this.currentState = player.currentState;
+            this.lives = player.lives;
+            this.onGround = player.onGround;
+            this.facingRight = player.facingRight;
+            this.jumpStartTime = player.jumpStartTime;
+            this.lastDamageTime = player.lastDamageTime;
+            this.animationStartTime = player.animationStartTime;
+        }
+    }
 }
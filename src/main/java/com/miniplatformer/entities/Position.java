@@ -9,12 +9,16 @@ public class Position {
     private double y;
     private double velocityX;
     private double velocityY;
+    private double previousX;
+    private double previousY;
 
     public Position(double x, double y) {
         this.x = x;
         this.y = y;
         this.velocityX = 0;
         this.velocityY = 0;
+        this.previousX = x;
+        this.previousY = y;
     }
 
     public Position(double x, double y, double velocityX, double velocityY) {
@@ -22,6 +26,8 @@ public class Position {
         this.y = y;
         this.velocityX = velocityX;
         this.velocityY = velocityY;
+        this.previousX = x;
+        this.previousY = y;
     }
 
     public double getX() {
@@ -66,6 +72,23 @@ public class Position {
         this.y += velocityY;
     }
 
+    /**
+     * Remember the current coordinates as the previous simulation state.
+     * Called once at the start of each tick so rendering can interpolate between ticks.
+     */
+    public void savePrevious() {
+        this.previousX = x;
+        this.previousY = y;
+    }
+
+    public double getPreviousX() {
+        return previousX;
+    }
+
+    public double getPreviousY() {
+        return previousY;
+    }
+
     public void resetVelocity() {
         this.velocityX = 0;
         this.velocityY = 0;
@@ -73,7 +96,10 @@ public class Position {
 
     @Override
     public Position clone() {
-        return new Position(x, y, velocityX, velocityY);
+        Position copy = new Position(x, y, velocityX, velocityY);
+        copy.previousX = previousX;
+        copy.previousY = previousY;
+        return copy;
     }
 
     @Override
@@ -1,50 +1,89 @@
 package com.miniplatformer.entities;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpriteAtlas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
- * Projectile entity fired by enemies
+ * Projectile fired by enemies: a thin view onto one slot of the ProjectilePool
+ * Holds no state of its own; every call reads or writes the pool's arrays. The pool moves
+ * projectiles between slots when it compacts, so a view is only valid until the next update.
  */
-public class Projectile extends Entity {
-    private boolean active;
-    private double velocityX;
+public final class Projectile {
+    private static final SpriteAtlas.Sprite SPRITE = SpriteAtlas.define(1,
+        GameConfig.PROJECTILE_WIDTH, GameConfig.PROJECTILE_HEIGHT, 3,
+        (gc, frame, x, y) -> paint(gc, x, y, GameConfig.PROJECTILE_WIDTH, GameConfig.PROJECTILE_HEIGHT));
 
-    public Projectile(double x, double y, double velocityX) {
-        super(x, y, GameConfig.PROJECTILE_WIDTH, GameConfig.PROJECTILE_HEIGHT);
-        this.velocityX = velocityX;
-        this.active = true;
-    }
+    private final ProjectilePool pool;
+    private final int index;
 
-    @Override
-    public void update() {
-        if (!active) return;
-        setX(getX() + velocityX);
-        
-        // Deactivate if out of bounds
-        if (getX() < 0 || getX() > GameConfig.WINDOW_WIDTH) {
-            active = false;
-        }
+    Projectile(ProjectilePool pool, int index) {
+        this.pool = pool;
+        this.index = index;
     }
 
-    @Override
     public void render(GraphicsContext gc) {
-        if (!active) return;
+        if (!pool.isActive(index)) return;
+        SPRITE.draw(gc, 0, pool.getX(index), pool.getY(index));
+    }
+
+    /**
+     * Record the projectile into a render command buffer
+     */
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!pool.isActive(index)) return;
+        SPRITE.record(buffer, layer, 0, pool.getX(index), pool.getY(index),
+            GameConfig.PROJECTILE_WIDTH, GameConfig.PROJECTILE_HEIGHT);
+    }
+
+    /**
+     * Vector drawing of a projectile, rasterized once into the sprite atlas
+     */
+    private static void paint(GraphicsContext gc, double x, double y, double width, double height) {
         gc.setFill(Color.web(GameConfig.COLOR_PROJECTILE));
-        gc.fillOval(getX(), getY(), width, height);
-        
+        gc.fillOval(x, y, width, height);
+
         // Add glow effect
         gc.setGlobalAlpha(0.5);
-        gc.fillOval(getX() - 2, getY() - 2, width + 4, height + 4);
+        gc.fillOval(x - 2, y - 2, width + 4, height + 4);
         gc.setGlobalAlpha(1.0);
     }
 
+    public double getX() {
+        return pool.getX(index);
+    }
+
+    public double getY() {
+        return pool.getY(index);
+    }
+
+    public double getPreviousX() {
+        return pool.getPreviousX(index);
+    }
+
+    public double getPreviousY() {
+        return pool.getPreviousY(index);
+    }
+
+    public double getVelocityX() {
+        return pool.getVelocityX(index);
+    }
+
+    public double getWidth() {
+        return GameConfig.PROJECTILE_WIDTH;
+    }
+
+    public double getHeight() {
+        return GameConfig.PROJECTILE_HEIGHT;
+    }
+
     public boolean isActive() {
-        return active;
+        return pool.isActive(index);
     }
 
     public void setActive(boolean active) {
-        this.active = active;
+        pool.setActive(index, active);
     }
 }
@@ -0,0 +1,304 @@
+package com.miniplatformer.entities;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.systems.ParallelPhases;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-capacity projectile pool owned by the GameManager
+ * Projectile state lives in parallel primitive arrays allocated up front, so the movement pass is
+ * a tight loop over contiguous memory and memory stays bounded however long the session runs.
+ * Live projectiles are kept packed in spawn order in a ring starting at head: dead ones are
+ * compacted out on update, so iteration only ever visits live bullets, and the oldest live
+ * projectile is always at head, which makes REPLACE_OLDEST O(1). Each slot is seen as a
+ * Projectile through a view, so collisions and rendering work unchanged.
+ */
+public class ProjectilePool {
+
+    /**
+     * What to do when a projectile is spawned while the pool is full
+     */
+    public enum OverflowPolicy {
+        DROP_NEWEST,   // Refuse the new projectile
+        REPLACE_OLDEST // Recycle the longest-lived projectile
+    }
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] previousX;
+    private final double[] previousY;
+    private final double[] velocityX;
+    private final double[] range; // Distance left before the bullet fizzles out
+    private final boolean[] active;
+    private final Projectile[] views;
+    private final OverflowPolicy overflowPolicy;
+    private final List<Projectile> liveView;
+    private int head;
+    private int count;
+    private long overflowCount;
+
+    public ProjectilePool(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Projectile pool capacity must be positive: " + capacity);
+        }
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.previousX = new double[capacity];
+        this.previousY = new double[capacity];
+        this.velocityX = new double[capacity];
+        this.range = new double[capacity];
+        this.active = new boolean[capacity];
+        this.views = new Projectile[capacity];
+        for (int i = 0; i < capacity; i++) {
+            views[i] = new Projectile(this, i);
+        }
+        this.overflowPolicy = overflowPolicy;
+        this.count = 0;
+        this.liveView = new AbstractList<>() {
+            @Override
+            public Projectile get(int index) {
+                if (index >= count) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return views[slot(index)];
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Spawn a projectile from the pool
+     * @return the projectile, or null if the pool is full and the policy drops new projectiles
+     */
+    public Projectile spawn(double x, double y, double velocityX) {
+        int i;
+        if (count < views.length) {
+            i = slot(count++);
+        } else {
+            overflowCount++;
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                return null;
+            }
+            // The ring is full: the oldest sits at head, and moving head past it makes it the newest
+            i = head;
+            head = slot(1);
+        }
+        this.x[i] = x;
+        this.y[i] = y;
+        previousX[i] = x;
+        previousY[i] = y;
+        this.velocityX[i] = velocityX;
+        range[i] = GameConfig.PROJECTILE_RANGE;
+        active[i] = true;
+        return views[i];
+    }
+
+    /**
+     * Array index of the i-th live projectile in spawn order
+     */
+    private int slot(int i) {
+        int index = head + i;
+        return index < views.length ? index : index - views.length;
+    }
+
+    /**
+     * Move live projectiles, then compact away the ones that are no longer active
+     */
+    public void update() {
+        double worldWidth = GameManager.getInstance().getWorldWidth();
+        for (int i = 0; i < count; i++) {
+            move(slot(i), worldWidth);
+        }
+        removeInactive();
+    }
+
+    /**
+     * Move every live projectile, in parallel batches when there are enough of them
+     */
+    public void update(ParallelPhases phases) {
+        double worldWidth = GameManager.getInstance().getWorldWidth();
+        phases.run(count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                move(slot(i), worldWidth);
+            }
+        });
+        removeInactive();
+    }
+
+    private void move(int i, double worldWidth) {
+        if (!active[i]) return;
+        x[i] += velocityX[i];
+        range[i] -= Math.abs(velocityX[i]);
+
+        // Deactivate once out of range or out of the level, so bullets don't cross a streamed world
+        if (range[i] <= 0 || x[i] < 0 || x[i] > worldWidth) {
+            active[i] = false;
+        }
+    }
+
+    /**
+     * Compact out every inactive projectile, keeping the live ones packed in spawn order
+     */
+    public void removeInactive() {
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            int from = slot(i);
+            if (!active[from]) continue;
+            int to = slot(live++);
+            if (to != from) {
+                x[to] = x[from];
+                y[to] = y[from];
+                previousX[to] = previousX[from];
+                previousY[to] = previousY[from];
+                velocityX[to] = velocityX[from];
+                range[to] = range[from];
+                active[to] = true;
+                active[from] = false;
+            }
+        }
+        count = live;
+    }
+
+    /**
+     * Store every live projectile's current position as the previous tick's position
+     */
+    public void savePreviousPositions() {
+        for (int i = 0; i < count; i++) {
+            int s = slot(i);
+            previousX[s] = x[s];
+            previousY[s] = y[s];
+        }
+    }
+
+    /**
+     * Return every projectile to the pool
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            active[slot(i)] = false;
+        }
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Read-only view of the live projectiles; only valid until the next spawn or update
+     */
+    public List<Projectile> getLive() {
+        return liveView;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return views.length;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Number of spawns that found the pool full since it was created
+     */
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+
+    /**
+     * Copy of every slot and the ring position, for replay keyframes
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Put back a saved state; it is left untouched, so it can be restored again
+     */
+    public void restore(Snapshot snapshot) {
+        System.arraycopy(snapshot.x, 0, x, 0, x.length);
+        System.arraycopy(snapshot.y, 0, y, 0, y.length);
+        System.arraycopy(snapshot.previousX, 0, previousX, 0, previousX.length);
+        System.arraycopy(snapshot.previousY, 0, previousY, 0, previousY.length);
+        System.arraycopy(snapshot.velocityX, 0, velocityX, 0, velocityX.length);
+        System.arraycopy(snapshot.range, 0, range, 0, range.length);
+        System.arraycopy(snapshot.active, 0, active, 0, active.length);
+        head = snapshot.head;
+        count = snapshot.count;
+        overflowCount = snapshot.overflowCount;
+    }
+
+    public static final class Snapshot {
+        private final double[] x;
+        private final double[] y;
+        private final double[] previousX;
+        private final double[] previousY;
+        private final double[] velocityX;
+        private final double[] range;
+        private final boolean[] active;
+        private final int head;
+        private final int count;
+        private final long overflowCount;
+
+        private Snapshot(ProjectilePool pool) {
+            this.x = Arrays.copyOf(pool.x, pool.x.length);
+            this.y = Arrays.copyOf(pool.y, pool.y.length);
+            this.previousX = Arrays.copyOf(pool.previousX, pool.previousX.length);
+            this.previousY = Arrays.copyOf(pool.previousY, pool.previousY.length);
+            this.velocityX = Arrays.copyOf(pool.velocityX, pool.velocityX.length);
+            this.range = Arrays.copyOf(pool.range, pool.range.length);
+            this.active = Arrays.copyOf(pool.active, pool.active.length);
+            this.head = pool.head;
+            this.count = pool.count;
+            this.overflowCount = pool.overflowCount;
+        }
+    }
+
+    /**
+     * Bytes held by the component arrays and the views
+     */
+    public long getFootprintBytes() {
+        // Six double columns, the active flags, and a view object plus its reference per slot
+        return (long) views.length * (6 * 8 + 1 + 24 + 4);
+    }
+
+    // Per-slot access for Projectile
+
+    boolean isActive(int i) {
+        return active[i];
+    }
+
+    void setActive(int i, boolean active) {
+        this.active[i] = active;
+    }
+
+    double getX(int i) {
+        return x[i];
+    }
+
+    double getY(int i) {
+        return y[i];
+    }
+
+    double getPreviousX(int i) {
+        return previousX[i];
+    }
+
+    double getPreviousY(int i) {
+        return previousY[i];
+    }
+
+    double getVelocityX(int i) {
+        return velocityX[i];
+    }
+}
@@ -0,0 +1,55 @@
+package com.miniplatformer.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One collision pass of the player against the candidates the broadphase returned
+ */
+@Name("com.miniplatformer.CollisionPass")
+@Label("Collision Pass")
+@Category({"Mini Platformer", "Simulation"})
+@StackTrace(false)
+public class CollisionPassEvent extends jdk.jfr.Event {
+    public static final String PLATFORMS = "platforms";
+    public static final String ENEMIES = "enemies";
+    public static final String COLLECTIBLES = "collectibles";
+    public static final String OBSTACLES = "obstacles";
+    public static final String PROJECTILES = "projectiles";
+
+    @Label("Pass")
+    public String pass;
+
+    @Label("Candidates")
+    @Description("Objects tested against the player")
+    public int candidates;
+
+    @Label("Hits")
+    @Description("Candidates overlapping the player")
+    public int hits;
+
+    /**
+     * Start timing a pass
+     */
+    public static CollisionPassEvent start(String pass) {
+        CollisionPassEvent event = new CollisionPassEvent();
+        event.pass = pass;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stop timing and commit if a recording wants this event
+     */
+    public void finish(int candidates, int hits) {
+        end();
+        if (shouldCommit()) {
+            this.candidates = candidates;
+            this.hits = hits;
+            commit();
+        }
+    }
+}
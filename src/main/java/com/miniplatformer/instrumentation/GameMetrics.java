@@ -0,0 +1,254 @@
+package com.miniplatformer.instrumentation;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.entities.ProjectilePool;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.systems.SoundSystem;
+import com.miniplatformer.systems.SpriteAtlas;
+import com.miniplatformer.utils.FrameProfiler;
+import com.miniplatformer.utils.GameLogger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * GameMetricsMXBean published by the GameManager
+ * The game thread only writes: a volatile tick counter every tick, and every METRICS_PUBLISH_TICKS
+ * a fresh snapshot of the entity counts and footprints, swapped in as whole immutable maps. JMX
+ * reads those fields, the profiler's published window and the mixer and log ring buffer
+ * counters, so a JConsole poll never takes a lock the game thread could wait on.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "com.miniplatformer:type=GameMetrics";
+
+    // Rough shallow sizes for subsystems that hold one object per entity
+    private static final long ENEMY_BYTES = 96;
+    private static final long COMPONENT_BYTES = 80;
+
+    private final GameManager manager;
+    private ObjectName name;
+
+    // Game thread only
+    private int ticksSincePublish;
+    private long lastPublishNanos = System.nanoTime();
+
+    private volatile long tick;
+    private volatile double tickRate;
+    private volatile String state;
+    private volatile int score;
+    private volatile Map<String, Integer> liveCounts = Collections.emptyMap();
+    private volatile Map<String, Integer> inactiveCounts = Collections.emptyMap();
+    private volatile int poolSize;
+    private volatile int poolCapacity;
+    private volatile long poolOverflows;
+    private volatile Map<String, Long> footprints = Collections.emptyMap();
+
+    public GameMetrics(GameManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Register on the platform MBean server, replacing the bean of a previous GameManager
+     */
+    public void register() {
+        if (!GameConfig.JMX_METRICS) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            name = objectName;
+        } catch (JMException e) {
+            GameLogger.warn("Could not register the metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    public void unregister() {
+        if (name == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            GameLogger.warn("Could not unregister the metrics MBean: {}", e.getMessage());
+        }
+        name = null;
+    }
+
+    /**
+     * Called by the game thread after every tick
+     */
+    public void onTick() {
+        tick = manager.getClock().getTick();
+        if (++ticksSincePublish >= GameConfig.METRICS_PUBLISH_TICKS) {
+            publish();
+        }
+    }
+
+    /**
+     * Recount every entity and subsystem and swap the results in; game thread only
+     */
+    public void publish() {
+        long now = System.nanoTime();
+        if (now > lastPublishNanos) {
+            tickRate = ticksSincePublish * 1e9 / (now - lastPublishNanos);
+        }
+        ticksSincePublish = 0;
+        lastPublishNanos = now;
+
+        state = manager.getCurrentState() != null ? manager.getCurrentState().getStateName() : null;
+        score = manager.getScore();
+
+        Map<String, Integer> live = new TreeMap<>();
+        Map<String, Integer> inactive = new TreeMap<>();
+        List<Enemy> enemies = manager.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            count(enemy.isActive() ? live : inactive, enemy.getType());
+        }
+        ProjectilePool pool = manager.getProjectilePool();
+        live.put("Projectile", pool.size());
+        inactive.put("Projectile", pool.getCapacity() - pool.size());
+        Level level = manager.getCurrentLevel();
+        if (level != null) {
+            for (Collectible collectible : level.getCollectibles()) {
+                count(collectible.isActive() ? live : inactive, "Collectible");
+            }
+            for (Obstacle obstacle : level.getObstacles()) {
+                count(obstacle.isActive() ? live : inactive, "Obstacle");
+            }
+            for (Platform platform : level.getPlatforms()) {
+                count(platform.isActive() ? live : inactive, "Platform");
+            }
+        }
+        liveCounts = Collections.unmodifiableMap(live);
+        inactiveCounts = Collections.unmodifiableMap(inactive);
+
+        poolSize = pool.size();
+        poolCapacity = pool.getCapacity();
+        poolOverflows = pool.getOverflowCount();
+
+        Map<String, Long> bytes = new TreeMap<>();
+        if (manager.getEnemyStore() != null) {
+            bytes.put("enemies", manager.getEnemyStore().getFootprintBytes());
+        } else {
+            bytes.put("enemies", enemies.size() * ENEMY_BYTES);
+        }
+        bytes.put("projectiles", pool.getFootprintBytes());
+        bytes.put("level", level != null ? level.getComponents().size() * COMPONENT_BYTES : 0L);
+        bytes.put("renderBuffer", manager.getRenderBuffer().getFootprintBytes());
+        bytes.put("spriteAtlas", SpriteAtlas.getFootprintBytes());
+        footprints = Collections.unmodifiableMap(bytes);
+    }
+
+    private static void count(Map<String, Integer> counts, String type) {
+        counts.merge(type, 1, Integer::sum);
+    }
+
+    @Override
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    @Override
+    public String getState() {
+        return state;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public double getFrameTimeP50() {
+        return FrameProfiler.getLastWindow(FrameProfiler.Phase.FRAME)[0] / 1e6;
+    }
+
+    @Override
+    public double getFrameTimeP99() {
+        return FrameProfiler.getLastWindow(FrameProfiler.Phase.FRAME)[1] / 1e6;
+    }
+
+    @Override
+    public double getFrameTimeMax() {
+        return FrameProfiler.getLastWindow(FrameProfiler.Phase.FRAME)[2] / 1e6;
+    }
+
+    @Override
+    public double getTickTimeP50() {
+        return FrameProfiler.getLastWindow(FrameProfiler.Phase.TICK)[0] / 1e6;
+    }
+
+    @Override
+    public double getTickTimeP99() {
+        return FrameProfiler.getLastWindow(FrameProfiler.Phase.TICK)[1] / 1e6;
+    }
+
+    @Override
+    public double getTickTimeMax() {
+        return FrameProfiler.getLastWindow(FrameProfiler.Phase.TICK)[2] / 1e6;
+    }
+
+    @Override
+    public Map<String, Integer> getLiveCounts() {
+        return liveCounts;
+    }
+
+    @Override
+    public Map<String, Integer> getInactiveCounts() {
+        return inactiveCounts;
+    }
+
+    @Override
+    public int getProjectilePoolSize() {
+        return poolSize;
+    }
+
+    @Override
+    public int getProjectilePoolCapacity() {
+        return poolCapacity;
+    }
+
+    @Override
+    public double getProjectilePoolOccupancy() {
+        int capacity = poolCapacity;
+        return capacity > 0 ? poolSize / (double) capacity : 0;
+    }
+
+    @Override
+    public long getProjectilePoolOverflows() {
+        return poolOverflows;
+    }
+
+    @Override
+    public int getActiveSoundVoices() {
+        return SoundSystem.getActiveVoices();
+    }
+
+    @Override
+    public long getLogBacklog() {
+        return GameLogger.getBacklog();
+    }
+
+    @Override
+    public Map<String, Long> getSubsystemFootprintBytes() {
+        return footprints;
+    }
+}
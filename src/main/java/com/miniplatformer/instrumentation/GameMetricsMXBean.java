@@ -0,0 +1,68 @@
+package com.miniplatformer.instrumentation;
+
+import java.util.Map;
+
+/**
+ * Live metrics of the running game session, registered as com.miniplatformer:type=GameMetrics
+ * Durations are in milliseconds, over the profiler's last one-second window.
+ */
+public interface GameMetricsMXBean {
+    /**
+     * Ticks simulated since the session started
+     */
+    long getTick();
+
+    /**
+     * Ticks simulated per second of wall time, over the last publish interval
+     */
+    double getTickRate();
+
+    String getState();
+
+    int getScore();
+
+    double getFrameTimeP50();
+
+    double getFrameTimeP99();
+
+    double getFrameTimeMax();
+
+    double getTickTimeP50();
+
+    double getTickTimeP99();
+
+    double getTickTimeMax();
+
+    /**
+     * Active entities per type (enemy types, projectiles, collectibles, obstacles, platforms)
+     */
+    Map<String, Integer> getLiveCounts();
+
+    /**
+     * Inactive entities per type: defeated enemies, collected items, free projectile slots
+     */
+    Map<String, Integer> getInactiveCounts();
+
+    int getProjectilePoolSize();
+
+    int getProjectilePoolCapacity();
+
+    /**
+     * Fraction of the projectile pool in use, 0..1
+     */
+    double getProjectilePoolOccupancy();
+
+    long getProjectilePoolOverflows();
+
+    int getActiveSoundVoices();
+
+    /**
+     * Log events queued for the async appenders, -1 if logging is synchronous
+     */
+    long getLogBacklog();
+
+    /**
+     * Estimated heap bytes held by each subsystem's entity and buffer storage
+     */
+    Map<String, Long> getSubsystemFootprintBytes();
+}
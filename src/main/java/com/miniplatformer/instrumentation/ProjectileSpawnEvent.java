@@ -0,0 +1,42 @@
+package com.miniplatformer.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A projectile taken from the pool, or refused because the pool was full
+ */
+@Name("com.miniplatformer.ProjectileSpawn")
+@Label("Projectile Spawn")
+@Category({"Mini Platformer", "Gameplay"})
+@StackTrace(false)
+public class ProjectileSpawnEvent extends jdk.jfr.Event {
+    @Label("X")
+    public double x;
+
+    @Label("Y")
+    public double y;
+
+    @Label("Velocity X")
+    public double velocityX;
+
+    @Label("Spawned")
+    public boolean spawned;
+
+    @Label("Live Projectiles")
+    public int live;
+
+    public static void emit(double x, double y, double velocityX, boolean spawned, int live) {
+        ProjectileSpawnEvent event = new ProjectileSpawnEvent();
+        if (event.isEnabled()) {
+            event.x = x;
+            event.y = y;
+            event.velocityX = velocityX;
+            event.spawned = spawned;
+            event.live = live;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.miniplatformer.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A sound effect triggered by the game
+ */
+@Name("com.miniplatformer.SoundTrigger")
+@Label("Sound Trigger")
+@Category({"Mini Platformer", "Audio"})
+@StackTrace(false)
+public class SoundTriggerEvent extends jdk.jfr.Event {
+    @Label("Effect")
+    public String effect;
+
+    @Label("Audible")
+    public boolean audible;
+
+    @Label("Active Voices")
+    public int activeVoices;
+
+    public static void emit(String effect, boolean audible, int activeVoices) {
+        SoundTriggerEvent event = new SoundTriggerEvent();
+        if (event.isEnabled()) {
+            event.effect = effect;
+            event.audible = audible;
+            event.activeVoices = activeVoices;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.miniplatformer.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A GameState or PlayerState change
+ */
+@Name("com.miniplatformer.StateTransition")
+@Label("State Transition")
+@Category({"Mini Platformer", "Gameplay"})
+@StackTrace(false)
+public class StateTransitionEvent extends jdk.jfr.Event {
+    @Label("Subject")
+    public String subject;
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    public static void emit(String subject, String from, String to) {
+        StateTransitionEvent event = new StateTransitionEvent();
+        if (event.isEnabled()) {
+            event.subject = subject;
+            event.from = from;
+            event.to = to;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.miniplatformer.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One simulation tick, with the time spent in each update phase and the entity counts
+ * Phase durations come from the FrameProfiler and are zero when it is disabled.
+ */
+@Name("com.miniplatformer.Tick")
+@Label("Game Tick")
+@Category({"Mini Platformer", "Simulation"})
+@Description("One fixed-timestep simulation tick")
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    public long tick;
+
+    @Label("Game State")
+    public String state;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Projectiles")
+    public int projectiles;
+
+    @Label("Level Components")
+    public int levelComponents;
+
+    @Label("Streaming")
+    @Timespan(Timespan.NANOSECONDS)
+    public long streaming;
+
+    @Label("Player")
+    @Timespan(Timespan.NANOSECONDS)
+    public long player;
+
+    @Label("Enemy AI")
+    @Timespan(Timespan.NANOSECONDS)
+    public long enemyUpdate;
+
+    @Label("Level Animation")
+    @Timespan(Timespan.NANOSECONDS)
+    public long levelUpdate;
+
+    @Label("Projectile Integration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long projectileUpdate;
+
+    @Label("Broadphase")
+    @Timespan(Timespan.NANOSECONDS)
+    public long broadphase;
+
+    @Label("Collisions")
+    @Description("All five collision passes")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisions;
+}
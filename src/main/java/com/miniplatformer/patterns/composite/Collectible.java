@@ -1,18 +1,32 @@
 package com.miniplatformer.patterns.composite;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.Entity;
 import com.miniplatformer.patterns.decorator.Character;
 import com.miniplatformer.patterns.decorator.*;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpriteAtlas;
 import com.miniplatformer.utils.GameLogger;
+import com.miniplatformer.utils.LogRateLimiter;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Collectible class - leaf component in Composite Pattern
  * Represents collectible items (coins, power-ups, etc.)
  */
 public class Collectible implements GameComponent {
+    private static final LogRateLimiter COLLECT_LOG_LIMIT = new LogRateLimiter("Collected", 4, 1, TimeUnit.SECONDS);
+    // One sprite frame per known type, plus one for the fallback shape
+    private static final String[] SPRITE_TYPES = {"coin", "speedBoost", "shield", "weapon", "doubleJump", "invincibility", ""};
+    private static final SpriteAtlas.Sprite SPRITE = SpriteAtlas.define(SPRITE_TYPES.length,
+        GameConfig.COLLECTIBLE_SIZE, GameConfig.COLLECTIBLE_SIZE, 3,
+        (gc, frame, x, y) -> paint(gc, x, y, GameConfig.COLLECTIBLE_SIZE, GameConfig.COLLECTIBLE_SIZE, SPRITE_TYPES[frame]));
+
     private double x;
     private double y;
     private double width;
@@ -21,6 +35,8 @@ public class Collectible implements GameComponent {
     private String type;
     private String color;
     private int value;
+    private Entity entity;
+    private int spriteFrame;
 
     public Collectible(double x, double y, String type) {
         this.x = x;
@@ -29,6 +45,13 @@ public class Collectible implements GameComponent {
         this.width = GameConfig.COLLECTIBLE_SIZE;
         this.height = GameConfig.COLLECTIBLE_SIZE;
         this.active = true;
+        this.entity = new Entity(x, y, width, height);
+        this.spriteFrame = SPRITE_TYPES.length - 1;
+        for (int i = 0; i < SPRITE_TYPES.length - 1; i++) {
+            if (SPRITE_TYPES[i].equals(type)) {
+                spriteFrame = i;
+            }
+        }
         
         // Set properties based on type
         switch (type) {
@@ -67,14 +90,42 @@ public class Collectible implements GameComponent {
         // Collectibles are static, no update needed
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
         
-        // Add floating animation
-        double floatOffset = Math.sin(System.currentTimeMillis() / 300.0) * 3;
-        double renderY = y + floatOffset;
-        
+        double floatOffset = floatOffset();
+        if (SPRITE.fits(width, height)) {
+            SPRITE.draw(gc, spriteFrame, x, y + floatOffset);
+        } else {
+            paint(gc, x, y + floatOffset, width, height, type);
+        }
+    }
+
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!active) return;
+        if (SPRITE.fits(width, height)) {
+            SPRITE.record(buffer, layer, spriteFrame, x, y + floatOffset(), width, height);
+        } else {
+            buffer.drawDeferred(layer, this);
+        }
+    }
+
+    // Add floating animation
+    private static double floatOffset() {
+        return Math.sin(GameManager.getInstance().getClock().getTimeMillis() / 300.0) * 3;
+    }
+
+    /**
+     * Vector drawing of a collectible, rasterized once per type into the sprite atlas
+     */
+    private static void paint(GraphicsContext gc, double x, double renderY, double width, double height, String type) {
         // Draw different shapes based on type
         switch (type) {
             case "coin":
@@ -88,6 +139,7 @@ public class Collectible implements GameComponent {
                 
                 // Dollar sign
                 gc.setFill(Color.web("#B8860B"));
+                gc.setFont(Font.font("Arial", 12));
                 gc.fillText("$", x + width/3, renderY + height*0.7);
                 
                 // Border
@@ -174,7 +226,7 @@ public class Collectible implements GameComponent {
      */
     public void collect() {
         this.active = false;
-        GameLogger.logGameplay("Collected " + type);
+        GameLogger.logGameplay(COLLECT_LOG_LIMIT, "Collected {}", type);
     }
 
     /**
@@ -220,6 +272,7 @@ public class Collectible implements GameComponent {
     @Override
     public void setX(double x) {
         this.x = x;
+        this.entity.setX(x);
     }
 
     @Override
@@ -230,6 +283,7 @@ public class Collectible implements GameComponent {
     @Override
     public void setY(double y) {
         this.y = y;
+        this.entity.setY(y);
     }
 
     @Override
@@ -261,6 +315,6 @@ public class Collectible implements GameComponent {
     }
 
     public Entity getEntity() {
-        return new Entity(x, y, width, height);
+        return entity;
     }
 }
@@ -1,5 +1,6 @@
 package com.miniplatformer.patterns.composite;
 
+import com.miniplatformer.systems.RenderCommandBuffer;
 import javafx.scene.canvas.GraphicsContext;
 
 /**
@@ -17,6 +18,13 @@ public interface GameComponent {
      */
     void render(GraphicsContext gc);
 
+    /**
+     * Record the component into a render command buffer; drawn directly at flush time by default
+     */
+    default void record(RenderCommandBuffer buffer, int layer) {
+        buffer.drawDeferred(layer, this);
+    }
+
     /**
      * Add a child component
      */
@@ -66,4 +74,28 @@ public interface GameComponent {
      * Set component active state
      */
     void setActive(boolean active);
+
+    /**
+     * Check if the component never changes when updated, so containers can skip its update
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
+    /**
+     * Check if the component always renders the same image, so containers can pre-rasterize it
+     */
+    default boolean isRenderStatic() {
+        return false;
+    }
+
+    /**
+     * Check if this component's bounding box overlaps the given box (edges touching count as a hit)
+     */
+    default boolean intersects(double otherX, double otherY, double otherWidth, double otherHeight) {
+        return getX() <= otherX + otherWidth
+            && otherX <= getX() + getWidth()
+            && getY() <= otherY + otherHeight
+            && otherY <= getY() + getHeight();
+    }
 }
@@ -1,7 +1,18 @@
 package com.miniplatformer.patterns.composite;
 
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.systems.ParallelPhases;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpatialHash;
+
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import javafx.scene.canvas.GraphicsContext;
 
 /**
@@ -9,7 +20,37 @@ import javafx.scene.canvas.GraphicsContext;
  * Contains scenes, platforms, enemies, and collectibles
  */
 public class Level implements GameComponent {
+    /**
+     * Told about every component added to or removed from the level, so indexes over it can be
+     * edited in place instead of rebuilt
+     */
+    public interface ComponentListener {
+        void componentAdded(GameComponent component);
+
+        void componentRemoved(GameComponent component);
+    }
+
     private List<GameComponent> components;
+    // Typed indexes and the components update() visits, kept in step with components on add/remove
+    private final List<Platform> platforms = new ArrayList<>();
+    private final List<Collectible> collectibles = new ArrayList<>();
+    private final List<Obstacle> obstacles = new ArrayList<>();
+    private final List<GameComponent> dynamicComponents = new ArrayList<>();
+    // Render-static components are baked into one static layer per chunk column, the rest are drawn every frame
+    private final Map<Integer, BakeGroup> bakeGroups = new TreeMap<>();
+    private final List<GameComponent> liveComponents = new ArrayList<>();
+    // Live components bucketed by their bounds when added, so a view only visits what it overlaps
+    private final SpatialHash<GameComponent> liveIndex = new SpatialHash<>(GameConfig.SPATIAL_CELL_SIZE, 256);
+    private final List<GameComponent> visibleResults = new ArrayList<>();
+    // Scratch for removeAll
+    private final Set<GameComponent> batch = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<GameComponent> removedBatch = new ArrayList<>();
+    private ComponentListener listener;
+    // Read-only views handed out to callers, created once so getters never allocate
+    private final List<GameComponent> componentsView;
+    private final List<Platform> platformsView = Collections.unmodifiableList(platforms);
+    private final List<Collectible> collectiblesView = Collections.unmodifiableList(collectibles);
+    private final List<Obstacle> obstaclesView = Collections.unmodifiableList(obstacles);
     private double x;
     private double y;
     private double width;
@@ -24,37 +65,277 @@ public class Level implements GameComponent {
         this.x = 0;
         this.y = 0;
         this.components = new ArrayList<>();
+        this.componentsView = Collections.unmodifiableList(components);
         this.active = true;
     }
 
     @Override
     public void update() {
         if (!active) return;
-        for (GameComponent component : components) {
+        // Static components have nothing to update
+        for (GameComponent component : dynamicComponents) {
             if (component.isActive()) {
                 component.update();
             }
         }
     }
 
+    /**
+     * Animate the dynamic components, in parallel batches when there are enough of them
+     */
+    public void update(ParallelPhases phases) {
+        if (!active) return;
+        phases.forEach(dynamicComponents, Level::updateIfActive);
+    }
+
+    private static void updateIfActive(GameComponent component) {
+        if (component.isActive()) {
+            component.update();
+        }
+    }
+
+    /**
+     * Render-static components whose left edge falls in one chunk column, and their baked image
+     */
+    private static final class BakeGroup {
+        final List<GameComponent> components = new ArrayList<>();
+        StaticLayer layer;
+        boolean dirty;
+        // Union of the members' bounds, never shrunk on remove
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+
+        void rebuild() {
+            if (layer != null) {
+                layer.release();
+            }
+            layer = StaticLayer.build(components);
+            dirty = false;
+        }
+
+        boolean overlaps(double viewX, double viewY, double viewWidth, double viewHeight) {
+            return minX < viewX + viewWidth && viewX < maxX && minY < viewY + viewHeight && viewY < maxY;
+        }
+    }
+
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
-        for (GameComponent component : components) {
+        for (BakeGroup group : bakeGroups.values()) {
+            if (group.dirty) {
+                group.rebuild();
+            }
+            if (group.layer != null) {
+                group.layer.render(gc);
+            }
+        }
+        for (GameComponent component : liveComponents) {
             if (component.isActive()) {
                 component.render(gc);
             }
         }
     }
 
+    /**
+     * Record the static layer into the given layer and the live components into the next one
+     */
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!active) return;
+        for (BakeGroup group : bakeGroups.values()) {
+            if (group.dirty) {
+                group.rebuild();
+            }
+            if (group.layer != null) {
+                group.layer.record(buffer, layer);
+            }
+        }
+        for (GameComponent component : liveComponents) {
+            if (component.isActive()) {
+                component.record(buffer, layer + 1);
+            }
+        }
+    }
+
+    /**
+     * Record only what overlaps the given world-space view: the static tiles it covers into the
+     * given layer and the live components inside it into the next one
+     * Dirty chunk layers in view are rebuilt straight away; off-screen ones at most one per call,
+     * so streaming in a chunk never rasterizes several at once.
+     */
+    public void record(RenderCommandBuffer buffer, int layer, double viewX, double viewY,
+                       double viewWidth, double viewHeight) {
+        if (!active) return;
+        boolean offscreenRebuilt = false;
+        for (BakeGroup group : bakeGroups.values()) {
+            boolean visible = group.overlaps(viewX, viewY, viewWidth, viewHeight);
+            if (group.dirty && (visible || !offscreenRebuilt)) {
+                offscreenRebuilt |= !visible;
+                group.rebuild();
+            }
+            if (visible && group.layer != null) {
+                group.layer.record(buffer, layer, viewX, viewY, viewWidth, viewHeight);
+            }
+        }
+        visibleResults.clear();
+        liveIndex.query(viewX, viewY, viewWidth, viewHeight, visibleResults);
+        for (GameComponent component : visibleResults) {
+            if (component.isActive()) {
+                component.record(buffer, layer + 1);
+            }
+        }
+        visibleResults.clear();
+    }
+
     @Override
     public void add(GameComponent component) {
         components.add(component);
+        if (component instanceof Platform) {
+            platforms.add((Platform) component);
+        } else if (component instanceof Collectible) {
+            collectibles.add((Collectible) component);
+        } else if (component instanceof Obstacle) {
+            obstacles.add((Obstacle) component);
+        }
+        if (!component.isStatic()) {
+            dynamicComponents.add(component);
+        }
+        if (component.isRenderStatic()) {
+            BakeGroup group = bakeGroups.computeIfAbsent(bakeColumn(component), column -> new BakeGroup());
+            group.components.add(component);
+            group.minX = Math.min(group.minX, component.getX() - StaticLayer.MARGIN);
+            group.minY = Math.min(group.minY, component.getY() - StaticLayer.MARGIN);
+            group.maxX = Math.max(group.maxX, component.getX() + component.getWidth() + StaticLayer.MARGIN);
+            group.maxY = Math.max(group.maxY, component.getY() + component.getHeight() + StaticLayer.MARGIN);
+            group.dirty = true;
+        } else {
+            liveComponents.add(component);
+            liveIndex.insert(component, component.getX(), component.getY(), component.getWidth(), component.getHeight());
+        }
+        if (listener != null) {
+            listener.componentAdded(component);
+        }
     }
 
     @Override
     public void remove(GameComponent component) {
-        components.remove(component);
+        if (components.remove(component)) {
+            platforms.remove(component);
+            collectibles.remove(component);
+            obstacles.remove(component);
+            if (!component.isStatic()) {
+                dynamicComponents.remove(component);
+            }
+            BakeGroup group = bakeGroups.get(bakeColumn(component));
+            if (group != null && group.components.remove(component)) {
+                if (group.components.isEmpty()) {
+                    if (group.layer != null) {
+                        group.layer.release();
+                    }
+                    bakeGroups.remove(bakeColumn(component));
+                } else {
+                    group.dirty = true;
+                }
+            } else {
+                liveComponents.remove(component);
+                liveIndex.remove(component, component.getX(), component.getY());
+            }
+            if (listener != null) {
+                listener.componentRemoved(component);
+            }
+        }
+    }
+
+    /**
+     * Remove many components at once, e.g. a detached chunk, in one pass over each index
+     * instead of one pass per component
+     */
+    public void removeAll(Collection<? extends GameComponent> toRemove) {
+        if (toRemove.isEmpty()) return;
+        batch.addAll(toRemove);
+        components.removeIf(component -> batch.contains(component) && removedBatch.add(component));
+        if (!removedBatch.isEmpty()) {
+            platforms.removeIf(batch::contains);
+            collectibles.removeIf(batch::contains);
+            obstacles.removeIf(batch::contains);
+            dynamicComponents.removeIf(batch::contains);
+            liveComponents.removeIf(batch::contains);
+            for (GameComponent component : removedBatch) {
+                if (component.isRenderStatic()) {
+                    BakeGroup group = bakeGroups.get(bakeColumn(component));
+                    if (group != null && group.components.removeIf(batch::contains)) {
+                        group.dirty = true;
+                    }
+                } else {
+                    liveIndex.remove(component, component.getX(), component.getY());
+                }
+            }
+            bakeGroups.values().removeIf(Level::releaseIfEmpty);
+            if (listener != null) {
+                for (GameComponent component : removedBatch) {
+                    listener.componentRemoved(component);
+                }
+            }
+        }
+        batch.clear();
+        removedBatch.clear();
+    }
+
+    /**
+     * Which components the level holds, in order, and which are still active, for replay keyframes
+     * Components themselves only ever change their active flag, so they are shared, not copied.
+     */
+    public Snapshot snapshot() {
+        GameComponent[] saved = components.toArray(new GameComponent[0]);
+        boolean[] activeFlags = new boolean[saved.length];
+        for (int i = 0; i < saved.length; i++) {
+            activeFlags[i] = saved[i].isActive();
+        }
+        return new Snapshot(saved, activeFlags);
+    }
+
+    /**
+     * Put back a saved state: the components are only swapped if they differ (drops, streamed
+     * chunks), then the flags are reset
+     */
+    public void restore(Snapshot snapshot) {
+        if (!sameComponents(snapshot.components)) {
+            removeAll(new ArrayList<>(components));
+            for (GameComponent component : snapshot.components) {
+                add(component);
+            }
+        }
+        for (int i = 0; i < snapshot.components.length; i++) {
+            snapshot.components[i].setActive(snapshot.active[i]);
+        }
+    }
+
+    private boolean sameComponents(GameComponent[] saved) {
+        if (saved.length != components.size()) return false;
+        for (int i = 0; i < saved.length; i++) {
+            if (components.get(i) != saved[i]) return false;
+        }
+        return true;
+    }
+
+    public static final class Snapshot {
+        private final GameComponent[] components;
+        private final boolean[] active;
+
+        private Snapshot(GameComponent[] components, boolean[] active) {
+            this.components = components;
+            this.active = active;
+        }
+    }
+
+    private static boolean releaseIfEmpty(BakeGroup group) {
+        if (!group.components.isEmpty()) return false;
+        if (group.layer != null) {
+            group.layer.release();
+        }
+        return true;
     }
 
     @Override
@@ -97,8 +378,43 @@ public class Level implements GameComponent {
         this.active = active;
     }
 
+    /**
+     * Read-only view of all components, in insertion order
+     */
     public List<GameComponent> getComponents() {
-        return new ArrayList<>(components);
+        return componentsView;
+    }
+
+    /**
+     * Read-only view of the platforms
+     */
+    public List<Platform> getPlatforms() {
+        return platformsView;
+    }
+
+    /**
+     * Read-only view of the collectibles, including already collected ones
+     */
+    public List<Collectible> getCollectibles() {
+        return collectiblesView;
+    }
+
+    /**
+     * Read-only view of the obstacles
+     */
+    public List<Obstacle> getObstacles() {
+        return obstaclesView;
+    }
+
+    /**
+     * Set the one listener told about adds and removes, or null for none
+     */
+    public void setComponentListener(ComponentListener listener) {
+        this.listener = listener;
+    }
+
+    private static int bakeColumn(GameComponent component) {
+        return (int) Math.floor(component.getX() / GameConfig.LEVEL_CHUNK_WIDTH);
     }
 
     public String getName() {
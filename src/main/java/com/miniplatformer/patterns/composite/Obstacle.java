@@ -1,6 +1,7 @@
 package com.miniplatformer.patterns.composite;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.Entity;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -27,17 +28,27 @@ public class Obstacle implements GameComponent {
         this.type = type;
         this.active = true;
         this.entity = new Entity(x, y, width, height);
-        this.animationTimer = System.currentTimeMillis();
+        this.animationTimer = GameManager.getInstance().getClock().getTimeMillis();
     }
 
     @Override
     public void update() {
         // Animation logic for fire
         if (type.equals("fire")) {
-            animationTimer = System.currentTimeMillis();
+            animationTimer = GameManager.getInstance().getClock().getTimeMillis();
         }
     }
 
+    @Override
+    public boolean isStatic() {
+        return !type.equals("fire");
+    }
+
+    @Override
+    public boolean isRenderStatic() {
+        return type.equals("spike");
+    }
+
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
@@ -29,6 +29,16 @@ public class Platform implements GameComponent {
         // Platforms are static, no update needed
     }
 
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
+    @Override
+    public boolean isRenderStatic() {
+        return true;
+    }
+
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
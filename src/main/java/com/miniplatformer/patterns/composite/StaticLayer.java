@@ -0,0 +1,156 @@
+package com.miniplatformer.patterns.composite;
+
+import com.miniplatformer.systems.RenderCommandBuffer;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pre-rasterized image of a level's render-static components
+ * The components are drawn once into fixed-size tiles, so a frame blits a few images instead of
+ * replaying every platform's draw calls. Tiles nothing is drawn on are skipped, which keeps big
+ * sparse levels cheap. Must be built and drawn on the JavaFX application thread.
+ */
+final class StaticLayer {
+    static final int TILE_SIZE = 512;
+    static final double MARGIN = 2; // Strokes spill slightly outside component bounds
+
+    private final double originX;
+    private final double originY;
+    private final int columns;
+    private final int rows;
+    private final WritableImage[] tiles;
+    private final int[] tileIds; // Image ids in RenderCommandBuffer, -1 for empty tiles
+
+    private StaticLayer(double originX, double originY, int columns, int rows) {
+        this.originX = originX;
+        this.originY = originY;
+        this.columns = columns;
+        this.rows = rows;
+        this.tiles = new WritableImage[columns * rows];
+        this.tileIds = new int[columns * rows];
+        Arrays.fill(tileIds, -1);
+    }
+
+    /**
+     * Rasterize the given components, or return null if there is nothing to draw
+     */
+    static StaticLayer build(List<GameComponent> components) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (GameComponent component : components) {
+            if (!component.isActive()) continue;
+            minX = Math.min(minX, component.getX() - MARGIN);
+            minY = Math.min(minY, component.getY() - MARGIN);
+            maxX = Math.max(maxX, component.getX() + component.getWidth() + MARGIN);
+            maxY = Math.max(maxY, component.getY() + component.getHeight() + MARGIN);
+        }
+        if (minX > maxX) return null;
+
+        double originX = Math.floor(minX);
+        double originY = Math.floor(minY);
+        int columns = (int) Math.ceil((maxX - originX) / TILE_SIZE);
+        int rows = (int) Math.ceil((maxY - originY) / TILE_SIZE);
+        StaticLayer layer = new StaticLayer(originX, originY, columns, rows);
+
+        Canvas scratch = new Canvas(TILE_SIZE, TILE_SIZE);
+        GraphicsContext gc = scratch.getGraphicsContext2D();
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                double tileX = originX + column * TILE_SIZE;
+                double tileY = originY + row * TILE_SIZE;
+                boolean drawn = false;
+                gc.clearRect(0, 0, TILE_SIZE, TILE_SIZE);
+                gc.save();
+                gc.translate(-tileX, -tileY);
+                for (GameComponent component : components) {
+                    if (component.isActive() && overlaps(component, tileX, tileY)) {
+                        component.render(gc);
+                        drawn = true;
+                    }
+                }
+                gc.restore();
+                if (drawn) {
+                    WritableImage tile = scratch.snapshot(parameters, null);
+                    layer.tiles[row * columns + column] = tile;
+                    layer.tileIds[row * columns + column] = RenderCommandBuffer.imageId(tile);
+                }
+            }
+        }
+        return layer;
+    }
+
+    private static boolean overlaps(GameComponent component, double tileX, double tileY) {
+        return component.getX() - MARGIN < tileX + TILE_SIZE
+            && tileX < component.getX() + component.getWidth() + MARGIN
+            && component.getY() - MARGIN < tileY + TILE_SIZE
+            && tileY < component.getY() + component.getHeight() + MARGIN;
+    }
+
+    /**
+     * Blit every non-empty tile
+     */
+    void render(GraphicsContext gc) {
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                WritableImage tile = tiles[row * columns + column];
+                if (tile != null) {
+                    gc.drawImage(tile, originX + column * TILE_SIZE, originY + row * TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record every non-empty tile into a command buffer
+     */
+    void record(RenderCommandBuffer buffer, int layer) {
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int id = tileIds[row * columns + column];
+                if (id >= 0) {
+                    buffer.drawImage(layer, id, 1.0, 0, 0, TILE_SIZE, TILE_SIZE,
+                        originX + column * TILE_SIZE, originY + row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the non-empty tiles overlapping a world-space view
+     */
+    void record(RenderCommandBuffer buffer, int layer, double viewX, double viewY, double viewWidth, double viewHeight) {
+        int firstColumn = Math.max(0, (int) Math.floor((viewX - originX) / TILE_SIZE));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((viewX + viewWidth - originX) / TILE_SIZE));
+        int firstRow = Math.max(0, (int) Math.floor((viewY - originY) / TILE_SIZE));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((viewY + viewHeight - originY) / TILE_SIZE));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int id = tileIds[row * columns + column];
+                if (id >= 0) {
+                    buffer.drawImage(layer, id, 1.0, 0, 0, TILE_SIZE, TILE_SIZE,
+                        originX + column * TILE_SIZE, originY + row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the tiles from the command buffer's image table once the layer is replaced
+     */
+    void release() {
+        for (int id : tileIds) {
+            if (id >= 0) {
+                RenderCommandBuffer.releaseImage(id);
+            }
+        }
+    }
+}
@@ -41,4 +41,9 @@ public class BaseCharacter implements Character {
     public String getName() {
         return NAME;
     }
+
+    @Override
+    public Character copy() {
+        return new BaseCharacter();
+    }
 }
@@ -39,4 +39,9 @@ public interface Character {
      * Get the name of this character (for logging)
      */
     String getName();
+
+    /**
+     * Independent copy of this character and its power-ups in their current state, for replay keyframes
+     */
+    Character copy();
 }
@@ -9,11 +9,20 @@ public class DoubleJumpDecorator extends PowerUpDecorator {
         super(character);
     }
 
+    private DoubleJumpDecorator(DoubleJumpDecorator other) {
+        super(other);
+    }
+
     @Override
     public boolean canDoubleJump() {
         return true;
     }
 
+    @Override
+    public Character copy() {
+        return new DoubleJumpDecorator(this);
+    }
+
     @Override
     public String getName() {
         return "DoubleJump(" + decoratedCharacter.getName() + ")";
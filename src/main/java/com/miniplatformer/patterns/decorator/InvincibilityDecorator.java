@@ -1,5 +1,7 @@
 package com.miniplatformer.patterns.decorator;
 
+import com.miniplatformer.core.GameManager;
+
 /**
  * Invincibility Decorator - temporary invincibility (star power)
  * Part of the Decorator Pattern
@@ -10,19 +12,30 @@ public class InvincibilityDecorator extends PowerUpDecorator {
 
     public InvincibilityDecorator(Character character, long duration) {
         super(character);
-        this.startTime = System.currentTimeMillis();
+        this.startTime = GameManager.getInstance().getClock().getTimeMillis();
         this.duration = duration;
     }
 
+    private InvincibilityDecorator(InvincibilityDecorator other) {
+        super(other);
+        this.startTime = other.startTime;
+        this.duration = other.duration;
+    }
+
     @Override
     public boolean isInvincible() {
-        if (System.currentTimeMillis() - startTime < duration) {
+        if (GameManager.getInstance().getClock().getTimeMillis() - startTime < duration) {
             return true;
         }
         // Duration expired, check nested decorators
         return decoratedCharacter.isInvincible();
     }
 
+    @Override
+    public Character copy() {
+        return new InvincibilityDecorator(this);
+    }
+
     @Override
     public String getName() {
         return "Invincibility(" + decoratedCharacter.getName() + ")";
@@ -14,6 +14,13 @@ public abstract class PowerUpDecorator implements Character {
         GameLogger.logDecorator(getClass().getSimpleName(), character.getName());
     }
 
+    /**
+     * Copy constructor: wraps a copy of the other decorator's chain, without logging a new power-up
+     */
+    protected PowerUpDecorator(PowerUpDecorator other) {
+        this.decoratedCharacter = other.decoratedCharacter.copy();
+    }
+
     @Override
     public double getSpeed() {
         return decoratedCharacter.getSpeed();
@@ -11,6 +11,11 @@ public class ShieldDecorator extends PowerUpDecorator {
         super(character);
     }
 
+    private ShieldDecorator(ShieldDecorator other) {
+        super(other);
+        this.shieldActive = other.shieldActive;
+    }
+
     @Override
     public boolean hasShield() {
         return shieldActive || decoratedCharacter.hasShield();
@@ -26,6 +31,11 @@ public class ShieldDecorator extends PowerUpDecorator {
         }
     }
 
+    @Override
+    public Character copy() {
+        return new ShieldDecorator(this);
+    }
+
     @Override
     public String getName() {
         return "Shield(" + decoratedCharacter.getName() + ")";
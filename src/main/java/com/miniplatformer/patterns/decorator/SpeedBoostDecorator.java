@@ -11,11 +11,20 @@ public class SpeedBoostDecorator extends PowerUpDecorator {
         super(character);
     }
 
+    private SpeedBoostDecorator(SpeedBoostDecorator other) {
+        super(other);
+    }
+
     @Override
     public double getSpeed() {
         return decoratedCharacter.getSpeed() * SPEED_MULTIPLIER;
     }
 
+    @Override
+    public Character copy() {
+        return new SpeedBoostDecorator(this);
+    }
+
     @Override
     public String getName() {
         return "SpeedBoost(" + decoratedCharacter.getName() + ")";
@@ -9,11 +9,20 @@ public class WeaponDecorator extends PowerUpDecorator {
         super(character);
     }
 
+    private WeaponDecorator(WeaponDecorator other) {
+        super(other);
+    }
+
     @Override
     public boolean hasWeapon() {
         return true;
     }
 
+    @Override
+    public Character copy() {
+        return new WeaponDecorator(this);
+    }
+
     @Override
     public String getName() {
         return "Weapon(" + decoratedCharacter.getName() + ")";
@@ -1,5 +1,6 @@
 package com.miniplatformer.patterns.factory;
 
+import com.miniplatformer.systems.RenderCommandBuffer;
 import javafx.scene.canvas.GraphicsContext;
 
 /**
@@ -17,6 +18,13 @@ public interface Enemy {
      */
     void render(GraphicsContext gc);
 
+    /**
+     * Record the enemy into a render command buffer; drawn directly at flush time by default
+     */
+    default void record(RenderCommandBuffer buffer, int layer) {
+        buffer.drawDeferred(layer, this);
+    }
+
     /**
      * Get enemy type
      */
@@ -32,6 +40,21 @@ public interface Enemy {
      */
     double getY();
 
+    /**
+     * Get X position at the previous simulation tick
+     */
+    double getPreviousX();
+
+    /**
+     * Get Y position at the previous simulation tick
+     */
+    double getPreviousY();
+
+    /**
+     * Store the current position as the previous tick's position
+     */
+    void savePreviousPosition();
+
     /**
      * Get width
      */
@@ -71,4 +94,14 @@ public interface Enemy {
      * Get Y velocity
      */
     double getVelocityY();
+
+    /**
+     * Copy of the state that changes as the enemy plays, for replay keyframes
+     */
+    Object snapshot();
+
+    /**
+     * Put back state returned by snapshot(); the copy is left untouched, so it can be restored again
+     */
+    void restore(Object snapshot);
 }
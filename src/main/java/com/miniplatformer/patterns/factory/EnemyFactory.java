@@ -25,7 +25,7 @@ public class EnemyFactory {
             case "shooter":
                 return new Shooter(x, y);
             default:
-                GameLogger.warn("Unknown enemy type: " + type + ", creating Goomba instead");
+                GameLogger.warn("Unknown enemy type: {}, creating Goomba instead", type);
                 return new Goomba(x, y);
         }
     }
@@ -0,0 +1,366 @@
+package com.miniplatformer.patterns.factory;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.systems.ParallelPhases;
+import com.miniplatformer.utils.GameLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structure-of-arrays enemy storage
+ * Opt-in alternative to one object per enemy: every enemy's state lives in parallel primitive
+ * arrays, so the AI and movement passes are tight loops over contiguous memory. Each enemy is
+ * still reachable as an Enemy through a thin view, so collisions and rendering work unchanged.
+ * Behaviour matches Goomba, Koopa, FlyingEnemy and Shooter exactly.
+ */
+public class EnemyStore {
+    static final byte GOOMBA = 0;
+    static final byte KOOPA = 1;
+    static final byte FLYING = 2;
+    static final byte SHOOTER = 3;
+
+    private static final byte ACTIVE = 1;
+    private static final byte MOVING_RIGHT = 2;
+    private static final byte IN_SHELL = 4;
+
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private double[] velocityX;
+    private double[] velocityY;
+    private double[] width;
+    private double[] height;
+    private double[] speed;
+    private long[] lastShootTime;
+    private byte[] type;
+    private byte[] state;
+    private int size;
+
+    private final List<Enemy> views;
+    private final List<Enemy> viewsView;
+
+    public EnemyStore() {
+        this(64);
+    }
+
+    public EnemyStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.previousX = new double[capacity];
+        this.previousY = new double[capacity];
+        this.velocityX = new double[capacity];
+        this.velocityY = new double[capacity];
+        this.width = new double[capacity];
+        this.height = new double[capacity];
+        this.speed = new double[capacity];
+        this.lastShootTime = new long[capacity];
+        this.type = new byte[capacity];
+        this.state = new byte[capacity];
+        this.size = 0;
+        this.views = new ArrayList<>(capacity);
+        this.viewsView = Collections.unmodifiableList(views);
+    }
+
+    /**
+     * Add an enemy of the specified type (same names as EnemyFactory)
+     * @return the view through which the enemy is seen as an Enemy
+     */
+    public Enemy add(String typeName, double x, double y) {
+        if (size == this.x.length) {
+            grow(size * 2);
+        }
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        previousX[i] = x;
+        previousY[i] = y;
+        velocityX[i] = 0;
+        velocityY[i] = 0;
+        width[i] = GameConfig.ENEMY_WIDTH;
+        height[i] = GameConfig.ENEMY_HEIGHT;
+        lastShootTime[i] = 0;
+        state[i] = ACTIVE | MOVING_RIGHT;
+
+        switch (typeName.toLowerCase()) {
+            case "koopa":
+                type[i] = KOOPA;
+                speed[i] = GameConfig.ENEMY_SPEED * 0.8;
+                break;
+            case "flying":
+                type[i] = FLYING;
+                speed[i] = GameConfig.ENEMY_SPEED * 1.2;
+                break;
+            case "shooter":
+                type[i] = SHOOTER;
+                speed[i] = 1.0;
+                state[i] = ACTIVE; // Shooters start walking left
+                lastShootTime[i] = GameManager.getInstance().getClock().getTimeMillis();
+                break;
+            default:
+                if (!typeName.equalsIgnoreCase("goomba")) {
+                    GameLogger.warn("Unknown enemy type: {}, creating Goomba instead", typeName);
+                }
+                type[i] = GOOMBA;
+                speed[i] = GameConfig.ENEMY_SPEED;
+                break;
+        }
+
+        Enemy view = new EnemyView(this, i);
+        views.add(view);
+        return view;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        lastShootTime = Arrays.copyOf(lastShootTime, capacity);
+        type = Arrays.copyOf(type, capacity);
+        state = Arrays.copyOf(state, capacity);
+    }
+
+    /**
+     * Update every enemy, one pass per stage: steer, move, turn at boundaries, shoot
+     */
+    public void update() {
+        long now = GameManager.getInstance().getClock().getTimeMillis();
+        update(0, size, now, flyingVelocityY(now), GameManager.getInstance().getWorldWidth());
+    }
+
+    /**
+     * Update every enemy, splitting the passes into parallel batches when there are enough enemies
+     * Each enemy only depends on its own slots, so any split gives the same result as update().
+     */
+    public void update(ParallelPhases phases) {
+        long now = GameManager.getInstance().getClock().getTimeMillis();
+        double flyingVelocityY = flyingVelocityY(now);
+        double worldWidth = GameManager.getInstance().getWorldWidth();
+        phases.run(size, (from, to) -> update(from, to, now, flyingVelocityY, worldWidth));
+    }
+
+    private void update(int from, int to, long now, double flyingVelocityY, double worldWidth) {
+        for (int i = from; i < to; i++) {
+            steer(i, flyingVelocityY);
+        }
+        for (int i = from; i < to; i++) {
+            if ((state[i] & ACTIVE) != 0) {
+                x[i] += velocityX[i];
+                y[i] += velocityY[i];
+            }
+        }
+        for (int i = from; i < to; i++) {
+            turn(i, worldWidth);
+        }
+        for (int i = from; i < to; i++) {
+            if (type[i] == SHOOTER) {
+                shoot(i, now);
+            }
+        }
+    }
+
+    /**
+     * Update a single enemy, for callers going through the Enemy view
+     */
+    void update(int i) {
+        if ((state[i] & ACTIVE) == 0) return;
+        long now = GameManager.getInstance().getClock().getTimeMillis();
+        steer(i, flyingVelocityY(now));
+        x[i] += velocityX[i];
+        y[i] += velocityY[i];
+        turn(i, GameManager.getInstance().getWorldWidth());
+        if (type[i] == SHOOTER) {
+            shoot(i, now);
+        }
+    }
+
+    /**
+     * Store every enemy's current position as the previous tick's position
+     */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    private static double flyingVelocityY(long now) {
+        // Same vertical oscillation as FlyingEnemy
+        return Math.sin(now / 500.0) * 20 * 0.1;
+    }
+
+    private void steer(int i, double flyingVelocityY) {
+        byte s = state[i];
+        if ((s & ACTIVE) == 0) return;
+        double direction = (s & MOVING_RIGHT) != 0 ? 1 : -1;
+        if (type[i] == KOOPA && (s & IN_SHELL) != 0) {
+            direction *= 2; // Shells slide faster
+        }
+        velocityX[i] = direction * speed[i];
+        if (type[i] == FLYING) {
+            velocityY[i] = flyingVelocityY;
+        }
+    }
+
+    private void turn(int i, double worldWidth) {
+        byte s = state[i];
+        if ((s & ACTIVE) == 0) return;
+        if (type[i] == SHOOTER) {
+            if (x[i] < 50 || x[i] > worldWidth - 100) {
+                state[i] = (byte) (s ^ MOVING_RIGHT);
+            }
+        } else if (x[i] < 0) {
+            state[i] = (byte) (s | MOVING_RIGHT);
+        } else if (x[i] > worldWidth - width[i]) {
+            state[i] = (byte) (s & ~MOVING_RIGHT);
+        }
+    }
+
+    private void shoot(int i, long now) {
+        if ((state[i] & ACTIVE) == 0) return;
+        if (now - lastShootTime[i] > GameConfig.SHOOT_COOLDOWN) {
+            Shooter.fire(x[i], y[i], width[i], height[i]);
+            lastShootTime[i] = now;
+        }
+    }
+
+    /**
+     * Read-only list of the enemy views, in insertion order
+     */
+    public List<Enemy> getViews() {
+        return viewsView;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Bytes held by the component arrays, at their current capacity
+     */
+    public long getFootprintBytes() {
+        // Nine double columns, the shoot timestamps and the two byte columns
+        return (long) x.length * (9 * 8 + 8 + 2);
+    }
+
+    // Per-index access for EnemyView
+
+    String getTypeName(int i) {
+        switch (type[i]) {
+            case KOOPA:
+                return "Koopa";
+            case FLYING:
+                return "FlyingEnemy";
+            case SHOOTER:
+                return "Shooter";
+            default:
+                return "Goomba";
+        }
+    }
+
+    byte getType(int i) {
+        return type[i];
+    }
+
+    boolean isActive(int i) {
+        return (state[i] & ACTIVE) != 0;
+    }
+
+    void setActive(int i, boolean active) {
+        state[i] = (byte) (active ? state[i] | ACTIVE : state[i] & ~ACTIVE);
+    }
+
+    boolean isMovingRight(int i) {
+        return (state[i] & MOVING_RIGHT) != 0;
+    }
+
+    boolean isInShell(int i) {
+        return (state[i] & IN_SHELL) != 0;
+    }
+
+    double getX(int i) {
+        return x[i];
+    }
+
+    double getY(int i) {
+        return y[i];
+    }
+
+    double getPreviousX(int i) {
+        return previousX[i];
+    }
+
+    double getPreviousY(int i) {
+        return previousY[i];
+    }
+
+    void savePreviousPosition(int i) {
+        previousX[i] = x[i];
+        previousY[i] = y[i];
+    }
+
+    double getWidth(int i) {
+        return width[i];
+    }
+
+    double getHeight(int i) {
+        return height[i];
+    }
+
+    double getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    void setVelocityX(int i, double velocity) {
+        velocityX[i] = velocity;
+    }
+
+    double getVelocityY(int i) {
+        return velocityY[i];
+    }
+
+    void setVelocityY(int i, double velocity) {
+        velocityY[i] = velocity;
+    }
+
+    Object snapshot(int i) {
+        return new Slot(new double[] {x[i], y[i], previousX[i], previousY[i], velocityX[i], velocityY[i]},
+            lastShootTime[i], state[i]);
+    }
+
+    void restore(int i, Object saved) {
+        Slot slot = (Slot) saved;
+        x[i] = slot.motion[0];
+        y[i] = slot.motion[1];
+        previousX[i] = slot.motion[2];
+        previousY[i] = slot.motion[3];
+        velocityX[i] = slot.motion[4];
+        velocityY[i] = slot.motion[5];
+        lastShootTime[i] = slot.lastShootTime;
+        state[i] = slot.state;
+    }
+
+    /**
+     * Columns of one enemy that change during play; type, size and speed are fixed at add()
+     */
+    private static final class Slot {
+        final double[] motion; // x, y, previous x, previous y, velocity x, velocity y
+        final long lastShootTime;
+        final byte state;
+
+        Slot(double[] motion, long lastShootTime, byte state) {
+            this.motion = motion;
+            this.lastShootTime = lastShootTime;
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.miniplatformer.patterns.factory;
+
+import com.miniplatformer.systems.RenderCommandBuffer;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Thin Enemy view onto one slot of an EnemyStore
+ * Holds no state of its own; every call reads or writes the store's arrays.
+ */
+final class EnemyView implements Enemy {
+    private final EnemyStore store;
+    private final int index;
+
+    EnemyView(EnemyStore store, int index) {
+        this.store = store;
+        this.index = index;
+    }
+
+    @Override
+    public void update() {
+        store.update(index);
+    }
+
+    @Override
+    public void render(GraphicsContext gc) {
+        if (!store.isActive(index)) return;
+
+        double x = store.getX(index);
+        double y = store.getY(index);
+        double w = store.getWidth(index);
+        double h = store.getHeight(index);
+        switch (store.getType(index)) {
+            case EnemyStore.KOOPA:
+                Koopa.draw(gc, x, y, w, h, store.isMovingRight(index), store.isInShell(index));
+                break;
+            case EnemyStore.FLYING:
+                FlyingEnemy.draw(gc, x, y, w, h, store.isMovingRight(index));
+                break;
+            case EnemyStore.SHOOTER:
+                Shooter.draw(gc, x, y, w, h);
+                break;
+            default:
+                Goomba.draw(gc, x, y, w, h, store.isMovingRight(index));
+                break;
+        }
+    }
+
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!store.isActive(index)) return;
+
+        double x = store.getX(index);
+        double y = store.getY(index);
+        double w = store.getWidth(index);
+        double h = store.getHeight(index);
+        boolean recorded;
+        switch (store.getType(index)) {
+            case EnemyStore.KOOPA:
+                recorded = Koopa.record(buffer, layer, x, y, w, h, store.isMovingRight(index), store.isInShell(index));
+                break;
+            case EnemyStore.FLYING:
+                recorded = FlyingEnemy.record(buffer, layer, x, y, w, h, store.isMovingRight(index));
+                break;
+            case EnemyStore.SHOOTER:
+                recorded = Shooter.record(buffer, layer, x, y, w, h);
+                break;
+            default:
+                recorded = Goomba.record(buffer, layer, x, y, w, h, store.isMovingRight(index));
+                break;
+        }
+        if (!recorded) {
+            buffer.drawDeferred(layer, this);
+        }
+    }
+
+    @Override
+    public String getType() { return store.getTypeName(index); }
+
+    @Override
+    public boolean isActive() { return store.isActive(index); }
+
+    @Override
+    public void setActive(boolean active) { store.setActive(index, active); }
+
+    @Override
+    public double getX() { return store.getX(index); }
+
+    @Override
+    public double getY() { return store.getY(index); }
+
+    @Override
+    public double getPreviousX() { return store.getPreviousX(index); }
+
+    @Override
+    public double getPreviousY() { return store.getPreviousY(index); }
+
+    @Override
+    public void savePreviousPosition() { store.savePreviousPosition(index); }
+
+    @Override
+    public double getWidth() { return store.getWidth(index); }
+
+    @Override
+    public double getHeight() { return store.getHeight(index); }
+
+    @Override
+    public void setVelocityX(double velocityX) { store.setVelocityX(index, velocityX); }
+
+    @Override
+    public void setVelocityY(double velocityY) { store.setVelocityY(index, velocityY); }
+
+    @Override
+    public double getVelocityX() { return store.getVelocityX(index); }
+
+    @Override
+    public double getVelocityY() { return store.getVelocityY(index); }
+
+    @Override
+    public Object snapshot() { return store.snapshot(index); }
+
+    @Override
+    public void restore(Object snapshot) { store.restore(index, snapshot); }
+}
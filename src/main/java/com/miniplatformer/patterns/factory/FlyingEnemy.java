@@ -1,7 +1,11 @@
 package com.miniplatformer.patterns.factory;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.EnemyEntity;
+import com.miniplatformer.entities.Position;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpriteAtlas;
 import com.miniplatformer.utils.GameLogger;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -11,6 +15,13 @@ import javafx.scene.paint.Color;
  * Part of Factory Pattern
  */
 public class FlyingEnemy implements Enemy {
+    private static final int WING_FRAMES = 16;
+    // Frames: wing phase, facing left then right
+    private static final SpriteAtlas.Sprite SPRITE = SpriteAtlas.define(WING_FRAMES * 2,
+        GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, 14,
+        (gc, frame, x, y) -> paint(gc, x, y, GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, frame >= WING_FRAMES,
+            Math.sin(SpriteAtlas.framePhase(frame % WING_FRAMES, WING_FRAMES)) * 5));
+
     private EnemyEntity entity;
     private double speed;
     private boolean movingRight;
@@ -21,7 +32,7 @@ public class FlyingEnemy implements Enemy {
         this.speed = GameConfig.ENEMY_SPEED * 1.2;
         this.movingRight = true;
         this.baseY = y;
-        GameLogger.info("FlyingEnemy created at (" + x + ", " + y + ")");
+        GameLogger.info("FlyingEnemy created at ({}, {})", x, y);
     }
 
     @Override
@@ -36,7 +47,7 @@ public class FlyingEnemy implements Enemy {
         }
 
         // Add slight vertical oscillation
-        double oscillation = Math.sin(System.currentTimeMillis() / 500.0) * 20;
+        double oscillation = Math.sin(GameManager.getInstance().getClock().getTimeMillis() / 500.0) * 20;
         entity.getPosition().setVelocityY(oscillation * 0.1);
 
         entity.getPosition().updatePosition();
@@ -44,7 +55,7 @@ public class FlyingEnemy implements Enemy {
         // Reverse direction at boundaries
         if (entity.getX() < 0) {
             movingRight = true;
-        } else if (entity.getX() > GameConfig.WINDOW_WIDTH - GameConfig.ENEMY_WIDTH) {
+        } else if (entity.getX() > GameManager.getInstance().getWorldWidth() - GameConfig.ENEMY_WIDTH) {
             movingRight = false;
         }
     }
@@ -52,14 +63,52 @@ public class FlyingEnemy implements Enemy {
     @Override
     public void render(GraphicsContext gc) {
         if (!entity.isActive()) return;
+        draw(gc, entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight(), movingRight);
+    }
+
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!entity.isActive()) return;
+        if (!record(buffer, layer, entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight(), movingRight)) {
+            buffer.drawDeferred(layer, this);
+        }
+    }
+
+    /**
+     * Record a flying enemy's sprite frame, or return false if it has no sprite at this size
+     */
+    static boolean record(RenderCommandBuffer buffer, int layer, double x, double y, double w, double h,
+                          boolean movingRight) {
+        if (!SPRITE.fits(w, h)) return false;
+        SPRITE.record(buffer, layer, frame(wingPhase(), movingRight), x, y, w, h);
+        return true;
+    }
 
-        double x = entity.getX();
-        double y = entity.getY();
-        double w = entity.getWidth();
-        double h = entity.getHeight();
+    // Animate wings based on time
+    private static double wingPhase() {
+        return GameManager.getInstance().getClock().getTimeMillis() / 100.0;
+    }
 
-        // Animate wings based on time
-        double wingOffset = Math.sin(System.currentTimeMillis() / 100.0) * 5;
+    private static int frame(double wingPhase, boolean movingRight) {
+        return SpriteAtlas.phaseFrame(wingPhase, WING_FRAMES) + (movingRight ? WING_FRAMES : 0);
+    }
+
+    /**
+     * Draw a flying enemy, shared with the structure-of-arrays EnemyStore
+     */
+    static void draw(GraphicsContext gc, double x, double y, double w, double h, boolean movingRight) {
+        double wingPhase = wingPhase();
+        if (SPRITE.fits(w, h)) {
+            SPRITE.draw(gc, frame(wingPhase, movingRight), x, y);
+        } else {
+            paint(gc, x, y, w, h, movingRight, Math.sin(wingPhase) * 5);
+        }
+    }
+
+    /**
+     * Vector drawing of a flying enemy, rasterized once into the sprite atlas
+     */
+    private static void paint(GraphicsContext gc, double x, double y, double w, double h, boolean movingRight, double wingOffset) {
 
         // Draw left wing
         gc.setFill(Color.web("#87CEEB"));
@@ -132,6 +181,21 @@ public class FlyingEnemy implements Enemy {
         return entity.getY();
     }
 
+    @Override
+    public double getPreviousX() {
+        return entity.getPreviousX();
+    }
+
+    @Override
+    public double getPreviousY() {
+        return entity.getPreviousY();
+    }
+
+    @Override
+    public void savePreviousPosition() {
+        entity.savePreviousPosition();
+    }
+
     @Override
     public double getWidth() {
         return entity.getWidth();
@@ -161,4 +225,29 @@ public class FlyingEnemy implements Enemy {
     public double getVelocityY() {
         return entity.getVelocityY();
     }
+
+    @Override
+    public Object snapshot() {
+        return new Snapshot(entity.getPosition().clone(), entity.isActive(), movingRight);
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        Snapshot saved = (Snapshot) snapshot;
+        entity.setPosition(saved.position.clone());
+        entity.setActive(saved.active);
+        movingRight = saved.movingRight;
+    }
+
+    private static final class Snapshot {
+        final Position position;
+        final boolean active;
+        final boolean movingRight;
+
+        Snapshot(Position position, boolean active, boolean movingRight) {
+            this.position = position;
+            this.active = active;
+            this.movingRight = movingRight;
+        }
+    }
 }
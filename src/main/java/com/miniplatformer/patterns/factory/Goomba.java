@@ -1,7 +1,10 @@
 package com.miniplatformer.patterns.factory;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.Position;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpriteAtlas;
 import com.miniplatformer.utils.GameLogger;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -11,6 +14,10 @@ import javafx.scene.paint.Color;
  * Part of Factory Pattern
  */
 public class Goomba implements Enemy {
+    private static final SpriteAtlas.Sprite SPRITE = SpriteAtlas.define(2,
+        GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, 2,
+        (gc, frame, x, y) -> paint(gc, x, y, GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, frame == 1));
+
     private Position position;
     private double width;
     private double height;
@@ -25,7 +32,7 @@ public class Goomba implements Enemy {
         this.active = true;
         this.speed = GameConfig.ENEMY_SPEED;
         this.movingRight = true;
-        GameLogger.info("Goomba enemy created at (" + x + ", " + y + ")");
+        GameLogger.info("Goomba enemy created at ({}, {})", x, y);
     }
 
     @Override
@@ -44,7 +51,7 @@ public class Goomba implements Enemy {
         // Simple AI: reverse direction at boundaries
         if (position.getX() < 0) {
             movingRight = true;
-        } else if (position.getX() > GameConfig.WINDOW_WIDTH - width) {
+        } else if (position.getX() > GameManager.getInstance().getWorldWidth() - width) {
             movingRight = false;
         }
     }
@@ -52,10 +59,46 @@ public class Goomba implements Enemy {
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
+        draw(gc, position.getX(), position.getY(), width, height, movingRight);
+    }
 
-        double x = position.getX();
-        double y = position.getY();
-        
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!active) return;
+        if (!record(buffer, layer, position.getX(), position.getY(), width, height, movingRight)) {
+            buffer.drawDeferred(layer, this);
+        }
+    }
+
+    /**
+     * Record a goomba's sprite frame, or return false if it has no sprite at this size
+     */
+    static boolean record(RenderCommandBuffer buffer, int layer, double x, double y, double width, double height,
+                          boolean movingRight) {
+        if (!SPRITE.fits(width, height)) return false;
+        SPRITE.record(buffer, layer, frame(movingRight), x, y, width, height);
+        return true;
+    }
+
+    private static int frame(boolean movingRight) {
+        return movingRight ? 1 : 0;
+    }
+
+    /**
+     * Draw a goomba, shared with the structure-of-arrays EnemyStore
+     */
+    static void draw(GraphicsContext gc, double x, double y, double width, double height, boolean movingRight) {
+        if (SPRITE.fits(width, height)) {
+            SPRITE.draw(gc, frame(movingRight), x, y);
+        } else {
+            paint(gc, x, y, width, height, movingRight);
+        }
+    }
+
+    /**
+     * Vector drawing of a goomba, rasterized once into the sprite atlas
+     */
+    private static void paint(GraphicsContext gc, double x, double y, double width, double height, boolean movingRight) {
         // Draw mushroom cap (brown dome)
         gc.setFill(Color.web("#8B4513"));
         gc.fillOval(x, y, width, height - 8);
@@ -125,6 +168,21 @@ public class Goomba implements Enemy {
         return position.getY();
     }
 
+    @Override
+    public double getPreviousX() {
+        return position.getPreviousX();
+    }
+
+    @Override
+    public double getPreviousY() {
+        return position.getPreviousY();
+    }
+
+    @Override
+    public void savePreviousPosition() {
+        position.savePrevious();
+    }
+
     @Override
     public double getWidth() {
         return width;
@@ -154,4 +212,29 @@ public class Goomba implements Enemy {
     public double getVelocityY() {
         return position.getVelocityY();
     }
+
+    @Override
+    public Object snapshot() {
+        return new Snapshot(position.clone(), active, movingRight);
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        Snapshot saved = (Snapshot) snapshot;
+        position = saved.position.clone();
+        active = saved.active;
+        movingRight = saved.movingRight;
+    }
+
+    private static final class Snapshot {
+        final Position position;
+        final boolean active;
+        final boolean movingRight;
+
+        Snapshot(Position position, boolean active, boolean movingRight) {
+            this.position = position;
+            this.active = active;
+            this.movingRight = movingRight;
+        }
+    }
 }
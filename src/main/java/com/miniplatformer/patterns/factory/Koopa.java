@@ -1,7 +1,11 @@
 package com.miniplatformer.patterns.factory;
 
 import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.EnemyEntity;
+import com.miniplatformer.entities.Position;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpriteAtlas;
 import com.miniplatformer.utils.GameLogger;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -11,6 +15,11 @@ import javafx.scene.paint.Color;
  * Part of Factory Pattern
  */
 public class Koopa implements Enemy {
+    // Frames: walking left, walking right, shell
+    private static final SpriteAtlas.Sprite SPRITE = SpriteAtlas.define(3,
+        GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, 2,
+        (gc, frame, x, y) -> paint(gc, x, y, GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, frame == 1, frame == 2));
+
     private EnemyEntity entity;
     private double speed;
     private boolean movingRight;
@@ -21,7 +30,7 @@ public class Koopa implements Enemy {
         this.speed = GameConfig.ENEMY_SPEED * 0.8;
         this.movingRight = true;
         this.inShell = false;
-        GameLogger.info("Koopa enemy created at (" + x + ", " + y + ")");
+        GameLogger.info("Koopa enemy created at ({}, {})", x, y);
     }
 
     @Override
@@ -45,7 +54,7 @@ public class Koopa implements Enemy {
         // Reverse direction at boundaries
         if (entity.getX() < 0) {
             movingRight = true;
-        } else if (entity.getX() > GameConfig.WINDOW_WIDTH - GameConfig.ENEMY_WIDTH) {
+        } else if (entity.getX() > GameManager.getInstance().getWorldWidth() - GameConfig.ENEMY_WIDTH) {
             movingRight = false;
         }
     }
@@ -53,12 +62,46 @@ public class Koopa implements Enemy {
     @Override
     public void render(GraphicsContext gc) {
         if (!entity.isActive()) return;
+        draw(gc, entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight(), movingRight, inShell);
+    }
 
-        double x = entity.getX();
-        double y = entity.getY();
-        double w = entity.getWidth();
-        double h = entity.getHeight();
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!entity.isActive()) return;
+        if (!record(buffer, layer, entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight(), movingRight, inShell)) {
+            buffer.drawDeferred(layer, this);
+        }
+    }
+
+    /**
+     * Record a koopa's sprite frame, or return false if it has no sprite at this size
+     */
+    static boolean record(RenderCommandBuffer buffer, int layer, double x, double y, double w, double h,
+                          boolean movingRight, boolean inShell) {
+        if (!SPRITE.fits(w, h)) return false;
+        SPRITE.record(buffer, layer, frame(movingRight, inShell), x, y, w, h);
+        return true;
+    }
 
+    private static int frame(boolean movingRight, boolean inShell) {
+        return inShell ? 2 : (movingRight ? 1 : 0);
+    }
+
+    /**
+     * Draw a koopa, shared with the structure-of-arrays EnemyStore
+     */
+    static void draw(GraphicsContext gc, double x, double y, double w, double h, boolean movingRight, boolean inShell) {
+        if (SPRITE.fits(w, h)) {
+            SPRITE.draw(gc, frame(movingRight, inShell), x, y);
+        } else {
+            paint(gc, x, y, w, h, movingRight, inShell);
+        }
+    }
+
+    /**
+     * Vector drawing of a koopa, rasterized once into the sprite atlas
+     */
+    private static void paint(GraphicsContext gc, double x, double y, double w, double h, boolean movingRight, boolean inShell) {
         if (inShell) {
             // Draw shell mode
             gc.setFill(Color.web("#228B22")); // Green shell
@@ -139,6 +182,21 @@ public class Koopa implements Enemy {
         return entity.getY();
     }
 
+    @Override
+    public double getPreviousX() {
+        return entity.getPreviousX();
+    }
+
+    @Override
+    public double getPreviousY() {
+        return entity.getPreviousY();
+    }
+
+    @Override
+    public void savePreviousPosition() {
+        entity.savePreviousPosition();
+    }
+
     @Override
     public double getWidth() {
         return entity.getWidth();
@@ -177,4 +235,32 @@ public class Koopa implements Enemy {
     public boolean isInShell() {
         return inShell;
     }
+
+    @Override
+    public Object snapshot() {
+        return new Snapshot(entity.getPosition().clone(), entity.isActive(), movingRight, inShell);
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        Snapshot saved = (Snapshot) snapshot;
+        entity.setPosition(saved.position.clone());
+        entity.setActive(saved.active);
+        movingRight = saved.movingRight;
+        inShell = saved.inShell;
+    }
+
+    private static final class Snapshot {
+        final Position position;
+        final boolean active;
+        final boolean movingRight;
+        final boolean inShell;
+
+        Snapshot(Position position, boolean active, boolean movingRight, boolean inShell) {
+            this.position = position;
+            this.active = active;
+            this.movingRight = movingRight;
+            this.inShell = inShell;
+        }
+    }
 }
@@ -3,15 +3,26 @@ package com.miniplatformer.patterns.factory;
 import com.miniplatformer.config.GameConfig;
 import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.Position;
-import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.utils.EventJournal;
+import com.miniplatformer.systems.PhaseCommandBuffer;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.systems.SpriteAtlas;
 import com.miniplatformer.utils.GameLogger;
+import com.miniplatformer.utils.LogRateLimiter;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Shooter enemy - stands still or moves slowly and fires projectiles
  */
 public class Shooter implements Enemy {
+    private static final SpriteAtlas.Sprite SPRITE = SpriteAtlas.define(2,
+        GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, 12,
+        (gc, frame, x, y) -> paint(gc, x, y, GameConfig.ENEMY_WIDTH, GameConfig.ENEMY_HEIGHT, frame == 1));
+    private static final LogRateLimiter FIRE_LOG_LIMIT = new LogRateLimiter("Shooter fired", 2, 1, TimeUnit.SECONDS);
+
     private Position position;
     private double width;
     private double height;
@@ -25,10 +36,10 @@ public class Shooter implements Enemy {
         this.width = GameConfig.ENEMY_WIDTH;
         this.height = GameConfig.ENEMY_HEIGHT;
         this.active = true;
-        this.lastShootTime = System.currentTimeMillis();
+        this.lastShootTime = GameManager.getInstance().getClock().getTimeMillis();
         this.movingRight = false;
         this.speed = 1.0;
-        GameLogger.info("Shooter enemy created at (" + x + ", " + y + ")");
+        GameLogger.info("Shooter enemy created at ({}, {})", x, y);
     }
 
     @Override
@@ -43,12 +54,12 @@ public class Shooter implements Enemy {
         }
         position.updatePosition();
 
-        if (position.getX() < 50 || position.getX() > GameConfig.WINDOW_WIDTH - 100) {
+        if (position.getX() < 50 || position.getX() > GameManager.getInstance().getWorldWidth() - 100) {
             movingRight = !movingRight;
         }
 
         // Shooting logic
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameManager.getInstance().getClock().getTimeMillis();
         if (currentTime - lastShootTime > GameConfig.SHOOT_COOLDOWN) {
             shoot();
             lastShootTime = currentTime;
@@ -56,25 +67,73 @@ public class Shooter implements Enemy {
     }
 
     private void shoot() {
+        fire(getX(), getY(), width, height);
+    }
+
+    /**
+     * Fire a projectile towards the player from a shooter at the given position
+     */
+    static void fire(double x, double y, double width, double height) {
+        // Spawning touches the shared pool, so inside a parallel update it waits for the phase to end
+        PhaseCommandBuffer.run(() -> launch(x, y, width, height));
+    }
+
+    private static void launch(double x, double y, double width, double height) {
         GameManager manager = GameManager.getInstance();
         if (manager.getPlayer() == null) return;
 
         double playerX = manager.getPlayer().getX();
-        double bulletVelocity = (playerX < getX()) ? -GameConfig.PROJECTILE_SPEED : GameConfig.PROJECTILE_SPEED;
+        double bulletVelocity = (playerX < x) ? -GameConfig.PROJECTILE_SPEED : GameConfig.PROJECTILE_SPEED;
         
-        Projectile projectile = new Projectile(getX() + width / 2, getY() + height / 2, bulletVelocity);
-        manager.addProjectile(projectile);
+        if (manager.spawnProjectile(x + width / 2, y + height / 2, bulletVelocity) == null) return;
         com.miniplatformer.systems.SoundSystem.playShoot();
-        GameLogger.logGameplay("Shooter fired projectile towards player");
+        GameLogger.logGameplay(FIRE_LOG_LIMIT, "Shooter fired projectile towards player");
+        EventJournal.record(EventJournal.Event.PROJECTILE_FIRED, EventJournal.nameId("Shooter"), x, y, (long) Math.signum(bulletVelocity));
     }
 
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
+        draw(gc, position.getX(), position.getY(), width, height);
+    }
 
-        double x = position.getX();
-        double y = position.getY();
-        
+    @Override
+    public void record(RenderCommandBuffer buffer, int layer) {
+        if (!active) return;
+        if (!record(buffer, layer, position.getX(), position.getY(), width, height)) {
+            buffer.drawDeferred(layer, this);
+        }
+    }
+
+    /**
+     * Record a shooter's sprite frame, or return false if it has no sprite at this size
+     */
+    static boolean record(RenderCommandBuffer buffer, int layer, double x, double y, double width, double height) {
+        if (!SPRITE.fits(width, height)) return false;
+        SPRITE.record(buffer, layer, facingRight(x) ? 1 : 0, x, y, width, height);
+        return true;
+    }
+
+    private static boolean facingRight(double x) {
+        return GameManager.getInstance().getPlayer() != null && GameManager.getInstance().getPlayer().getX() > x;
+    }
+
+    /**
+     * Draw a shooter facing the player, shared with the structure-of-arrays EnemyStore
+     */
+    static void draw(GraphicsContext gc, double x, double y, double width, double height) {
+        boolean facingRight = facingRight(x);
+        if (SPRITE.fits(width, height)) {
+            SPRITE.draw(gc, facingRight ? 1 : 0, x, y);
+        } else {
+            paint(gc, x, y, width, height, facingRight);
+        }
+    }
+
+    /**
+     * Vector drawing of a shooter, rasterized once into the sprite atlas
+     */
+    private static void paint(GraphicsContext gc, double x, double y, double width, double height, boolean facingRight) {
         // Body (Purple armor)
         gc.setFill(Color.PURPLE);
         gc.fillRect(x, y, width, height);
@@ -85,7 +144,7 @@ public class Shooter implements Enemy {
         
         // Visor (Glowing Red)
         gc.setFill(Color.RED);
-        if (GameManager.getInstance().getPlayer() != null && GameManager.getInstance().getPlayer().getX() > x) {
+        if (facingRight) {
             gc.fillRect(x + width - 10, y + 2, 8, 4);
         } else {
             gc.fillRect(x + 2, y + 2, 8, 4);
@@ -93,7 +152,7 @@ public class Shooter implements Enemy {
         
         // Cannon (Dark Gray)
         gc.setFill(Color.BLACK);
-        if (GameManager.getInstance().getPlayer() != null && GameManager.getInstance().getPlayer().getX() > x) {
+        if (facingRight) {
             gc.fillRect(x + width, y + height / 2 - 5, 10, 10);
         } else {
             gc.fillRect(x - 10, y + height / 2 - 5, 10, 10);
@@ -115,6 +174,15 @@ public class Shooter implements Enemy {
     @Override
     public double getY() { return position.getY(); }
 
+    @Override
+    public double getPreviousX() { return position.getPreviousX(); }
+
+    @Override
+    public double getPreviousY() { return position.getPreviousY(); }
+
+    @Override
+    public void savePreviousPosition() { position.savePrevious(); }
+
     @Override
     public double getWidth() { return width; }
 
@@ -132,4 +200,32 @@ public class Shooter implements Enemy {
 
     @Override
     public double getVelocityY() { return position.getVelocityY(); }
+
+    @Override
+    public Object snapshot() {
+        return new Snapshot(position.clone(), active, lastShootTime, movingRight);
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        Snapshot saved = (Snapshot) snapshot;
+        position = saved.position.clone();
+        active = saved.active;
+        lastShootTime = saved.lastShootTime;
+        movingRight = saved.movingRight;
+    }
+
+    private static final class Snapshot {
+        final Position position;
+        final boolean active;
+        final long lastShootTime;
+        final boolean movingRight;
+
+        Snapshot(Position position, boolean active, long lastShootTime, boolean movingRight) {
+            this.position = position;
+            this.active = active;
+            this.lastShootTime = lastShootTime;
+            this.movingRight = movingRight;
+        }
+    }
 }
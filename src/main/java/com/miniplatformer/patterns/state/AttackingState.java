@@ -1,5 +1,6 @@
 package com.miniplatformer.patterns.state;
 
+import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.Player;
 
 /**
@@ -12,7 +13,7 @@ public class AttackingState implements PlayerState {
     private static final long ATTACK_DURATION = 500; // 500ms attack duration
 
     public AttackingState() {
-        this.attackStartTime = System.currentTimeMillis();
+        this.attackStartTime = GameManager.getInstance().getClock().getTimeMillis();
     }
 
     @Override
@@ -35,7 +36,7 @@ public class AttackingState implements PlayerState {
     @Override
     public void update(Player player) {
         // Check if attack animation is complete
-        if (System.currentTimeMillis() - attackStartTime > ATTACK_DURATION) {
+        if (GameManager.getInstance().getClock().getTimeMillis() - attackStartTime > ATTACK_DURATION) {
             if (player.isOnGround()) {
                 if (Math.abs(player.getVelocityX()) > 0) {
                     player.setState(new RunningState());
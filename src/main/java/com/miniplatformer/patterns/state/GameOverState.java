@@ -22,7 +22,7 @@ public class GameOverState implements GameState {
     @Override
     public void enter(GameManager manager) {
         GameLogger.logState("Game", "PLAYING", "GAME_OVER");
-        GameLogger.info("Game Over! Final score: " + finalScore);
+        GameLogger.info("Game Over! Final score: {}", finalScore);
     }
 
     @Override
@@ -32,4 +32,16 @@ public interface GameState {
      * Handle input in this state
      */
     void handleInput(GameManager manager, boolean leftPressed, boolean rightPressed, boolean jumpPressed, boolean attackPressed, boolean escapePressed);
+
+    /**
+     * Name of this state, as used in logs and the event journal
+     */
+    String getStateName();
+
+    /**
+     * Copy of this state for replay keyframes; states with nothing that changes can share themselves
+     */
+    default GameState copy() {
+        return this;
+    }
 }
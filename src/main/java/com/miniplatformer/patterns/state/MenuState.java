@@ -270,4 +270,12 @@ public class MenuState implements GameState {
     public String getStateName() {
         return STATE_NAME;
     }
+
+    @Override
+    public GameState copy() {
+        MenuState copy = new MenuState();
+        copy.selectedOption = selectedOption;
+        copy.animationTime = animationTime;
+        return copy;
+    }
 }
@@ -1,9 +1,18 @@
 package com.miniplatformer.patterns.state;
 
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.Camera;
 import com.miniplatformer.core.GameManager;
 import com.miniplatformer.entities.Player;
 import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.patterns.factory.EnemyStore;
+import com.miniplatformer.systems.Broadphase;
 import com.miniplatformer.systems.CollisionSystem;
+import com.miniplatformer.systems.ParallelPhases;
+import com.miniplatformer.systems.RenderCommandBuffer;
+import com.miniplatformer.utils.FrameProfiler;
+import com.miniplatformer.utils.FrameProfiler.Phase;
 import com.miniplatformer.utils.GameLogger;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -17,10 +26,32 @@ import javafx.scene.text.FontWeight;
 public class PlayingState implements GameState {
     private static final String STATE_NAME = "PLAYING";
 
+    // Render layers, drawn in this order; the level, the player and the profiler overlay use two layers each
+    private static final int LAYER_LEVEL = 0;
+    private static final int LAYER_ENEMIES = 2;
+    private static final int LAYER_PLAYER = 3;
+    private static final int LAYER_PROJECTILES = 5;
+    private static final int LAYER_HUD = 6;
+    private static final int LAYER_PROFILER = 7;
+
+    // Created on first render, so headless runs never touch the font toolkit
+    private static Font hudFont;
+    private static Font powerupFont;
+    private static int hudFontId;
+    private static int powerupFontId;
+    private static int hudColorId;
+    private static Font profilerFont;
+    private static int profilerFontId;
+    private static int profilerBackgroundId;
+
     @Override
     public void enter(GameManager manager) {
         GameLogger.logState("Game", "MENU", "PLAYING");
         GameLogger.info("Game started");
+        // Index the level before the first tick, so the first frame can already cull against it
+        if (manager.getCurrentLevel() != null) {
+            manager.getBroadphase().update(manager.getCurrentLevel(), manager.getEnemies(), manager.getProjectiles());
+        }
     }
 
     @Override
@@ -30,36 +61,68 @@ public class PlayingState implements GameState {
 
     @Override
     public void update(GameManager manager) {
+        // Bring chunks in and out around the player before anything moves
+        long start = FrameProfiler.start();
+        if (manager.getLevelStreamer() != null) {
+            manager.getLevelStreamer().update(manager);
+        }
+        start = lap(Phase.STREAMING, start);
+
+        // Remember where everything was so rendering can interpolate towards this tick
+        savePreviousPositions(manager);
+
         // Update player
         if (manager.getPlayer() != null) {
             manager.getPlayer().update();
         }
+        start = lap(Phase.PLAYER, start);
 
-        // Update enemies
-        for (var enemy : manager.getEnemies()) {
-            enemy.update();
+        // Update enemies, in bulk passes when they live in a structure-of-arrays store;
+        // large phases are split across cores, with projectile spawns applied after the phase
+        ParallelPhases phases = manager.getParallelPhases();
+        EnemyStore enemyStore = manager.getEnemyStore();
+        if (enemyStore != null) {
+            enemyStore.update(phases);
+        } else {
+            phases.forEach(manager.getEnemies(), Enemy::update);
         }
+        start = lap(Phase.ENEMIES, start);
 
         // Update level
         if (manager.getCurrentLevel() != null) {
-            manager.getCurrentLevel().update();
+            manager.getCurrentLevel().update(phases);
         }
+        start = lap(Phase.LEVEL, start);
 
-        // Update projectiles
-        for (Projectile projectile : manager.getProjectiles()) {
-            projectile.update();
-        }
+        // Update projectiles, returning spent ones to the pool
+        manager.getProjectilePool().update(phases);
+        start = lap(Phase.PROJECTILES, start);
 
         // Check collisions
         if (manager.getPlayer() != null && manager.getCurrentLevel() != null) {
             Player player = manager.getPlayer();
             int livesBefore = player.getLives();
             
-            CollisionSystem.checkPlatformCollisions(player, manager.getCurrentLevel().getComponents());
-            CollisionSystem.checkEnemyCollisions(player, manager.getEnemies());
-            CollisionSystem.checkCollectibleCollisions(player, manager.getCurrentLevel().getComponents());
-            CollisionSystem.checkObstacleCollisions(player, manager.getCurrentLevel().getComponents());
-            CollisionSystem.checkProjectileCollisions(player, manager.getProjectiles());
+            // Re-bucket moving entities, then only test what overlaps the player
+            Broadphase broadphase = manager.getBroadphase();
+            broadphase.update(manager.getCurrentLevel(), manager.getEnemies(), manager.getProjectiles());
+            start = lap(Phase.BROADPHASE, start);
+
+            CollisionSystem.checkPlatformCollisions(player,
+                broadphase.queryPlatforms(player.getX(), player.getY(), player.getWidth(), player.getHeight()));
+            start = lap(Phase.COLLIDE_PLATFORMS, start);
+            CollisionSystem.checkEnemyCollisions(player,
+                broadphase.queryEnemies(player.getX(), player.getY(), player.getWidth(), player.getHeight()));
+            start = lap(Phase.COLLIDE_ENEMIES, start);
+            CollisionSystem.checkCollectibleCollisions(player,
+                broadphase.queryCollectibles(player.getX(), player.getY(), player.getWidth(), player.getHeight()));
+            start = lap(Phase.COLLIDE_COLLECTIBLES, start);
+            CollisionSystem.checkObstacleCollisions(player,
+                broadphase.queryObstacles(player.getX(), player.getY(), player.getWidth(), player.getHeight()));
+            start = lap(Phase.COLLIDE_OBSTACLES, start);
+            CollisionSystem.checkProjectileCollisions(player,
+                broadphase.queryProjectiles(player.getX(), player.getY(), player.getWidth(), player.getHeight()));
+            lap(Phase.COLLIDE_PROJECTILES, start);
 
             // If player took damage from enemy or obstacle (lives decreased), respawn if alive
             if (player.getLives() < livesBefore) {
@@ -72,7 +135,7 @@ public class PlayingState implements GameState {
         }
 
         // Check if player is out of bounds
-        if (manager.getPlayer() != null && CollisionSystem.checkOutOfBounds(manager.getPlayer(), 800, 600)) {
+        if (manager.getPlayer() != null && CollisionSystem.checkOutOfBounds(manager.getPlayer(), manager.getWorldWidth(), manager.getWorldHeight())) {
             manager.getPlayer().takeDamage();
             if (manager.getPlayer().getLives() <= 0) {
                 manager.gameOver();
@@ -81,8 +144,9 @@ public class PlayingState implements GameState {
             }
         }
 
-        // Check for victory condition (all enemies defeated)
-        boolean allEnemiesDefeated = true;
+        // Check for victory condition (all enemies defeated, including those in chunks not loaded)
+        boolean allEnemiesDefeated = manager.getLevelStreamer() == null
+            || manager.getLevelStreamer().getRemainingEnemies() == 0;
         for (var enemy : manager.getEnemies()) {
             if (enemy.isActive()) {
                 allEnemiesDefeated = false;
@@ -94,46 +158,123 @@ public class PlayingState implements GameState {
         }
     }
 
+    /**
+     * Record the phase that began at start and return the start of the next one
+     */
+    private static long lap(Phase phase, long start) {
+        FrameProfiler.stop(phase, start);
+        return FrameProfiler.start();
+    }
+
+    private void savePreviousPositions(GameManager manager) {
+        if (manager.getPlayer() != null) {
+            manager.getPlayer().savePreviousPosition();
+        }
+        if (manager.getEnemyStore() != null) {
+            manager.getEnemyStore().savePreviousPositions();
+        } else {
+            for (var enemy : manager.getEnemies()) {
+                enemy.savePreviousPosition();
+            }
+        }
+        manager.getProjectilePool().savePreviousPositions();
+    }
+
     @Override
     public void render(GraphicsContext gc) {
-        // Render level
-        if (GameManager.getInstance().getCurrentLevel() != null) {
-            GameManager.getInstance().getCurrentLevel().render(gc);
+        long start = FrameProfiler.start();
+        GameManager manager = GameManager.getInstance();
+        RenderCommandBuffer buffer = manager.getRenderBuffer();
+        Camera camera = manager.getCamera();
+        double alpha = manager.getRenderAlpha();
+
+        // Follow the player where it is drawn, so the camera doesn't jitter against interpolation
+        Player player = manager.getPlayer();
+        if (player != null) {
+            camera.follow(player.getX() + interpolationOffset(player.getPreviousX(), player.getX(), alpha),
+                player.getY() + interpolationOffset(player.getPreviousY(), player.getY(), alpha),
+                player.getWidth(), player.getHeight());
+        }
+
+        // Only what overlaps the view is recorded; the margin covers interpolation and sprite overhang
+        double viewX = camera.getX() - GameConfig.CULL_MARGIN;
+        double viewY = camera.getY() - GameConfig.CULL_MARGIN;
+        double viewWidth = camera.getViewWidth() + GameConfig.CULL_MARGIN * 2;
+        double viewHeight = camera.getViewHeight() + GameConfig.CULL_MARGIN * 2;
+        Broadphase broadphase = manager.getBroadphase();
+        buffer.translate(-camera.getX(), -camera.getY());
+
+        // Record level
+        if (manager.getCurrentLevel() != null) {
+            manager.getCurrentLevel().record(buffer, LAYER_LEVEL, viewX, viewY, viewWidth, viewHeight);
+        }
+
+        // Record enemies
+        for (var enemy : broadphase.queryEnemies(viewX, viewY, viewWidth, viewHeight)) {
+            double dx = interpolationOffset(enemy.getPreviousX(), enemy.getX(), alpha);
+            double dy = interpolationOffset(enemy.getPreviousY(), enemy.getY(), alpha);
+            buffer.translate(dx, dy);
+            enemy.record(buffer, LAYER_ENEMIES);
+            buffer.translate(-dx, -dy);
         }
 
-        // Render enemies
-        for (var enemy : GameManager.getInstance().getEnemies()) {
-            enemy.render(gc);
+        // Record player
+        if (player != null) {
+            double dx = interpolationOffset(player.getPreviousX(), player.getX(), alpha);
+            double dy = interpolationOffset(player.getPreviousY(), player.getY(), alpha);
+            buffer.translate(dx, dy);
+            player.record(buffer, LAYER_PLAYER);
+            buffer.translate(-dx, -dy);
         }
 
-        // Render player
-        if (GameManager.getInstance().getPlayer() != null) {
-            GameManager.getInstance().getPlayer().render(gc);
+        // Record projectiles
+        for (Projectile projectile : broadphase.queryProjectiles(viewX, viewY, viewWidth, viewHeight)) {
+            double dx = interpolationOffset(projectile.getPreviousX(), projectile.getX(), alpha);
+            double dy = interpolationOffset(projectile.getPreviousY(), projectile.getY(), alpha);
+            buffer.translate(dx, dy);
+            projectile.record(buffer, LAYER_PROJECTILES);
+            buffer.translate(-dx, -dy);
         }
 
-        // Render projectiles
-        for (Projectile projectile : GameManager.getInstance().getProjectiles()) {
-            projectile.render(gc);
+        // Record HUD in screen space
+        buffer.translate(camera.getX(), camera.getY());
+        recordHUD(buffer);
+        if (FrameProfiler.isOverlayVisible()) {
+            recordProfilerOverlay(buffer);
         }
+        start = lap(Phase.RECORD, start);
+
+        // Sort by layer and state, then draw
+        buffer.flush(gc);
+        FrameProfiler.stop(Phase.FLUSH, start);
+    }
 
-        // Render HUD
-        renderHUD(gc);
+    /**
+     * Offset from the current position to the position interpolated between the last two ticks
+     */
+    private static double interpolationOffset(double previous, double current, double alpha) {
+        return (previous - current) * (1.0 - alpha);
     }
 
-    private void renderHUD(GraphicsContext gc) {
+    private void recordHUD(RenderCommandBuffer buffer) {
         GameManager manager = GameManager.getInstance();
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        if (hudFont == null) {
+            hudFont = Font.font("Arial", FontWeight.BOLD, 16);
+            powerupFont = Font.font("Arial", 12);
+            hudFontId = RenderCommandBuffer.fontId(hudFont);
+            powerupFontId = RenderCommandBuffer.fontId(powerupFont);
+            hudColorId = RenderCommandBuffer.colorId(Color.WHITE);
+        }
         
         // Score
-        gc.fillText("Score: " + manager.getScore(), 10, 25);
+        buffer.fillText(LAYER_HUD, hudColorId, hudFontId, "Score: " + manager.getScore(), 10, 25);
         
         // Lives
-        gc.fillText("Lives: " + manager.getLives(), 10, 50);
+        buffer.fillText(LAYER_HUD, hudColorId, hudFontId, "Lives: " + manager.getLives(), 10, 50);
         
         // Time
         long seconds = manager.getElapsedTime() / 1000;
-        gc.fillText("Time: " + seconds + "s", 10, 75);
+        buffer.fillText(LAYER_HUD, hudColorId, hudFontId, "Time: " + seconds + "s", 10, 75);
         
         // Power-ups
         if (manager.getPlayer() != null) {
@@ -153,8 +294,24 @@ public class PlayingState implements GameState {
             if (manager.getPlayer().getCharacter().isInvincible()) {
                 powerups.append("Invincible ");
             }
-            gc.setFont(Font.font("Arial", 12));
-            gc.fillText(powerups.toString(), 10, 100);
+            buffer.fillText(LAYER_HUD, hudColorId, powerupFontId, powerups.toString(), 10, 100);
+        }
+    }
+
+    /**
+     * Per-phase timings of the last second, top right (toggled with F3)
+     */
+    private void recordProfilerOverlay(RenderCommandBuffer buffer) {
+        if (profilerFont == null) {
+            profilerFont = Font.font("Monospaced", 11);
+            profilerFontId = RenderCommandBuffer.fontId(profilerFont);
+            profilerBackgroundId = RenderCommandBuffer.colorId(Color.BLACK);
+        }
+        String[] lines = FrameProfiler.getOverlayLines();
+        double x = GameConfig.WINDOW_WIDTH - 330;
+        buffer.fillRect(LAYER_PROFILER, profilerBackgroundId, 0.6, x - 8, 8, 330, lines.length * 13 + 10);
+        for (int i = 0; i < lines.length; i++) {
+            buffer.fillText(LAYER_PROFILER + 1, hudColorId, profilerFontId, lines[i], x, 24 + i * 13);
         }
     }
 
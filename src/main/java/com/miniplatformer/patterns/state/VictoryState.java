@@ -24,7 +24,7 @@ public class VictoryState implements GameState {
     @Override
     public void enter(GameManager manager) {
         GameLogger.logState("Game", "PLAYING", "VICTORY");
-        GameLogger.info("Victory! Final score: " + finalScore + ", Time: " + (finalTime / 1000) + "s");
+        GameLogger.info("Victory! Final score: {}, Time: {}s", finalScore, finalTime / 1000);
     }
 
     @Override
@@ -0,0 +1,226 @@
+package com.miniplatformer.systems;
+
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Software mixer behind SoundSystem
+ * One thread sums a fixed number of voices into a single output buffer. Triggers only set a
+ * bit in a pending mask, so the same effect fired many times before the next mix chunk (a
+ * chunk is shorter than a game tick) plays once. When every voice is busy, the lowest-priority
+ * voice is stolen, or the new effect is dropped if it ranks lower than everything playing.
+ */
+final class AudioMixer {
+    static final int MAX_VOICES = 8;
+    static final int CHUNK_FRAMES = 256; // ~12 ms at 22050 Hz
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final SoundEffect[] effects = SoundEffect.values();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLongArray requestedAt = new AtomicLongArray(effects.length);
+
+    // Voice state, only touched by the mixer thread
+    private final int[] voiceEffect = new int[MAX_VOICES]; // Effect ordinal, -1 when free
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final double[] voiceVolume = new double[MAX_VOICES];
+    private final int[] accumulator = new int[CHUNK_FRAMES];
+    private final byte[] output = new byte[CHUNK_FRAMES];
+    private volatile int activeVoices;
+
+    private volatile double masterVolume = 1.0;
+    private volatile Thread thread;
+
+    // Metrics
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong stolenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    AudioMixer() {
+        for (int v = 0; v < MAX_VOICES; v++) {
+            voiceEffect[v] = -1;
+        }
+    }
+
+    /**
+     * Request an effect; safe to call from any thread, never blocks or allocates
+     */
+    void trigger(SoundEffect effect) {
+        int bit = 1 << effect.ordinal();
+        if ((pending.get() & bit) != 0) {
+            coalescedCount.incrementAndGet();
+            return;
+        }
+        requestedAt.set(effect.ordinal(), System.nanoTime());
+        if ((pending.getAndAccumulate(bit, (mask, b) -> mask | b) & bit) != 0) {
+            coalescedCount.incrementAndGet();
+        }
+        Thread mixerThread = thread;
+        if (mixerThread != null) {
+            LockSupport.unpark(mixerThread);
+        }
+    }
+
+    /**
+     * Start the mixer thread writing to the given line
+     */
+    void start(SourceDataLine line) {
+        Thread mixerThread = new Thread(() -> run(line), "sound-mixer");
+        mixerThread.setDaemon(true);
+        thread = mixerThread;
+        mixerThread.start();
+    }
+
+    /**
+     * Stop the mixer thread
+     */
+    void stop() {
+        Thread mixerThread = thread;
+        thread = null;
+        if (mixerThread != null) {
+            mixerThread.interrupt();
+        }
+    }
+
+    private void run(SourceDataLine line) {
+        while (thread == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+            if (activeVoices == 0 && pending.get() == 0) {
+                // Nothing to play: sleep until a trigger unparks us
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            mix();
+            line.write(output, 0, CHUNK_FRAMES); // Blocks while the line is full, pacing the loop
+        }
+    }
+
+    /**
+     * Start pending effects, then mix one chunk of all voices into the output buffer
+     */
+    void mix() {
+        int mask = pending.getAndSet(0);
+        while (mask != 0) {
+            int ordinal = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            startVoice(ordinal);
+        }
+
+        Arrays.fill(accumulator, 0);
+        int active = 0;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            int ordinal = voiceEffect[v];
+            if (ordinal < 0) continue;
+            byte[] samples = effects[ordinal].getSamples();
+            int position = voicePosition[v];
+            int frames = Math.min(CHUNK_FRAMES, samples.length - position);
+            double volume = voiceVolume[v];
+            for (int i = 0; i < frames; i++) {
+                accumulator[i] += (int) (samples[position + i] * volume);
+            }
+            position += frames;
+            if (position >= samples.length) {
+                voiceEffect[v] = -1;
+            } else {
+                voicePosition[v] = position;
+                active++;
+            }
+        }
+        activeVoices = active;
+
+        double master = masterVolume;
+        for (int i = 0; i < CHUNK_FRAMES; i++) {
+            int sample = (int) (accumulator[i] * master);
+            output[i] = (byte) Math.max(-128, Math.min(127, sample));
+        }
+    }
+
+    private void startVoice(int ordinal) {
+        SoundEffect effect = effects[ordinal];
+        int voice = -1;
+        int victim = -1;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceEffect[v] < 0) {
+                voice = v;
+                break;
+            }
+            // Steal the lowest priority voice, preferring the one closest to finishing
+            if (victim < 0 || priorityOf(v) < priorityOf(victim)
+                    || (priorityOf(v) == priorityOf(victim) && remaining(v) < remaining(victim))) {
+                victim = v;
+            }
+        }
+        if (voice < 0) {
+            if (priorityOf(victim) > effect.getPriority()) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            voice = victim;
+            stolenCount.incrementAndGet();
+        }
+
+        voiceEffect[voice] = ordinal;
+        voicePosition[voice] = 0;
+        voiceVolume[voice] = effect.getVolume();
+        startedCount.incrementAndGet();
+
+        long latency = System.nanoTime() - requestedAt.get(ordinal);
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    private int priorityOf(int voice) {
+        return effects[voiceEffect[voice]].getPriority();
+    }
+
+    private int remaining(int voice) {
+        return effects[voiceEffect[voice]].getSamples().length - voicePosition[voice];
+    }
+
+    byte[] getOutput() {
+        return output;
+    }
+
+    void setMasterVolume(double volume) {
+        this.masterVolume = Math.max(0.0, Math.min(1.0, volume));
+    }
+
+    double getMasterVolume() {
+        return masterVolume;
+    }
+
+    int getActiveVoices() {
+        return activeVoices;
+    }
+
+    long getStartedCount() {
+        return startedCount.get();
+    }
+
+    long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    long getStolenCount() {
+        return stolenCount.get();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    double getAverageLatencyMillis() {
+        long started = startedCount.get();
+        return started == 0 ? 0 : totalLatencyNanos.get() / (double) started / 1_000_000.0;
+    }
+
+    double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,281 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.patterns.factory.EnemyFactory;
+import com.miniplatformer.patterns.factory.EnemyStore;
+import com.miniplatformer.utils.GameLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Level compiled by LevelCompiler, read straight from a (usually memory-mapped) buffer
+ * Opening only checks the header and decodes the handful of distinct type names; objects are
+ * then created by walking fixed-size records, with no text parsing or intermediate objects.
+ *
+ * Layout, little endian:
+ *   header (64 bytes)   magic, version, record size, record/enemy counts, width, height,
+ *                       chunk width/count, string count, random power-up spec, section offsets
+ *   chunk table         int[chunkCount + 1], first record of each chunk
+ *   power-up types      short[], string ids
+ *   records (20 bytes)  byte kind, byte reserved, short type/colour string id, float x, y, width, height
+ *   strings             short length + UTF-8 bytes each, then the level name
+ */
+public final class BinaryLevel implements ChunkSource {
+    public static final String EXTENSION = ".mplb";
+    static final int MAGIC = 0x314C504D; // "MPL1"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 20;
+    static final byte PLATFORM = ChunkData.PLATFORM;
+    static final byte COLLECTIBLE = ChunkData.COLLECTIBLE;
+    static final byte OBSTACLE = ChunkData.OBSTACLE;
+    static final byte ENEMY = ChunkData.ENEMY;
+
+    private final ByteBuffer data;
+    private final String name;
+    private final int recordCount;
+    private final int enemyCount;
+    private final float width;
+    private final float height;
+    private final int chunkCount;
+    private final int chunkTableOffset;
+    private final int recordOffset;
+    private final String[] strings;
+    private final int powerupMin;
+    private final int powerupMax;
+    private final String[] powerupTypes;
+
+    /**
+     * Read a compiled level from a buffer; the buffer's content must not change afterwards
+     */
+    public BinaryLevel(ByteBuffer buffer) {
+        this.data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a compiled level");
+        }
+        if (data.getShort(4) != VERSION || data.getShort(6) != RECORD_SIZE) {
+            throw new IllegalArgumentException("Unsupported level version " + data.getShort(4) + ", recompile it");
+        }
+        this.recordCount = data.getInt(8);
+        this.enemyCount = data.getInt(12);
+        this.width = data.getFloat(16);
+        this.height = data.getFloat(20);
+        if (data.getFloat(24) != (float) GameConfig.LEVEL_CHUNK_WIDTH) {
+            throw new IllegalArgumentException("Level was compiled for chunks of " + data.getFloat(24)
+                + " px, recompile it");
+        }
+        this.chunkCount = data.getInt(28);
+        int stringCount = data.getInt(32);
+        this.powerupMin = data.get(36) & 0xFF;
+        this.powerupMax = data.get(37) & 0xFF;
+        int powerupTypeCount = data.getShort(38);
+        this.chunkTableOffset = data.getInt(40);
+        int powerupOffset = data.getInt(44);
+        this.recordOffset = data.getInt(48);
+        int stringOffset = data.getInt(52);
+        int nameOffset = data.getInt(56);
+        if (recordOffset + (long) recordCount * RECORD_SIZE > data.limit()) {
+            throw new IllegalArgumentException("Compiled level is truncated");
+        }
+
+        this.strings = new String[stringCount];
+        int position = stringOffset;
+        for (int i = 0; i < stringCount; i++) {
+            strings[i] = readString(position);
+            position += 2 + data.getShort(position);
+        }
+        this.name = readString(nameOffset);
+        this.powerupTypes = new String[powerupTypeCount];
+        for (int i = 0; i < powerupTypeCount; i++) {
+            powerupTypes[i] = strings[data.getShort(powerupOffset + i * 2)];
+        }
+    }
+
+    /**
+     * Memory-map a compiled level file
+     */
+    public static BinaryLevel open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinaryLevel(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Load levels/NAME.mplb from the classpath, mapped when it is a plain file
+     * Falls back to compiling levels/NAME.txt in memory when the build has not produced the binary.
+     */
+    public static BinaryLevel load(String levelName) throws IOException {
+        URL compiled = BinaryLevel.class.getResource("/levels/" + levelName + EXTENSION);
+        if (compiled != null) {
+            if ("file".equals(compiled.getProtocol())) {
+                try {
+                    return open(Paths.get(compiled.toURI()));
+                } catch (URISyntaxException e) {
+                    throw new IOException("Bad level location " + compiled, e);
+                }
+            }
+            try (InputStream in = compiled.openStream()) {
+                return new BinaryLevel(ByteBuffer.wrap(in.readAllBytes()));
+            }
+        }
+
+        try (InputStream in = BinaryLevel.class.getResourceAsStream("/levels/" + levelName + ".txt")) {
+            if (in == null) {
+                throw new IOException("Level not found: " + levelName);
+            }
+            GameLogger.warn("No compiled {}.mplb, compiling the text level", levelName);
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return new BinaryLevel(LevelCompiler.compile(Arrays.asList(text.split("\\R"))));
+        }
+    }
+
+    /**
+     * Build the whole level's platforms, collectibles and obstacles
+     */
+    public Level createLevel() {
+        Level level = new Level(name, width, height);
+        for (int i = 0, at = recordOffset; i < recordCount; i++, at += RECORD_SIZE) {
+            byte kind = data.get(at);
+            if (kind == ENEMY) continue;
+            String type = strings[data.getShort(at + 2)];
+            double x = data.getFloat(at + 4);
+            double y = data.getFloat(at + 8);
+            switch (kind) {
+                case PLATFORM:
+                    level.add(new Platform(x, y, data.getFloat(at + 12), data.getFloat(at + 16), type));
+                    break;
+                case COLLECTIBLE:
+                    level.add(new Collectible(x, y, type));
+                    break;
+                case OBSTACLE:
+                    level.add(new Obstacle(x, y, type));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown record kind " + kind);
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Create the level's enemies, one object each
+     */
+    public List<Enemy> createEnemies() {
+        List<Enemy> enemies = new ArrayList<>(enemyCount);
+        for (int i = 0, at = recordOffset; i < recordCount; i++, at += RECORD_SIZE) {
+            if (data.get(at) == ENEMY) {
+                enemies.add(EnemyFactory.createEnemy(strings[data.getShort(at + 2)], data.getFloat(at + 4), data.getFloat(at + 8)));
+            }
+        }
+        return enemies;
+    }
+
+    /**
+     * Create the level's enemies in a structure-of-arrays store
+     */
+    public EnemyStore createEnemyStore() {
+        EnemyStore store = new EnemyStore(enemyCount);
+        for (int i = 0, at = recordOffset; i < recordCount; i++, at += RECORD_SIZE) {
+            if (data.get(at) == ENEMY) {
+                store.add(strings[data.getShort(at + 2)], data.getFloat(at + 4), data.getFloat(at + 8));
+            }
+        }
+        return store;
+    }
+
+    @Override
+    public ChunkData load(int index) {
+        ChunkData chunk = new ChunkData(index);
+        int last = data.getInt(chunkTableOffset + (index + 1) * 4);
+        for (int i = data.getInt(chunkTableOffset + index * 4); i < last; i++) {
+            int at = recordOffset + i * RECORD_SIZE;
+            String type = strings[data.getShort(at + 2)];
+            double x = data.getFloat(at + 4);
+            double y = data.getFloat(at + 8);
+            switch (data.get(at)) {
+                case PLATFORM:
+                    chunk.addPlatform(x, y, data.getFloat(at + 12), data.getFloat(at + 16), type);
+                    break;
+                case COLLECTIBLE:
+                    chunk.addCollectible(x, y, type);
+                    break;
+                case OBSTACLE:
+                    chunk.addObstacle(x, y, type);
+                    break;
+                default:
+                    chunk.addEnemy(type, x, y);
+                    break;
+            }
+        }
+        return chunk;
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[data.getShort(position)];
+        data.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    @Override
+    public double getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getTotalEnemyCount() {
+        return enemyCount;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Fewest power-ups to scatter on random platforms when the level starts
+     */
+    public int getPowerupMin() {
+        return powerupMin;
+    }
+
+    public int getPowerupMax() {
+        return powerupMax;
+    }
+
+    /**
+     * Power-up types to draw from, repeated to weight them
+     */
+    public String[] getPowerupTypes() {
+        return powerupTypes.clone();
+    }
+}
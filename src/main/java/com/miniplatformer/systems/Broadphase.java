@@ -0,0 +1,232 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.GameComponent;
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.patterns.factory.Enemy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Broadphase collision structure owned by the GameManager
+ * Level components are static, so they are inserted once per type when the level is first seen;
+ * after that the level reports each component added or removed (a streamed chunk, a drop) and
+ * only those are inserted or removed, on the next update so collisions within a tick see the same
+ * level throughout. Enemies and projectiles move every tick and are re-bucketed on each update.
+ * Query results are reused lists: consume them before issuing the next query of the same kind.
+ */
+public class Broadphase implements Level.ComponentListener {
+    private final SpatialHash<Platform> platformHash;
+    private final SpatialHash<Collectible> collectibleHash;
+    private final SpatialHash<Obstacle> obstacleHash;
+    private final SpatialHash<Enemy> enemyHash;
+    private final SpatialHash<Projectile> projectileHash;
+
+    private final List<Platform> platformResults = new ArrayList<>();
+    private final List<Collectible> collectibleResults = new ArrayList<>();
+    private final List<Obstacle> obstacleResults = new ArrayList<>();
+    private final List<Enemy> enemyResults = new ArrayList<>();
+    private final List<Projectile> projectileResults = new ArrayList<>();
+
+    private Level indexedLevel;
+    private final Set<GameComponent> pendingAdds = new LinkedHashSet<>(); // Insertion order keeps the hash layout deterministic
+    private final List<GameComponent> pendingRemovals = new ArrayList<>();
+
+    public Broadphase() {
+        this.platformHash = new SpatialHash<>(GameConfig.SPATIAL_CELL_SIZE, 1024);
+        this.collectibleHash = new SpatialHash<>(GameConfig.SPATIAL_CELL_SIZE, 1024);
+        this.obstacleHash = new SpatialHash<>(GameConfig.SPATIAL_CELL_SIZE, 256);
+        this.enemyHash = new SpatialHash<>(GameConfig.SPATIAL_CELL_SIZE, 256);
+        this.projectileHash = new SpatialHash<>(GameConfig.SPATIAL_CELL_SIZE, 256);
+    }
+
+    /**
+     * Bring the structure up to date after entities have moved
+     */
+    public void update(Level level, List<Enemy> enemies, List<Projectile> projectiles) {
+        if (level != indexedLevel) {
+            rebuildStatic(level);
+        } else {
+            applyLevelChanges();
+        }
+
+        enemyHash.clear();
+        for (Enemy enemy : enemies) {
+            if (enemy.isActive()) {
+                enemyHash.insert(enemy, enemy.getX(), enemy.getY(), enemy.getWidth(), enemy.getHeight());
+            }
+        }
+
+        projectileHash.clear();
+        for (Projectile projectile : projectiles) {
+            if (projectile.isActive()) {
+                projectileHash.insert(projectile, projectile.getX(), projectile.getY(), projectile.getWidth(), projectile.getHeight());
+            }
+        }
+    }
+
+    private void rebuildStatic(Level level) {
+        if (indexedLevel != null) {
+            indexedLevel.setComponentListener(null);
+        }
+        platformHash.clear();
+        collectibleHash.clear();
+        obstacleHash.clear();
+        pendingAdds.clear();
+        pendingRemovals.clear();
+        indexedLevel = level;
+        if (level == null) return;
+        level.setComponentListener(this);
+
+        for (Platform platform : level.getPlatforms()) {
+            platformHash.insert(platform, platform.getX(), platform.getY(), platform.getWidth(), platform.getHeight());
+        }
+        for (Collectible collectible : level.getCollectibles()) {
+            collectibleHash.insert(collectible, collectible.getX(), collectible.getY(), collectible.getWidth(), collectible.getHeight());
+        }
+        for (Obstacle obstacle : level.getObstacles()) {
+            obstacleHash.insert(obstacle, obstacle.getX(), obstacle.getY(), obstacle.getWidth(), obstacle.getHeight());
+        }
+    }
+
+    private void applyLevelChanges() {
+        for (int i = 0; i < pendingRemovals.size(); i++) {
+            GameComponent component = pendingRemovals.get(i);
+            if (component instanceof Platform) {
+                platformHash.remove((Platform) component, component.getX(), component.getY());
+            } else if (component instanceof Collectible) {
+                collectibleHash.remove((Collectible) component, component.getX(), component.getY());
+            } else if (component instanceof Obstacle) {
+                obstacleHash.remove((Obstacle) component, component.getX(), component.getY());
+            }
+        }
+        for (GameComponent component : pendingAdds) {
+            if (component instanceof Platform) {
+                platformHash.insert((Platform) component, component.getX(), component.getY(), component.getWidth(), component.getHeight());
+            } else if (component instanceof Collectible) {
+                collectibleHash.insert((Collectible) component, component.getX(), component.getY(), component.getWidth(), component.getHeight());
+            } else if (component instanceof Obstacle) {
+                obstacleHash.insert((Obstacle) component, component.getX(), component.getY(), component.getWidth(), component.getHeight());
+            }
+        }
+        pendingRemovals.clear();
+        pendingAdds.clear();
+    }
+
+    @Override
+    public void componentAdded(GameComponent component) {
+        pendingAdds.add(component);
+    }
+
+    @Override
+    public void componentRemoved(GameComponent component) {
+        // Added and removed between two updates: never indexed, nothing to undo
+        if (!pendingAdds.remove(component)) {
+            pendingRemovals.add(component);
+        }
+    }
+
+    /**
+     * Copy of every index and the level changes not yet applied, for replay keyframes
+     * Queries on a restored broadphase return items in the same order as on the original.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Put back a saved state and listen to its level again; the state is left untouched
+     */
+    public void restore(Snapshot snapshot) {
+        if (indexedLevel != null && indexedLevel != snapshot.indexedLevel) {
+            indexedLevel.setComponentListener(null);
+        }
+        indexedLevel = snapshot.indexedLevel;
+        if (indexedLevel != null) {
+            indexedLevel.setComponentListener(this);
+        }
+        platformHash.copyFrom(snapshot.platformHash);
+        collectibleHash.copyFrom(snapshot.collectibleHash);
+        obstacleHash.copyFrom(snapshot.obstacleHash);
+        enemyHash.copyFrom(snapshot.enemyHash);
+        projectileHash.copyFrom(snapshot.projectileHash);
+        pendingAdds.clear();
+        pendingAdds.addAll(snapshot.pendingAdds);
+        pendingRemovals.clear();
+        pendingRemovals.addAll(snapshot.pendingRemovals);
+    }
+
+    public static final class Snapshot {
+        private final SpatialHash<Platform> platformHash;
+        private final SpatialHash<Collectible> collectibleHash;
+        private final SpatialHash<Obstacle> obstacleHash;
+        private final SpatialHash<Enemy> enemyHash;
+        private final SpatialHash<Projectile> projectileHash;
+        private final Level indexedLevel;
+        private final List<GameComponent> pendingAdds;
+        private final List<GameComponent> pendingRemovals;
+
+        private Snapshot(Broadphase broadphase) {
+            this.platformHash = broadphase.platformHash.copy();
+            this.collectibleHash = broadphase.collectibleHash.copy();
+            this.obstacleHash = broadphase.obstacleHash.copy();
+            this.enemyHash = broadphase.enemyHash.copy();
+            this.projectileHash = broadphase.projectileHash.copy();
+            this.indexedLevel = broadphase.indexedLevel;
+            this.pendingAdds = new ArrayList<>(broadphase.pendingAdds);
+            this.pendingRemovals = new ArrayList<>(broadphase.pendingRemovals);
+        }
+    }
+
+    /**
+     * Platforms overlapping the rectangle
+     */
+    public List<Platform> queryPlatforms(double x, double y, double width, double height) {
+        platformResults.clear();
+        platformHash.query(x, y, width, height, platformResults);
+        return platformResults;
+    }
+
+    /**
+     * Collectibles overlapping the rectangle, including already collected ones
+     */
+    public List<Collectible> queryCollectibles(double x, double y, double width, double height) {
+        collectibleResults.clear();
+        collectibleHash.query(x, y, width, height, collectibleResults);
+        return collectibleResults;
+    }
+
+    /**
+     * Obstacles overlapping the rectangle
+     */
+    public List<Obstacle> queryObstacles(double x, double y, double width, double height) {
+        obstacleResults.clear();
+        obstacleHash.query(x, y, width, height, obstacleResults);
+        return obstacleResults;
+    }
+
+    /**
+     * Active enemies overlapping the rectangle
+     */
+    public List<Enemy> queryEnemies(double x, double y, double width, double height) {
+        enemyResults.clear();
+        enemyHash.query(x, y, width, height, enemyResults);
+        return enemyResults;
+    }
+
+    /**
+     * Active projectiles overlapping the rectangle
+     */
+    public List<Projectile> queryProjectiles(double x, double y, double width, double height) {
+        projectileResults.clear();
+        projectileHash.query(x, y, width, height, projectileResults);
+        return projectileResults;
+    }
+}
@@ -0,0 +1,111 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.GameComponent;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.patterns.factory.EnemyFactory;
+
+import java.util.Arrays;
+
+/**
+ * Decoded content of one level chunk, ready to be instantiated
+ * A chunk source fills it on the streaming thread as plain arrays; the game thread then turns
+ * each entry into its component or enemy when the chunk is attached. An entry's index is its
+ * stable id within the chunk, used to remember what was collected or defeated.
+ */
+public final class ChunkData {
+    public static final byte PLATFORM = 0;
+    public static final byte COLLECTIBLE = 1;
+    public static final byte OBSTACLE = 2;
+    public static final byte ENEMY = 3;
+
+    private final int index;
+    private byte[] kinds = new byte[32];
+    private double[] bounds = new double[32 * 4]; // x, y, width, height per entry
+    private String[] types = new String[32];      // Colour for platforms, type name otherwise
+    private int size;
+    private int enemyCount;
+
+    public ChunkData(int index) {
+        this.index = index;
+    }
+
+    public ChunkData addPlatform(double x, double y, double width, double height, String color) {
+        return add(PLATFORM, x, y, width, height, color);
+    }
+
+    public ChunkData addCollectible(double x, double y, String type) {
+        return add(COLLECTIBLE, x, y, 0, 0, type);
+    }
+
+    public ChunkData addObstacle(double x, double y, String type) {
+        return add(OBSTACLE, x, y, 0, 0, type);
+    }
+
+    public ChunkData addEnemy(String type, double x, double y) {
+        enemyCount++;
+        return add(ENEMY, x, y, 0, 0, type);
+    }
+
+    private ChunkData add(byte kind, double x, double y, double width, double height, String type) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            bounds = Arrays.copyOf(bounds, size * 2 * 4);
+            types = Arrays.copyOf(types, size * 2);
+        }
+        kinds[size] = kind;
+        bounds[size * 4] = x;
+        bounds[size * 4 + 1] = y;
+        bounds[size * 4 + 2] = width;
+        bounds[size * 4 + 3] = height;
+        types[size] = type;
+        size++;
+        return this;
+    }
+
+    /**
+     * Instantiate a platform, collectible or obstacle entry; must run on the game thread
+     */
+    public GameComponent createComponent(int entry) {
+        double x = bounds[entry * 4];
+        double y = bounds[entry * 4 + 1];
+        switch (kinds[entry]) {
+            case PLATFORM:
+                return new Platform(x, y, bounds[entry * 4 + 2], bounds[entry * 4 + 3], types[entry]);
+            case COLLECTIBLE:
+                return new Collectible(x, y, types[entry]);
+            case OBSTACLE:
+                return new Obstacle(x, y, types[entry]);
+            default:
+                throw new IllegalArgumentException("Chunk entry " + entry + " is not a component");
+        }
+    }
+
+    /**
+     * Instantiate an enemy entry; must run on the game thread
+     */
+    public Enemy createEnemy(int entry) {
+        if (kinds[entry] != ENEMY) {
+            throw new IllegalArgumentException("Chunk entry " + entry + " is not an enemy");
+        }
+        return EnemyFactory.createEnemy(types[entry], bounds[entry * 4], bounds[entry * 4 + 1]);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public byte getKind(int entry) {
+        return kinds[entry];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+}
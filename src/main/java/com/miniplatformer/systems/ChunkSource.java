@@ -0,0 +1,30 @@
+package com.miniplatformer.systems;
+
+import java.io.IOException;
+
+/**
+ * Where a streamed level's chunks come from
+ * Chunks are GameConfig.LEVEL_CHUNK_WIDTH wide and laid out left to right from x = 0.
+ * load() is called on the streaming thread and must not touch game state.
+ */
+public interface ChunkSource {
+    /**
+     * Number of chunks in the world
+     */
+    int getChunkCount();
+
+    /**
+     * Height of the world
+     */
+    double getHeight();
+
+    /**
+     * Decode one chunk; every entry's left edge must fall within the chunk's horizontal span
+     */
+    ChunkData load(int index) throws IOException;
+
+    /**
+     * Number of enemies in the whole world, so victory can be decided without loading every chunk
+     */
+    int getTotalEnemyCount();
+}
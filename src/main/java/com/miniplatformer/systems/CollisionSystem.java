@@ -1,49 +1,57 @@
 package com.miniplatformer.systems;
 
 import com.miniplatformer.core.GameManager;
-import com.miniplatformer.entities.Entity;
+import com.miniplatformer.core.RandomService;
 import com.miniplatformer.entities.Player;
-import com.miniplatformer.patterns.composite.GameComponent;
+import com.miniplatformer.entities.Projectile;
+import com.miniplatformer.instrumentation.CollisionPassEvent;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.Obstacle;
+import com.miniplatformer.patterns.composite.Platform;
 import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.utils.EventJournal;
 import com.miniplatformer.utils.GameLogger;
-import javafx.scene.shape.Rectangle;
+import com.miniplatformer.utils.LogRateLimiter;
 
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Collision detection system
  * Handles collision detection between player, enemies, platforms, and collectibles
  */
 public class CollisionSystem {
+    private static final LogRateLimiter COLLECT_LOG_LIMIT = new LogRateLimiter("Player collected", 4, 1, TimeUnit.SECONDS);
+    private static final String[] DROP_TYPES = {"weapon", "shield", "doubleJump", "speedBoost", "invincibility", "coin"};
 
     /**
      * Check and resolve collisions between player and platforms
      * Includes bridge crossing fix - player falls when walking past platform edges
      */
-    public static void checkPlatformCollisions(Player player, List<GameComponent> platforms) {
+    public static void checkPlatformCollisions(Player player, List<Platform> platforms) {
+        CollisionPassEvent event = CollisionPassEvent.start(CollisionPassEvent.PLATFORMS);
         boolean isOverAnyPlatform = false;
+        int hits = 0;
         
-        for (GameComponent platform : platforms) {
-            if (platform instanceof com.miniplatformer.patterns.composite.Platform) {
-                com.miniplatformer.patterns.composite.Platform p = (com.miniplatformer.patterns.composite.Platform) platform;
-                
-                // Create a temporary entity for collision detection
-                Entity platformEntity = new Entity(p.getX(), p.getY(), p.getWidth(), p.getHeight());
+        for (Platform p : platforms) {
+            if (player.collidesWith(p)) {
+                hits++;
+                // Check if player is landing on top of platform
+                double playerBottom = player.getY() + player.getHeight();
+                double platformTop = p.getY();
+                double playerPrevBottom = playerBottom - player.getVelocityY();
                 
-                if (player.collidesWith(platformEntity)) {
-                    // Check if player is landing on top of platform
-                    double playerBottom = player.getY() + player.getHeight();
-                    double platformTop = p.getY();
-                    double playerPrevBottom = playerBottom - player.getVelocityY();
+                // If player was above the platform in the previous frame
+                if (playerPrevBottom <= platformTop + 10 && player.getVelocityY() >= 0) {
+                    boolean wasOnGround = player.isOnGround();
+                    player.setY(platformTop - player.getHeight());
+                    player.setVelocityY(0);
+                    player.setOnGround(true);
+                    isOverAnyPlatform = true;
                     
-                    // If player was above the platform in the previous frame
-                    if (playerPrevBottom <= platformTop + 10 && player.getVelocityY() >= 0) {
-                        player.setY(platformTop - player.getHeight());
-                        player.setVelocityY(0);
-                        player.setOnGround(true);
-                        isOverAnyPlatform = true;
-                        
-                        // Log collision
+                    // Log collision only when actually landing, not every tick spent standing
+                    if (!wasOnGround) {
                         GameLogger.logGameplay("Player landed on platform");
                     }
                 }
@@ -55,19 +63,20 @@ public class CollisionSystem {
             player.setOnGround(false);
             GameLogger.logGameplay("Player fell off platform edge");
         }
+        event.finish(platforms.size(), hits);
     }
 
     /**
      * Check and resolve collisions between player and enemies
      */
     public static void checkEnemyCollisions(Player player, List<Enemy> enemies) {
+        CollisionPassEvent event = CollisionPassEvent.start(CollisionPassEvent.ENEMIES);
+        int hits = 0;
         for (Enemy enemy : enemies) {
             if (!enemy.isActive()) continue;
             
-            // Create a temporary entity for collision detection
-            Entity enemyEntity = new Entity(enemy.getX(), enemy.getY(), enemy.getWidth(), enemy.getHeight());
-            
-            if (player.collidesWith(enemyEntity)) {
+            if (player.intersects(enemy.getX(), enemy.getY(), enemy.getWidth(), enemy.getHeight())) {
+                hits++;
                 // Check if player is jumping on top of enemy
                 double playerBottom = player.getY() + player.getHeight();
                 double enemyTop = enemy.getY();
@@ -79,51 +88,55 @@ public class CollisionSystem {
                     enemy.setActive(false);
                     player.setVelocityY(-5); // Bounce up
                     SoundSystem.playEnemyDefeat();
-                    GameLogger.logGameplay("Player defeated " + enemy.getType() + " enemy by jumping");
+                    GameLogger.logGameplay("Player defeated {} enemy by jumping", enemy.getType());
+                    EventJournal.record(EventJournal.Event.STOMP, EventJournal.nameId(enemy.getType()), enemy.getX(), enemy.getY());
                     maybeDropPowerup(enemy.getX(), enemy.getY());
                 } else if (player.getCharacter().hasWeapon()) {
                     // Player defeats enemy with weapon
                     enemy.setActive(false);
                     player.setVelocityY(-3); // Slight bounce for feedback
                     SoundSystem.playEnemyDefeat();
-                    GameLogger.logGameplay("Player defeated " + enemy.getType() + " enemy with weapon");
+                    GameLogger.logGameplay("Player defeated {} enemy with weapon", enemy.getType());
+                    EventJournal.record(EventJournal.Event.WEAPON_KILL, EventJournal.nameId(enemy.getType()), enemy.getX(), enemy.getY());
                     maybeDropPowerup(enemy.getX(), enemy.getY());
                 } else if (!player.getCharacter().isInvincible()) {
                     // Player takes damage
                     player.takeDamage();
-                    GameLogger.logGameplay("Player hit by " + enemy.getType());
+                    GameLogger.logGameplay("Player hit by {}", enemy.getType());
                 }
             }
         }
+        event.finish(enemies.size(), hits);
     }
 
     /**
      * Check and resolve collisions between player and collectibles
      */
-    public static void checkCollectibleCollisions(Player player, List<GameComponent> collectibles) {
-        for (GameComponent collectible : collectibles) {
-            if (collectible instanceof com.miniplatformer.patterns.composite.Collectible) {
-                com.miniplatformer.patterns.composite.Collectible c =
-                    (com.miniplatformer.patterns.composite.Collectible) collectible;
+    public static void checkCollectibleCollisions(Player player, List<Collectible> collectibles) {
+        CollisionPassEvent event = CollisionPassEvent.start(CollisionPassEvent.COLLECTIBLES);
+        int hits = 0;
+        for (Collectible c : collectibles) {
+            if (c.isActive() && player.collidesWith(c)) {
+                hits++;
+                c.collect();
+                GameLogger.logGameplay(COLLECT_LOG_LIMIT, "Player collected {}", c.getType());
                 
-                if (c.isActive() && player.collidesWith(c.getEntity())) {
-                    c.collect();
-                    GameLogger.logGameplay("Player collected " + c.getType());
-                    
-                    // Apply power-up effect to player character
-                    if (!c.getType().equals("coin")) {
-                        player.setCharacter(c.applyToCharacter(player.getCharacter()));
-                        SoundSystem.playPowerup();
-                    }
-                    
-                    // Add score for coins
-                    if (c.getType().equals("coin")) {
-                        GameManager.getInstance().addScore(c.getValue());
-                        SoundSystem.playCoin();
-                    }
+                // Apply power-up effect to player character
+                if (!c.getType().equals("coin")) {
+                    player.setCharacter(c.applyToCharacter(player.getCharacter()));
+                    SoundSystem.playPowerup();
+                    EventJournal.record(EventJournal.Event.POWERUP, EventJournal.nameId(c.getType()), c.getX(), c.getY());
+                }
+                
+                // Add score for coins
+                if (c.getType().equals("coin")) {
+                    GameManager.getInstance().addScore(c.getValue());
+                    SoundSystem.playCoin();
+                    EventJournal.record(EventJournal.Event.COIN, EventJournal.nameId(c.getType()), c.getX(), c.getY(), c.getValue());
                 }
             }
         }
+        event.finish(collectibles.size(), hits);
     }
 
     /**
@@ -135,37 +148,34 @@ public class CollisionSystem {
                player.getY() > screenHeight;
     }
 
-    /**
-     * Get collision rectangle for an entity
-     */
-    public static Rectangle getCollisionBounds(Entity entity) {
-        return new Rectangle(entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight());
-    }
-
     /**
      * Check and resolve collisions between player and obstacles (spikes, fire)
      */
-    public static void checkObstacleCollisions(Player player, List<com.miniplatformer.patterns.composite.GameComponent> components) {
-        for (com.miniplatformer.patterns.composite.GameComponent component : components) {
-            if (component instanceof com.miniplatformer.patterns.composite.Obstacle) {
-                com.miniplatformer.patterns.composite.Obstacle obstacle = (com.miniplatformer.patterns.composite.Obstacle) component;
-                
-                if (obstacle.isActive() && player.collidesWith(obstacle.getEntity())) {
-                    if (!player.getCharacter().isInvincible()) {
-                        player.takeDamage();
-                        GameLogger.logGameplay("Player hit by " + obstacle.getType());
-                    }
+    public static void checkObstacleCollisions(Player player, List<Obstacle> obstacles) {
+        CollisionPassEvent event = CollisionPassEvent.start(CollisionPassEvent.OBSTACLES);
+        int hits = 0;
+        for (Obstacle obstacle : obstacles) {
+            if (obstacle.isActive() && player.collidesWith(obstacle)) {
+                hits++;
+                if (!player.getCharacter().isInvincible()) {
+                    player.takeDamage();
+                    GameLogger.logGameplay("Player hit by {}", obstacle.getType());
                 }
             }
         }
+        event.finish(obstacles.size(), hits);
     }
 
     /**
      * Check and resolve collisions between player and projectiles
      */
-    public static void checkProjectileCollisions(Player player, List<com.miniplatformer.entities.Projectile> projectiles) {
-        for (com.miniplatformer.entities.Projectile projectile : projectiles) {
-            if (projectile.isActive() && player.collidesWith(projectile)) {
+    public static void checkProjectileCollisions(Player player, List<Projectile> projectiles) {
+        CollisionPassEvent event = CollisionPassEvent.start(CollisionPassEvent.PROJECTILES);
+        int hits = 0;
+        for (Projectile projectile : projectiles) {
+            if (projectile.isActive()
+                    && player.intersects(projectile.getX(), projectile.getY(), projectile.getWidth(), projectile.getHeight())) {
+                hits++;
                 if (!player.getCharacter().isInvincible()) {
                     player.takeDamage();
                     projectile.setActive(false);
@@ -173,27 +183,21 @@ public class CollisionSystem {
                 }
             }
         }
+        event.finish(projectiles.size(), hits);
     }
 
     /**
      * Chance to drop a power-up when an enemy is defeated
      */
     private static void maybeDropPowerup(double x, double y) {
-        java.util.Random rand = new java.util.Random();
+        SplittableRandom rand = GameManager.getInstance().getRandom().get(RandomService.Stream.DROPS);
         if (rand.nextDouble() < 0.3) { // 30% chance
-            String[] powerTypes = {"weapon", "shield", "doubleJump", "speedBoost", "invincibility", "coin"};
-            String type = powerTypes[rand.nextInt(powerTypes.length)];
+            String type = DROP_TYPES[rand.nextInt(DROP_TYPES.length)];
             GameManager.getInstance().getCurrentLevel().add(
-                new com.miniplatformer.patterns.composite.Collectible(x, y, type)
+                new Collectible(x, y, type)
             );
-            GameLogger.info("Enemy dropped a " + type + "!");
+            GameLogger.info("Enemy dropped a {}!", type);
+            EventJournal.record(EventJournal.Event.DROP, EventJournal.nameId(type), x, y);
         }
     }
-
-    /**
-     * Check if two rectangles intersect
-     */
-    public static boolean rectanglesIntersect(Rectangle r1, Rectangle r2) {
-        return r1.getBoundsInParent().intersects(r2.getBoundsInParent());
-    }
 }
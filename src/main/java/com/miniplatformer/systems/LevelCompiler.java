@@ -0,0 +1,316 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.config.GameConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the text level format into the binary form read by BinaryLevel
+ *
+ * Text format, one statement per line, '#' starts a comment:
+ *   level "NAME" WIDTH HEIGHT
+ *   platform X Y WIDTH HEIGHT [COLOR]
+ *   coin X Y
+ *   collectible TYPE X Y
+ *   obstacle TYPE X Y
+ *   enemy TYPE X Y
+ *   random-powerups MIN MAX TYPE...
+ *
+ * Objects are stable-sorted by chunk column (see BinaryLevel for the layout), so a level's
+ * file order is kept within a chunk. Run during the build for every level in a directory:
+ * java -cp mini-platformer.jar com.miniplatformer.systems.LevelCompiler src/main/resources/levels target/classes/levels
+ */
+public final class LevelCompiler {
+    private static final String[] ENEMY_TYPES = {"goomba", "koopa", "flying", "shooter"};
+    private static final String[] COLLECTIBLE_TYPES = {"coin", "speedBoost", "shield", "weapon", "doubleJump", "invincibility"};
+    private static final String[] OBSTACLE_TYPES = {"spike", "fire"};
+
+    private LevelCompiler() {
+    }
+
+    /**
+     * Compile a text level into a little-endian buffer ready to be written or read by BinaryLevel
+     */
+    public static ByteBuffer compile(List<String> lines) {
+        Builder builder = new Builder();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            try {
+                builder.statement(line);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compile one text level file into a binary level file
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        ByteBuffer compiled = compile(Files.readAllLines(source, StandardCharsets.UTF_8));
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (compiled.hasRemaining()) {
+                channel.write(compiled);
+            }
+        }
+    }
+
+    private static final class Builder {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private byte[] kinds = new byte[64];
+        private short[] types = new short[64];
+        private float[] bounds = new float[64 * 4];
+        private int count;
+        private int enemyCount;
+        private String name;
+        private float width;
+        private float height;
+        private int powerupMin;
+        private int powerupMax;
+        private short[] powerupTypes = new short[0];
+
+        void statement(String line) {
+            if (line.startsWith("level ")) {
+                int open = line.indexOf('"');
+                int close = line.indexOf('"', open + 1);
+                if (open < 0 || close < 0) {
+                    throw new IllegalArgumentException("expected 'level \"NAME\" WIDTH HEIGHT'");
+                }
+                name = line.substring(open + 1, close);
+                String[] size = line.substring(close + 1).trim().split("\\s+");
+                expect(size, 2, "level \"NAME\" WIDTH HEIGHT");
+                width = number(size[0]);
+                height = number(size[1]);
+                return;
+            }
+
+            String[] parts = line.split("\\s+");
+            switch (parts[0]) {
+                case "platform":
+                    if (parts.length != 5 && parts.length != 6) {
+                        throw new IllegalArgumentException("expected 'platform X Y WIDTH HEIGHT [COLOR]'");
+                    }
+                    add(BinaryLevel.PLATFORM, parts.length == 6 ? parts[5] : GameConfig.COLOR_PLATFORM,
+                        number(parts[1]), number(parts[2]), number(parts[3]), number(parts[4]));
+                    break;
+                case "coin":
+                    expect(parts, 3, "coin X Y");
+                    add(BinaryLevel.COLLECTIBLE, "coin", number(parts[1]), number(parts[2]), 0, 0);
+                    break;
+                case "collectible":
+                    expect(parts, 4, "collectible TYPE X Y");
+                    add(BinaryLevel.COLLECTIBLE, known(parts[1], COLLECTIBLE_TYPES), number(parts[2]), number(parts[3]), 0, 0);
+                    break;
+                case "obstacle":
+                    expect(parts, 4, "obstacle TYPE X Y");
+                    add(BinaryLevel.OBSTACLE, known(parts[1], OBSTACLE_TYPES), number(parts[2]), number(parts[3]), 0, 0);
+                    break;
+                case "enemy":
+                    expect(parts, 4, "enemy TYPE X Y");
+                    add(BinaryLevel.ENEMY, known(parts[1], ENEMY_TYPES), number(parts[2]), number(parts[3]), 0, 0);
+                    enemyCount++;
+                    break;
+                case "random-powerups":
+                    if (parts.length < 4) {
+                        throw new IllegalArgumentException("expected 'random-powerups MIN MAX TYPE...'");
+                    }
+                    powerupMin = (int) number(parts[1]);
+                    powerupMax = (int) number(parts[2]);
+                    if (powerupMin < 0 || powerupMax < powerupMin || powerupMax > 255) {
+                        throw new IllegalArgumentException("random-powerups needs 0 <= MIN <= MAX <= 255");
+                    }
+                    powerupTypes = new short[parts.length - 3];
+                    for (int i = 3; i < parts.length; i++) {
+                        powerupTypes[i - 3] = string(known(parts[i], COLLECTIBLE_TYPES));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown statement '" + parts[0] + "'");
+            }
+        }
+
+        private void add(byte kind, String type, float x, float y, float w, float h) {
+            if (count == kinds.length) {
+                kinds = Arrays.copyOf(kinds, count * 2);
+                types = Arrays.copyOf(types, count * 2);
+                bounds = Arrays.copyOf(bounds, count * 2 * 4);
+            }
+            kinds[count] = kind;
+            types[count] = string(type);
+            bounds[count * 4] = x;
+            bounds[count * 4 + 1] = y;
+            bounds[count * 4 + 2] = w;
+            bounds[count * 4 + 3] = h;
+            count++;
+        }
+
+        private short string(String value) {
+            Integer id = stringIds.get(value);
+            if (id == null) {
+                id = strings.size();
+                if (id > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("too many distinct names");
+                }
+                strings.add(value);
+                stringIds.put(value, id);
+            }
+            return (short) (int) id;
+        }
+
+        ByteBuffer build() {
+            if (name == null) {
+                throw new IllegalArgumentException("missing 'level \"NAME\" WIDTH HEIGHT' statement");
+            }
+            float chunkWidth = (float) GameConfig.LEVEL_CHUNK_WIDTH;
+            int chunkCount = Math.max(1, (int) Math.ceil(width / chunkWidth));
+
+            // Stable counting sort by chunk column
+            int[] chunkStarts = new int[chunkCount + 1];
+            int[] chunkOf = new int[count];
+            for (int i = 0; i < count; i++) {
+                chunkOf[i] = Math.max(0, Math.min(chunkCount - 1, (int) Math.floor(bounds[i * 4] / chunkWidth)));
+                chunkStarts[chunkOf[i] + 1]++;
+            }
+            for (int c = 0; c < chunkCount; c++) {
+                chunkStarts[c + 1] += chunkStarts[c];
+            }
+            int[] order = new int[count];
+            int[] cursor = Arrays.copyOf(chunkStarts, chunkCount);
+            for (int i = 0; i < count; i++) {
+                order[cursor[chunkOf[i]]++] = i;
+            }
+
+            byte[][] encoded = new byte[strings.size()][];
+            int stringBytes = 0;
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                stringBytes += 2 + encoded[i].length;
+            }
+            byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+
+            int chunkTableOffset = BinaryLevel.HEADER_SIZE;
+            int powerupOffset = chunkTableOffset + (chunkCount + 1) * 4;
+            int recordOffset = align(powerupOffset + powerupTypes.length * 2);
+            int stringOffset = recordOffset + count * BinaryLevel.RECORD_SIZE;
+            int nameOffset = stringOffset + stringBytes;
+            int size = nameOffset + 2 + encodedName.length;
+
+            ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(BinaryLevel.MAGIC)
+                .putShort(BinaryLevel.VERSION)
+                .putShort((short) BinaryLevel.RECORD_SIZE)
+                .putInt(count)
+                .putInt(enemyCount)
+                .putFloat(width)
+                .putFloat(height)
+                .putFloat(chunkWidth)
+                .putInt(chunkCount)
+                .putInt(strings.size())
+                .put((byte) powerupMin)
+                .put((byte) powerupMax)
+                .putShort((short) powerupTypes.length)
+                .putInt(chunkTableOffset)
+                .putInt(powerupOffset)
+                .putInt(recordOffset)
+                .putInt(stringOffset)
+                .putInt(nameOffset);
+
+            out.position(chunkTableOffset);
+            for (int start : chunkStarts) {
+                out.putInt(start);
+            }
+            for (short type : powerupTypes) {
+                out.putShort(type);
+            }
+            out.position(recordOffset);
+            for (int i : order) {
+                out.put(kinds[i]).put((byte) 0).putShort(types[i])
+                    .putFloat(bounds[i * 4]).putFloat(bounds[i * 4 + 1])
+                    .putFloat(bounds[i * 4 + 2]).putFloat(bounds[i * 4 + 3]);
+            }
+            for (byte[] string : encoded) {
+                out.putShort((short) string.length).put(string);
+            }
+            out.putShort((short) encodedName.length).put(encodedName);
+            out.flip();
+            return out;
+        }
+
+        private static int align(int offset) {
+            return (offset + 3) & ~3;
+        }
+    }
+
+    private static void expect(String[] parts, int length, String usage) {
+        if (parts.length != length) {
+            throw new IllegalArgumentException("expected '" + usage + "'");
+        }
+    }
+
+    private static float number(String value) {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid number '" + value + "'");
+        }
+    }
+
+    private static String known(String type, String[] types) {
+        for (String candidate : types) {
+            if (candidate.equals(type)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("unknown type '" + type + "', expected one of " + Arrays.toString(types));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelCompiler SOURCE.txt|SOURCE_DIR TARGET_DIR");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        Path targetDir = Path.of(args[1]);
+        List<Path> sources = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                files.filter(file -> file.toString().endsWith(".txt")).sorted().forEach(sources::add);
+            }
+        } else {
+            sources.add(source);
+        }
+
+        for (Path file : sources) {
+            String fileName = file.getFileName().toString();
+            Path target = targetDir.resolve(fileName.substring(0, fileName.length() - ".txt".length()) + BinaryLevel.EXTENSION);
+            try {
+                compile(file, target);
+            } catch (IllegalArgumentException e) {
+                System.err.println(file + ": " + e.getMessage());
+                System.exit(1);
+            }
+            System.out.println("Compiled " + file + " -> " + target + " (" + Files.size(target) + " bytes)");
+        }
+    }
+}
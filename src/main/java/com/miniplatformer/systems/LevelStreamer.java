@@ -0,0 +1,331 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.core.GameManager;
+import com.miniplatformer.patterns.composite.Collectible;
+import com.miniplatformer.patterns.composite.GameComponent;
+import com.miniplatformer.patterns.composite.Level;
+import com.miniplatformer.patterns.factory.Enemy;
+import com.miniplatformer.utils.GameLogger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams a chunked level in and out around the player
+ * Chunks within STREAM_LOAD_DISTANCE of the player's chunk are decoded on a background thread
+ * and attached to the Level one per tick, STREAM_ATTACH_DELAY_TICKS after they were requested
+ * (immediately for the player's chunk and its neighbours) so attach ticks never depend on the
+ * loader thread's timing and recorded sessions replay exactly; chunks beyond STREAM_EVICT_DISTANCE are detached and
+ * dropped, so only a handful are ever in memory however long the world is. What was collected
+ * or defeated in a chunk is kept as a bit per entry and skipped when the chunk comes back.
+ *
+ * Everything except ChunkSource.load runs on the game thread, from update().
+ */
+public class LevelStreamer implements AutoCloseable {
+    private final ChunkSource source;
+    private final Level level;
+    private final ExecutorService loader; // Null loads synchronously, for deterministic headless runs
+    private final Map<Integer, PendingChunk> pending = new HashMap<>();
+    private final Map<Integer, LoadedChunk> loaded = new HashMap<>();
+    private final Map<Integer, BitSet> removedEntries = new HashMap<>(); // Collected or defeated, per chunk
+    private final List<GameComponent> detached = new ArrayList<>(); // Scratch for detach
+    private final Set<Enemy> detachedEnemies = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int defeatedEnemies;
+    private long ticks; // update() calls so far, the clock chunk attach times are set on
+
+    /**
+     * A chunk being decoded and the tick it attaches on
+     */
+    private static final class PendingChunk {
+        final CompletableFuture<ChunkData> future;
+        final long dueTick;
+
+        PendingChunk(CompletableFuture<ChunkData> future, long dueTick) {
+            this.future = future;
+            this.dueTick = dueTick;
+        }
+    }
+
+    /**
+     * Objects instantiated from one attached chunk, indexed by chunk entry
+     */
+    private static final class LoadedChunk {
+        final ChunkData data;
+        final GameComponent[] components;
+        final Enemy[] enemies;
+
+        LoadedChunk(ChunkData data) {
+            this.data = data;
+            this.components = new GameComponent[data.size()];
+            this.enemies = new Enemy[data.size()];
+        }
+    }
+
+    /**
+     * @param background decode chunks on a streaming thread; false decodes them inline when needed
+     */
+    public LevelStreamer(ChunkSource source, boolean background) {
+        this.source = source;
+        this.level = new Level("Streamed world", source.getChunkCount() * GameConfig.LEVEL_CHUNK_WIDTH, source.getHeight());
+        this.loader = background ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-streamer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        GameLogger.info("Streaming a {}-chunk world", source.getChunkCount());
+    }
+
+    /**
+     * Load, attach and evict chunks around the player; called once per tick
+     */
+    public void update(GameManager manager) {
+        if (manager.getPlayer() == null) return;
+        int center = chunkAt(manager.getPlayer().getX());
+        ticks++;
+
+        recordDefeats();
+
+        // Evict far chunks, forgetting loads that are no longer wanted
+        Iterator<Map.Entry<Integer, LoadedChunk>> loadedChunks = loaded.entrySet().iterator();
+        while (loadedChunks.hasNext()) {
+            Map.Entry<Integer, LoadedChunk> entry = loadedChunks.next();
+            if (Math.abs(entry.getKey() - center) > GameConfig.STREAM_EVICT_DISTANCE) {
+                detach(entry.getValue(), manager);
+                loadedChunks.remove();
+            }
+        }
+        pending.entrySet().removeIf(entry -> {
+            boolean unwanted = Math.abs(entry.getKey() - center) > GameConfig.STREAM_EVICT_DISTANCE;
+            if (unwanted) {
+                entry.getValue().future.cancel(false);
+            }
+            return unwanted;
+        });
+
+        // Request what is about to come into range
+        int first = Math.max(0, center - GameConfig.STREAM_LOAD_DISTANCE);
+        int last = Math.min(source.getChunkCount() - 1, center + GameConfig.STREAM_LOAD_DISTANCE);
+        for (int index = first; index <= last; index++) {
+            if (!loaded.containsKey(index) && !pending.containsKey(index)) {
+                pending.put(index, new PendingChunk(request(index), ticks + GameConfig.STREAM_ATTACH_DELAY_TICKS));
+            }
+        }
+
+        // The player's chunk and its neighbours must be there now. Others attach one per tick once
+        // due, whether or not the loader finished early, so a chunk attaches on the same tick with a
+        // background loader, a synchronous one or in a replay
+        for (int index = Math.max(0, center - 1); index <= Math.min(source.getChunkCount() - 1, center + 1); index++) {
+            PendingChunk chunk = pending.remove(index);
+            if (chunk != null) {
+                attach(await(chunk.future), manager);
+            }
+        }
+        int nearest = -1;
+        for (Map.Entry<Integer, PendingChunk> entry : pending.entrySet()) {
+            int index = entry.getKey();
+            if (entry.getValue().dueTick <= ticks && (nearest < 0
+                || Math.abs(index - center) < Math.abs(nearest - center)
+                || Math.abs(index - center) == Math.abs(nearest - center) && index < nearest)) {
+                nearest = index;
+            }
+        }
+        if (nearest >= 0) {
+            attach(await(pending.remove(nearest).future), manager);
+        }
+    }
+
+    private CompletableFuture<ChunkData> request(int index) {
+        if (loader == null || loader.isShutdown()) {
+            return CompletableFuture.completedFuture(decode(index));
+        }
+        return CompletableFuture.supplyAsync(() -> decode(index), loader);
+    }
+
+    private ChunkData decode(int index) {
+        try {
+            return source.load(index);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load level chunk " + index, e);
+        }
+    }
+
+    private static ChunkData await(CompletableFuture<ChunkData> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading a level chunk", e);
+        } catch (ExecutionException | CancellationException e) {
+            throw new IllegalStateException("Level chunk failed to load", e);
+        }
+    }
+
+    private void attach(ChunkData data, GameManager manager) {
+        LoadedChunk chunk = new LoadedChunk(data);
+        BitSet removed = removedEntries.get(data.getIndex());
+        for (int entry = 0; entry < data.size(); entry++) {
+            if (removed != null && removed.get(entry)) continue;
+            if (data.getKind(entry) == ChunkData.ENEMY) {
+                Enemy enemy = data.createEnemy(entry);
+                chunk.enemies[entry] = enemy;
+                manager.getEnemies().add(enemy);
+            } else {
+                GameComponent component = data.createComponent(entry);
+                chunk.components[entry] = component;
+                level.add(component);
+            }
+        }
+        loaded.put(data.getIndex(), chunk);
+    }
+
+    private void detach(LoadedChunk chunk, GameManager manager) {
+        int index = chunk.data.getIndex();
+        for (int entry = 0; entry < chunk.data.size(); entry++) {
+            GameComponent component = chunk.components[entry];
+            if (component != null) {
+                if (component instanceof Collectible && !component.isActive()) {
+                    markRemoved(index, entry);
+                }
+                detached.add(component);
+            }
+            Enemy enemy = chunk.enemies[entry];
+            if (enemy != null) {
+                // Survivors respawn at their spawn point when the chunk comes back, the defeated don't
+                detachedEnemies.add(enemy);
+            }
+        }
+
+        // Enemy drops and anything else added at run time in this chunk's span go with it
+        double left = index * GameConfig.LEVEL_CHUNK_WIDTH;
+        double right = left + GameConfig.LEVEL_CHUNK_WIDTH;
+        for (GameComponent component : level.getComponents()) {
+            if (component.getX() >= left && component.getX() < right) {
+                detached.add(component);
+            }
+        }
+        // One pass over each list instead of one per entry
+        level.removeAll(detached);
+        detached.clear();
+        if (!detachedEnemies.isEmpty()) {
+            manager.getEnemies().removeIf(detachedEnemies::contains);
+            detachedEnemies.clear();
+        }
+    }
+
+    private void recordDefeats() {
+        for (LoadedChunk chunk : loaded.values()) {
+            for (int entry = 0; entry < chunk.enemies.length; entry++) {
+                Enemy enemy = chunk.enemies[entry];
+                if (enemy != null && !enemy.isActive() && !isRemoved(chunk.data.getIndex(), entry)) {
+                    markRemoved(chunk.data.getIndex(), entry);
+                    defeatedEnemies++;
+                }
+            }
+        }
+    }
+
+    private boolean isRemoved(int chunk, int entry) {
+        BitSet removed = removedEntries.get(chunk);
+        return removed != null && removed.get(entry);
+    }
+
+    private void markRemoved(int chunk, int entry) {
+        removedEntries.computeIfAbsent(chunk, index -> new BitSet()).set(entry);
+    }
+
+    private int chunkAt(double x) {
+        int index = (int) Math.floor(x / GameConfig.LEVEL_CHUNK_WIDTH);
+        return Math.max(0, Math.min(source.getChunkCount() - 1, index));
+    }
+
+    /**
+     * Copy of what is loaded, pending and removed, for replay keyframes
+     * Loaded chunks and the objects in them are shared: the level and enemy states hold their changes.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Put back a saved state; it is left untouched, so it can be restored again
+     */
+    public void restore(Snapshot snapshot) {
+        pending.clear();
+        for (Map.Entry<Integer, PendingChunk> entry : snapshot.pending.entrySet()) {
+            PendingChunk chunk = entry.getValue();
+            // A load cancelled by an eviction since, or dropped when the streamer was closed, starts over
+            if (chunk.future.isCompletedExceptionally()
+                    || !chunk.future.isDone() && loader != null && loader.isShutdown()) {
+                chunk = new PendingChunk(request(entry.getKey()), chunk.dueTick);
+            }
+            pending.put(entry.getKey(), chunk);
+        }
+        loaded.clear();
+        loaded.putAll(snapshot.loaded);
+        removedEntries.clear();
+        for (Map.Entry<Integer, BitSet> entry : snapshot.removedEntries.entrySet()) {
+            removedEntries.put(entry.getKey(), (BitSet) entry.getValue().clone());
+        }
+        defeatedEnemies = snapshot.defeatedEnemies;
+        ticks = snapshot.ticks;
+    }
+
+    public static final class Snapshot {
+        private final Map<Integer, PendingChunk> pending;
+        private final Map<Integer, LoadedChunk> loaded;
+        private final Map<Integer, BitSet> removedEntries = new HashMap<>();
+        private final int defeatedEnemies;
+        private final long ticks;
+
+        private Snapshot(LevelStreamer streamer) {
+            this.pending = new HashMap<>(streamer.pending);
+            this.loaded = new HashMap<>(streamer.loaded);
+            for (Map.Entry<Integer, BitSet> entry : streamer.removedEntries.entrySet()) {
+                removedEntries.put(entry.getKey(), (BitSet) entry.getValue().clone());
+            }
+            this.defeatedEnemies = streamer.defeatedEnemies;
+            this.ticks = streamer.ticks;
+        }
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Enemies in the whole world not yet defeated, loaded or not
+     */
+    public int getRemainingEnemies() {
+        recordDefeats();
+        return source.getTotalEnemyCount() - defeatedEnemies;
+    }
+
+    public int getLoadedChunkCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Stop the streaming thread; chunks still loading are dropped, and any requested later are decoded inline
+     */
+    @Override
+    public void close() {
+        if (loader != null) {
+            loader.shutdownNow();
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,163 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.config.GameConfig;
+import com.miniplatformer.utils.GameLogger;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs the data-parallel update phases (enemy AI, projectiles, level animation) on a fork-join pool
+ * A phase below PARALLEL_UPDATE_THRESHOLD entities runs inline on the game thread, exactly as
+ * before. Above it, the entities are cut into fixed PARALLEL_BATCH_SIZE batches whatever the
+ * core count; each batch only mutates its own entities and records anything else into its
+ * PhaseCommandBuffer, and the buffers are applied in batch order when the phase ends. A
+ * parallel tick therefore produces the same result as a single-threaded one.
+ *
+ * The pool is started on the first phase large enough to need it.
+ */
+public class ParallelPhases implements AutoCloseable {
+    /**
+     * Update of the entities in [from, to) of a phase
+     */
+    @FunctionalInterface
+    public interface RangeAction {
+        void update(int from, int to);
+    }
+
+    private final int threshold;
+    private final int batchSize;
+    private final int threads;
+    private ForkJoinPool pool;
+    private PhaseCommandBuffer[] buffers = new PhaseCommandBuffer[0];
+    private RangeAction action;
+    private int size;
+
+    public ParallelPhases() {
+        this(GameConfig.PARALLEL_UPDATE_THRESHOLD, GameConfig.PARALLEL_BATCH_SIZE, GameConfig.UPDATE_THREADS);
+    }
+
+    public ParallelPhases(int threshold, int batchSize, int threads) {
+        this.threshold = threshold;
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = threads;
+    }
+
+    /**
+     * Update every element of a list, in parallel batches when the list is large enough
+     */
+    public <T> void forEach(List<T> items, Consumer<? super T> update) {
+        if (!isParallel(items.size())) {
+            for (int i = 0; i < items.size(); i++) {
+                update.accept(items.get(i));
+            }
+            return;
+        }
+        run(items.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                update.accept(items.get(i));
+            }
+        });
+    }
+
+    /**
+     * Update the entities [0, size) of a phase, in parallel batches when there are enough of them
+     */
+    public void run(int size, RangeAction action) {
+        if (!isParallel(size)) {
+            action.update(0, size);
+            return;
+        }
+
+        int batches = (size + batchSize - 1) / batchSize;
+        if (buffers.length < batches) {
+            int old = buffers.length;
+            buffers = Arrays.copyOf(buffers, batches);
+            for (int i = old; i < batches; i++) {
+                buffers[i] = new PhaseCommandBuffer();
+            }
+        }
+        this.action = action;
+        this.size = size;
+        try {
+            pool().invoke(new BatchTask(0, batches));
+        } catch (RuntimeException e) {
+            for (int i = 0; i < batches; i++) {
+                buffers[i].clear();
+            }
+            throw e;
+        } finally {
+            this.action = null;
+        }
+
+        // Cross-entity effects land in the order a sequential pass would have produced them
+        for (int i = 0; i < batches; i++) {
+            buffers[i].apply();
+        }
+    }
+
+    private boolean isParallel(int size) {
+        return size >= threshold && threads > 1 && size > batchSize;
+    }
+
+    private void runBatch(int batch) {
+        PhaseCommandBuffer buffer = buffers[batch];
+        int from = batch * batchSize;
+        buffer.begin();
+        try {
+            action.update(from, Math.min(size, from + batchSize));
+        } finally {
+            buffer.end();
+        }
+    }
+
+    private final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int first;
+        private final int last;
+
+        BatchTask(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first == 1) {
+                runBatch(first);
+                return;
+            }
+            int middle = (first + last) >>> 1;
+            invokeAll(new BatchTask(first, middle), new BatchTask(middle, last));
+        }
+    }
+
+    private ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threads, forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("update-worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+            GameLogger.info("Parallel update phases started on {} threads", threads);
+        }
+        return pool;
+    }
+
+    /**
+     * Stop the worker threads; later phases restart them if needed
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.miniplatformer.systems;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Side effects recorded by one batch of a parallel update phase
+ * Entities updated in parallel must not touch shared game state (spawning projectiles, sounds,
+ * logs, the event journal); they hand such effects to run() instead. On the game thread run()
+ * executes them at once, inside a parallel batch it records them, and ParallelPhases applies
+ * every batch's buffer in batch order once the phase is over, i.e. in the same order a
+ * single-threaded update would have produced them.
+ */
+public final class PhaseCommandBuffer {
+    private static final ThreadLocal<PhaseCommandBuffer> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> commands = new ArrayList<>();
+
+    /**
+     * Run a side effect on shared state now, or after the phase when called from a parallel batch
+     */
+    public static void run(Runnable command) {
+        PhaseCommandBuffer buffer = CURRENT.get();
+        if (buffer == null) {
+            command.run();
+        } else {
+            buffer.commands.add(command);
+        }
+    }
+
+    void begin() {
+        CURRENT.set(this);
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Run the recorded commands in recording order and forget them; game thread only
+     */
+    void apply() {
+        for (int i = 0; i < commands.size(); i++) {
+            commands.get(i).run();
+        }
+        commands.clear();
+    }
+
+    void clear() {
+        commands.clear();
+    }
+}
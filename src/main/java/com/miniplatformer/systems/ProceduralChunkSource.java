@@ -0,0 +1,125 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.config.GameConfig;
+
+import java.util.Random;
+
+/**
+ * Chunk source generating an arbitrarily long world from a seed
+ * Each chunk is generated from its own seeded random stream, so it comes out identical however
+ * often and in whatever order it is loaded, and nothing about the world is held in memory.
+ * Chunk 0 keeps the area around the player's start free of gaps and enemies.
+ */
+public class ProceduralChunkSource implements ChunkSource {
+    private static final double GROUND_Y = 550;
+    private static final double GROUND_HEIGHT = 50;
+    private static final double[] PLATFORM_ROWS = {450, 380, 300, 220, 150};
+    private static final String[] ENEMY_TYPES = {"goomba", "koopa", "flying", "shooter"};
+    private static final String[] POWERUP_TYPES = {"weapon", "shield", "doubleJump", "speedBoost", "invincibility"};
+    private static final double SAFE_START_WIDTH = 320;
+
+    private final long seed;
+    private final int chunkCount;
+    private final int totalEnemyCount;
+
+    public ProceduralChunkSource(long seed, int chunkCount) {
+        this.seed = seed;
+        this.chunkCount = chunkCount;
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += enemyCount(chunkRandom(i));
+        }
+        this.totalEnemyCount = total;
+    }
+
+    @Override
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    public double getHeight() {
+        return GameConfig.WINDOW_HEIGHT;
+    }
+
+    @Override
+    public int getTotalEnemyCount() {
+        return totalEnemyCount;
+    }
+
+    @Override
+    public ChunkData load(int index) {
+        Random random = chunkRandom(index);
+        ChunkData chunk = new ChunkData(index);
+        double left = index * GameConfig.LEVEL_CHUNK_WIDTH;
+        double right = left + GameConfig.LEVEL_CHUNK_WIDTH;
+        double safeRight = index == 0 ? left + SAFE_START_WIDTH : left;
+
+        // Must stay the first draw: the constructor counts enemies from it alone
+        int enemies = enemyCount(random);
+
+        // Ground segments separated by gaps, some of them spiked
+        double x = left;
+        while (x < right) {
+            double width = Math.min(160 + random.nextInt(240), right - x);
+            if (x < safeRight) {
+                width = Math.min(Math.max(width, safeRight - x), right - x);
+            }
+            chunk.addPlatform(x, GROUND_Y, width, GROUND_HEIGHT, GameConfig.COLOR_PLATFORM);
+            if (width > 60) {
+                chunk.addCollectible(x + width / 2 - 10, GROUND_Y - 30, "coin");
+            }
+            x += width;
+            if (x >= right) break;
+            double gap = 60 + random.nextInt(60);
+            if (random.nextInt(3) == 0) {
+                chunk.addObstacle(x + gap / 2 - GameConfig.OBSTACLE_WIDTH / 2.0, GROUND_Y + 18, "spike");
+            }
+            x += gap;
+        }
+
+        // Floating platforms, each with a coin and sometimes fire or a power-up on top
+        int floating = 4 + random.nextInt(4);
+        for (int i = 0; i < floating; i++) {
+            double width = 80 + random.nextInt(80);
+            double platformX = left + random.nextInt((int) (GameConfig.LEVEL_CHUNK_WIDTH - width));
+            double platformY = PLATFORM_ROWS[random.nextInt(PLATFORM_ROWS.length)];
+            chunk.addPlatform(platformX, platformY, width, 20, GameConfig.COLOR_PLATFORM);
+            chunk.addCollectible(platformX + width / 2 - 10, platformY - 30, "coin");
+            int extra = random.nextInt(8);
+            if (extra == 0) {
+                chunk.addObstacle(platformX + 4, platformY - GameConfig.OBSTACLE_HEIGHT, "fire");
+            } else if (extra == 1) {
+                chunk.addCollectible(platformX + width - 24, platformY - 30,
+                    POWERUP_TYPES[random.nextInt(POWERUP_TYPES.length)]);
+            }
+        }
+
+        for (int i = 0; i < enemies; i++) {
+            String type = ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)];
+            double enemyX = Math.max(safeRight, left) + random.nextInt((int) (right - Math.max(safeRight, left) - GameConfig.ENEMY_WIDTH));
+            double enemyY;
+            switch (type) {
+                case "flying":
+                    enemyY = 200 + random.nextInt(100);
+                    break;
+                case "shooter":
+                    enemyY = 418;
+                    break;
+                default:
+                    enemyY = GROUND_Y - GameConfig.ENEMY_HEIGHT;
+                    break;
+            }
+            chunk.addEnemy(type, enemyX, enemyY);
+        }
+        return chunk;
+    }
+
+    private Random chunkRandom(int index) {
+        return new Random(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private static int enemyCount(Random random) {
+        return 1 + random.nextInt(3);
+    }
+}
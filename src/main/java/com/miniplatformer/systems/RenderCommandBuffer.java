@@ -0,0 +1,410 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.patterns.composite.GameComponent;
+import com.miniplatformer.patterns.factory.Enemy;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Render command buffer for the Canvas backend
+ * Draw calls are recorded into preallocated primitive arrays during a frame, then sorted by layer
+ * and, within a layer, by paint, alpha, line width and font before being flushed to the
+ * GraphicsContext, which only sees a state change when the state actually differs. Colours,
+ * images and fonts are interned once into small id tables, so no hex string is parsed per frame.
+ *
+ * Layers are drawn in increasing order; commands inside one layer may be reordered, so anything
+ * that must stack in a fixed order goes in separate layers. Used on the JavaFX application thread.
+ */
+public class RenderCommandBuffer {
+    private static final byte FILL_RECT = 0;
+    private static final byte FILL_OVAL = 1;
+    private static final byte STROKE_RECT = 2;
+    private static final byte STROKE_OVAL = 3;
+    private static final byte STROKE_LINE = 4;
+    private static final byte FILL_TEXT = 5;
+    private static final byte DRAW_IMAGE = 6;
+    private static final byte DEFERRED_COMPONENT = 7;
+    private static final byte DEFERRED_ENEMY = 8;
+
+    public static final int MAX_LAYERS = 32;
+    private static final int SEQUENCE_BITS = 24;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int COORDS = 8;
+
+    // Interned paints, images and fonts shared by every buffer; ids are stable for the session
+    private static final List<Color> colors = new ArrayList<>();
+    private static final Map<String, Integer> colorIds = new HashMap<>();
+    private static final List<Image> images = new ArrayList<>();
+    private static final Map<Image, Integer> imageIds = new IdentityHashMap<>();
+    private static final ArrayDeque<Integer> freeImageIds = new ArrayDeque<>();
+    private static final List<Font> fonts = new ArrayList<>();
+    private static final Map<Font, Integer> fontIds = new IdentityHashMap<>();
+
+    private long[] keys;
+    private byte[] kinds;
+    private int[] materials; // Colour id, or image id for DRAW_IMAGE
+    private int[] fontIndexes;
+    private float[] alphas;
+    private float[] lineWidths;
+    private double[] coords;
+    private Object[] refs;
+    private int count;
+    private double offsetX;
+    private double offsetY;
+
+    // Metrics for the last flush
+    private int lastCommandCount;
+    private int lastStateChanges;
+
+    public RenderCommandBuffer() {
+        this(1024);
+    }
+
+    public RenderCommandBuffer(int initialCapacity) {
+        keys = new long[initialCapacity];
+        kinds = new byte[initialCapacity];
+        materials = new int[initialCapacity];
+        fontIndexes = new int[initialCapacity];
+        alphas = new float[initialCapacity];
+        lineWidths = new float[initialCapacity];
+        coords = new double[initialCapacity * COORDS];
+        refs = new Object[initialCapacity];
+    }
+
+    /**
+     * Intern a web colour string (e.g. "#FF6B6B"), parsing it only the first time
+     */
+    public static int colorId(String web) {
+        Integer id = colorIds.get(web);
+        if (id == null) {
+            id = colors.size();
+            colors.add(Color.web(web));
+            colorIds.put(web, id);
+        }
+        return id;
+    }
+
+    /**
+     * Intern a colour constant such as Color.WHITE; callers keep the id rather than calling per frame
+     */
+    public static int colorId(Color color) {
+        return colorId(color.toString());
+    }
+
+    public static int imageId(Image image) {
+        Integer id = imageIds.get(image);
+        if (id == null) {
+            if (freeImageIds.isEmpty()) {
+                id = images.size();
+                images.add(image);
+            } else {
+                id = freeImageIds.poll();
+                images.set(id, image);
+            }
+            imageIds.put(image, id);
+        }
+        return id;
+    }
+
+    /**
+     * Forget an image that will no longer be drawn (e.g. a rebuilt tile) so its id can be reused
+     */
+    public static void releaseImage(int id) {
+        Image image = images.get(id);
+        if (image == null) return;
+        imageIds.remove(image);
+        images.set(id, null);
+        freeImageIds.add(id);
+    }
+
+    public static int fontId(Font font) {
+        Integer id = fontIds.get(font);
+        if (id == null) {
+            id = fonts.size();
+            fonts.add(font);
+            fontIds.put(font, id);
+        }
+        return id;
+    }
+
+    /**
+     * Shift every following command, like GraphicsContext.translate
+     */
+    public void translate(double dx, double dy) {
+        offsetX += dx;
+        offsetY += dy;
+    }
+
+    public void fillRect(int layer, int color, double alpha, double x, double y, double w, double h) {
+        shape(FILL_RECT, layer, color, alpha, 0, x, y, w, h);
+    }
+
+    public void fillOval(int layer, int color, double alpha, double x, double y, double w, double h) {
+        shape(FILL_OVAL, layer, color, alpha, 0, x, y, w, h);
+    }
+
+    public void strokeRect(int layer, int color, double alpha, double lineWidth, double x, double y, double w, double h) {
+        shape(STROKE_RECT, layer, color, alpha, lineWidth, x, y, w, h);
+    }
+
+    public void strokeOval(int layer, int color, double alpha, double lineWidth, double x, double y, double w, double h) {
+        shape(STROKE_OVAL, layer, color, alpha, lineWidth, x, y, w, h);
+    }
+
+    public void strokeLine(int layer, int color, double alpha, double lineWidth, double x1, double y1, double x2, double y2) {
+        int i = add(STROKE_LINE, layer, color, 0, alpha, lineWidth);
+        int c = i * COORDS;
+        coords[c] = x1 + offsetX;
+        coords[c + 1] = y1 + offsetY;
+        coords[c + 2] = x2 + offsetX;
+        coords[c + 3] = y2 + offsetY;
+    }
+
+    public void fillText(int layer, int color, int font, String text, double x, double y) {
+        int i = add(FILL_TEXT, layer, color, font, 1.0, 0);
+        int c = i * COORDS;
+        coords[c] = x + offsetX;
+        coords[c + 1] = y + offsetY;
+        refs[i] = text;
+    }
+
+    /**
+     * Draw a region of an image (e.g. an atlas page) into the destination rectangle
+     */
+    public void drawImage(int layer, int image, double alpha, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        int i = add(DRAW_IMAGE, layer, image, 0, alpha, 0);
+        int c = i * COORDS;
+        coords[c] = sx;
+        coords[c + 1] = sy;
+        coords[c + 2] = sw;
+        coords[c + 3] = sh;
+        coords[c + 4] = dx + offsetX;
+        coords[c + 5] = dy + offsetY;
+        coords[c + 6] = dw;
+        coords[c + 7] = dh;
+    }
+
+    /**
+     * Let a component draw itself directly when the frame is flushed, at the current offset
+     */
+    public void drawDeferred(int layer, GameComponent component) {
+        deferred(DEFERRED_COMPONENT, layer, component);
+    }
+
+    /**
+     * Let an enemy draw itself directly when the frame is flushed, at the current offset
+     */
+    public void drawDeferred(int layer, Enemy enemy) {
+        deferred(DEFERRED_ENEMY, layer, enemy);
+    }
+
+    private void deferred(byte kind, int layer, Object target) {
+        int i = add(kind, layer, 0, 0, 1.0, 0);
+        int c = i * COORDS;
+        coords[c] = offsetX;
+        coords[c + 1] = offsetY;
+        refs[i] = target;
+    }
+
+    private void shape(byte kind, int layer, int color, double alpha, double lineWidth,
+                       double x, double y, double w, double h) {
+        int i = add(kind, layer, color, 0, alpha, lineWidth);
+        int c = i * COORDS;
+        coords[c] = x + offsetX;
+        coords[c + 1] = y + offsetY;
+        coords[c + 2] = w;
+        coords[c + 3] = h;
+    }
+
+    private int add(byte kind, int layer, int material, int font, double alpha, double lineWidth) {
+        if (layer < 0 || layer >= MAX_LAYERS) {
+            throw new IllegalArgumentException("Render layer out of range: " + layer);
+        }
+        if (count == kinds.length) {
+            grow();
+        }
+        int i = count++;
+        kinds[i] = kind;
+        materials[i] = material;
+        fontIndexes[i] = font;
+        alpha = Math.max(0.0, Math.min(1.0, alpha));
+        alphas[i] = (float) alpha;
+        lineWidths[i] = (float) lineWidth;
+
+        // layer | kind | material | alpha | font | line width | sequence, so equal states stay in order
+        long state = ((long) kind << 30)
+            | ((long) (material & 0x3FFF) << 16)
+            | (Math.round(alpha * 255) << 8)
+            | ((long) (font & 0xF) << 4)
+            | Math.min(15, Math.round(lineWidth * 2));
+        keys[i] = ((long) layer << 58) | (state << SEQUENCE_BITS) | i;
+        return i;
+    }
+
+    private void grow() {
+        int capacity = kinds.length * 2;
+        if (capacity > SEQUENCE_MASK) {
+            throw new IllegalStateException("Too many render commands in one frame");
+        }
+        keys = Arrays.copyOf(keys, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        materials = Arrays.copyOf(materials, capacity);
+        fontIndexes = Arrays.copyOf(fontIndexes, capacity);
+        alphas = Arrays.copyOf(alphas, capacity);
+        lineWidths = Arrays.copyOf(lineWidths, capacity);
+        coords = Arrays.copyOf(coords, capacity * COORDS);
+        refs = Arrays.copyOf(refs, capacity);
+    }
+
+    /**
+     * Sort the recorded commands, draw them and reset the buffer for the next frame
+     */
+    public void flush(GraphicsContext gc) {
+        Arrays.sort(keys, 0, count);
+
+        int fill = -1;
+        int stroke = -1;
+        float alpha = Float.NaN;
+        float lineWidth = Float.NaN;
+        int font = -1;
+        int stateChanges = 0;
+
+        gc.save();
+        for (int k = 0; k < count; k++) {
+            int i = (int) (keys[k] & SEQUENCE_MASK);
+            byte kind = kinds[i];
+            int c = i * COORDS;
+
+            if (kind == DEFERRED_COMPONENT || kind == DEFERRED_ENEMY) {
+                gc.translate(coords[c], coords[c + 1]);
+                if (kind == DEFERRED_COMPONENT) {
+                    ((GameComponent) refs[i]).render(gc);
+                } else {
+                    ((Enemy) refs[i]).render(gc);
+                }
+                gc.translate(-coords[c], -coords[c + 1]);
+                // The target may have changed any state
+                fill = -1;
+                stroke = -1;
+                alpha = Float.NaN;
+                lineWidth = Float.NaN;
+                font = -1;
+                refs[i] = null;
+                continue;
+            }
+
+            if (alphas[i] != alpha) {
+                alpha = alphas[i];
+                gc.setGlobalAlpha(alpha);
+                stateChanges++;
+            }
+            switch (kind) {
+                case FILL_RECT:
+                case FILL_OVAL:
+                case FILL_TEXT:
+                    if (materials[i] != fill) {
+                        fill = materials[i];
+                        gc.setFill(colors.get(fill));
+                        stateChanges++;
+                    }
+                    break;
+                case STROKE_RECT:
+                case STROKE_OVAL:
+                case STROKE_LINE:
+                    if (materials[i] != stroke) {
+                        stroke = materials[i];
+                        gc.setStroke(colors.get(stroke));
+                        stateChanges++;
+                    }
+                    if (lineWidths[i] != lineWidth) {
+                        lineWidth = lineWidths[i];
+                        gc.setLineWidth(lineWidth);
+                        stateChanges++;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            switch (kind) {
+                case FILL_RECT:
+                    gc.fillRect(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    break;
+                case FILL_OVAL:
+                    gc.fillOval(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    break;
+                case STROKE_RECT:
+                    gc.strokeRect(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    break;
+                case STROKE_OVAL:
+                    gc.strokeOval(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    break;
+                case STROKE_LINE:
+                    gc.strokeLine(coords[c], coords[c + 1], coords[c + 2], coords[c + 3]);
+                    break;
+                case FILL_TEXT:
+                    if (fontIndexes[i] != font) {
+                        font = fontIndexes[i];
+                        gc.setFont(fonts.get(font));
+                        stateChanges++;
+                    }
+                    gc.fillText((String) refs[i], coords[c], coords[c + 1]);
+                    refs[i] = null;
+                    break;
+                case DRAW_IMAGE:
+                    gc.drawImage(images.get(materials[i]), coords[c], coords[c + 1], coords[c + 2], coords[c + 3],
+                        coords[c + 4], coords[c + 5], coords[c + 6], coords[c + 7]);
+                    break;
+                default:
+                    break;
+            }
+        }
+        gc.restore();
+
+        lastCommandCount = count;
+        lastStateChanges = stateChanges;
+        count = 0;
+        offsetX = 0;
+        offsetY = 0;
+    }
+
+    /**
+     * Number of draw commands issued by the last flush
+     */
+    public int getLastCommandCount() {
+        return lastCommandCount;
+    }
+
+    /**
+     * Number of GraphicsContext state changes (paint, alpha, line width, font) in the last flush
+     */
+    public int getLastStateChanges() {
+        return lastStateChanges;
+    }
+
+    /**
+     * Number of commands recorded so far this frame
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Bytes held by the command arrays, which only grow
+     */
+    public long getFootprintBytes() {
+        // key, kind, material, font, alpha, line width, coords and a reference per command
+        return (long) keys.length * (8 + 1 + 4 + 4 + 4 + 4 + COORDS * 8 + 4);
+    }
+}
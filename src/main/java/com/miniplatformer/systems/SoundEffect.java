@@ -0,0 +1,73 @@
+package com.miniplatformer.systems;
+
+/**
+ * Pre-rendered sound effects, synthesized once when the enum is first used
+ * Priority decides which voice is stolen when the mixer runs out of voices.
+ */
+enum SoundEffect {
+    JUMP(sweep(400, 800, 150), 1, 0.8),
+    COIN(concat(tone(987.77, 50, 0.5), tone(1318.51, 100, 0.5)), 1, 1.0), // B5, E6
+    DAMAGE(sweep(200, 50, 300), 3, 1.0),
+    SHOOT(sweep(600, 300, 50), 0, 0.6),
+    ENEMY_DEFEAT(sweep(300, 100, 200), 2, 1.0),
+    POWERUP(concat(tone(440, 50, 0.4), tone(554, 50, 0.4), tone(659, 100, 0.4)), 3, 1.0);
+
+    static final int SAMPLE_RATE = 22050; // Use a lower sample rate for retro feel
+
+    private final byte[] samples;
+    private final int priority;
+    private final double volume;
+
+    SoundEffect(byte[] samples, int priority, double volume) {
+        this.samples = samples;
+        this.priority = priority;
+        this.volume = volume;
+    }
+
+    byte[] getSamples() {
+        return samples;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+
+    double getVolume() {
+        return volume;
+    }
+
+    private static byte[] tone(double freq, int durationMs, double volume) {
+        byte[] buf = new byte[durationMs * SAMPLE_RATE / 1000];
+        for (int i = 0; i < buf.length; i++) {
+            double angle = i / (SAMPLE_RATE / freq) * 2.0 * Math.PI;
+            buf[i] = (byte) (Math.sin(angle) * 127.0 * volume);
+        }
+        return buf;
+    }
+
+    private static byte[] sweep(double startFreq, double endFreq, int durationMs) {
+        int samples = durationMs * SAMPLE_RATE / 1000;
+        byte[] buf = new byte[samples];
+        for (int i = 0; i < samples; i++) {
+            double t = (double) i / samples;
+            double freq = startFreq + (endFreq - startFreq) * t;
+            double angle = i / (SAMPLE_RATE / freq) * 2.0 * Math.PI;
+            buf[i] = (byte) (Math.sin(angle) * 127.0 * 0.5);
+        }
+        return buf;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] buf = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, buf, offset, part.length);
+            offset += part.length;
+        }
+        return buf;
+    }
+}
@@ -1,80 +1,165 @@
 package com.miniplatformer.systems;
 
+import com.miniplatformer.instrumentation.SoundTriggerEvent;
+import com.miniplatformer.utils.GameLogger;
+
 import javax.sound.sampled.*;
-import java.nio.ByteBuffer;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
- * SoundSystem - generates procedural retro sound effects
+ * SoundSystem - procedural retro sound effects
+ * Every effect is synthesized once at startup into a cached PCM buffer. A single mixer thread
+ * owns one long-lived output line and mixes a fixed number of voices into it, so audio CPU and
+ * thread count stay flat however many effects fire at once.
  */
 public class SoundSystem {
-    private static final int SAMPLE_RATE = 22050; // Use a lower sample rate for retro feel
-    private static final ExecutorService soundPool = Executors.newCachedThreadPool();
+    private static final AudioFormat FORMAT = new AudioFormat(SoundEffect.SAMPLE_RATE, 8, 1, true, false);
+    private static final int LINE_BUFFER_BYTES = AudioMixer.CHUNK_FRAMES * 4; // ~46 ms, keeps output latency low
+
+    private static volatile boolean enabled = true;
+    private static boolean initialized = false;
+    private static SourceDataLine line;
+    private static final AudioMixer mixer = new AudioMixer();
+    private static long startupNanos;
+
+    /**
+     * Enable or disable audio output (disabled for headless runs)
+     */
+    public static void setEnabled(boolean enabled) {
+        SoundSystem.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Synthesize every effect, open the output line and start the mixer
+     * Called at startup so the cost is paid before gameplay; play methods call it lazily otherwise.
+     */
+    public static synchronized void init() {
+        if (initialized) return;
+        initialized = true;
+
+        long start = System.nanoTime();
+        SoundEffect.values(); // Forces synthesis of every effect
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BUFFER_BYTES);
+            line.start();
+            mixer.start(line);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            line = null;
+            GameLogger.warn("No audio output available, sound effects disabled: {}", e.getMessage());
+        }
+        startupNanos = System.nanoTime() - start;
+        GameLogger.info("Sound effects ready in {} ms", getStartupMillis());
+    }
+
+    /**
+     * Stop the mixer, close the output line and log the audio metrics
+     */
+    public static synchronized void shutdown() {
+        mixer.stop();
+        if (line != null) {
+            line.stop();
+            line.close();
+            line = null;
+        }
+        if (mixer.getStartedCount() > 0) {
+            GameLogger.info("Sound: {} effects played, {} coalesced, {} stolen, {} dropped, latency avg {} ms, max {} ms",
+                mixer.getStartedCount(), mixer.getCoalescedCount(), mixer.getStolenCount(), mixer.getDroppedCount(),
+                mixer.getAverageLatencyMillis(), mixer.getMaxLatencyMillis());
+        }
+    }
 
     public static void playJump() {
-        soundPool.execute(() -> playSweep(400, 800, 150));
+        play(SoundEffect.JUMP);
     }
 
     public static void playCoin() {
-        soundPool.execute(() -> {
-            playTone(987.77, 50, 0.5); // B5
-            playTone(1318.51, 100, 0.5); // E6
-        });
+        play(SoundEffect.COIN);
     }
 
     public static void playDamage() {
-        soundPool.execute(() -> playSweep(200, 50, 300));
+        play(SoundEffect.DAMAGE);
     }
 
     public static void playShoot() {
-        soundPool.execute(() -> playSweep(600, 300, 50));
+        play(SoundEffect.SHOOT);
     }
 
     public static void playEnemyDefeat() {
-        soundPool.execute(() -> playSweep(300, 100, 200));
+        play(SoundEffect.ENEMY_DEFEAT);
     }
 
     public static void playPowerup() {
-        soundPool.execute(() -> {
-            playTone(440, 50, 0.4);
-            playTone(554, 50, 0.4);
-            playTone(659, 100, 0.4);
-        });
+        play(SoundEffect.POWERUP);
     }
 
-    private static void playTone(double freq, int durationMs, double volume) {
-        try {
-            byte[] buf = new byte[durationMs * SAMPLE_RATE / 1000];
-            for (int i = 0; i < buf.length; i++) {
-                double angle = i / (SAMPLE_RATE / freq) * 2.0 * Math.PI;
-                buf[i] = (byte) (Math.sin(angle) * 127.0 * volume);
-            }
-            sendToSource(buf);
-        } catch (Exception e) {}
+    private static void play(SoundEffect effect) {
+        if (!enabled) {
+            SoundTriggerEvent.emit(effect.name(), false, 0);
+            return;
+        }
+        if (!initialized) {
+            init();
+        }
+        SoundTriggerEvent.emit(effect.name(), line != null, mixer.getActiveVoices());
+        if (line == null) return;
+        mixer.trigger(effect);
     }
 
-    private static void playSweep(double startFreq, double endFreq, int durationMs) {
-        try {
-            int samples = durationMs * SAMPLE_RATE / 1000;
-            byte[] buf = new byte[samples];
-            for (int i = 0; i < samples; i++) {
-                double t = (double) i / samples;
-                double freq = startFreq + (endFreq - startFreq) * t;
-                double angle = i / (SAMPLE_RATE / freq) * 2.0 * Math.PI;
-                buf[i] = (byte) (Math.sin(angle) * 127.0 * 0.5);
-            }
-            sendToSource(buf);
-        } catch (Exception e) {}
-    }
-
-    private static void sendToSource(byte[] buf) throws LineUnavailableException {
-        AudioFormat af = new AudioFormat(SAMPLE_RATE, 8, 1, true, false);
-        SourceDataLine sdl = AudioSystem.getSourceDataLine(af);
-        sdl.open(af);
-        sdl.start();
-        sdl.write(buf, 0, buf.length);
-        sdl.drain();
-        sdl.close();
+    /**
+     * Set the master volume (0.0 - 1.0)
+     */
+    public static void setVolume(double volume) {
+        mixer.setMasterVolume(volume);
+    }
+
+    public static double getVolume() {
+        return mixer.getMasterVolume();
+    }
+
+    /**
+     * Time taken to synthesize the effects and open the output line
+     */
+    public static double getStartupMillis() {
+        return startupNanos / 1_000_000.0;
+    }
+
+    /**
+     * Average time from triggering an effect to its voice starting in the mixer
+     */
+    public static double getAverageLatencyMillis() {
+        return mixer.getAverageLatencyMillis();
+    }
+
+    public static double getMaxLatencyMillis() {
+        return mixer.getMaxLatencyMillis();
+    }
+
+    /**
+     * Number of effects that actually started playing
+     */
+    public static long getTriggerCount() {
+        return mixer.getStartedCount();
+    }
+
+    /**
+     * Number of triggers merged into an effect already pending for the same mix chunk
+     */
+    public static long getCoalescedCount() {
+        return mixer.getCoalescedCount();
+    }
+
+    /**
+     * Number of effects dropped because every voice was busy with higher-priority sounds
+     */
+    public static long getDroppedCount() {
+        return mixer.getDroppedCount();
+    }
+
+    public static int getActiveVoices() {
+        return mixer.getActiveVoices();
     }
 }
@@ -0,0 +1,313 @@
+package com.miniplatformer.systems;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform-grid spatial hash for broadphase collision queries
+ * Items are bucketed by every grid cell their bounding box touches. Cells are hashed into a
+ * power-of-two bucket table, so the world has no fixed bounds. Once the arrays have grown to
+ * fit, inserting, removing, clearing and querying allocate nothing. Removed items free their
+ * slot for the next insert, so long-lived indexes can be edited in place instead of refilled.
+ */
+public class SpatialHash<T> {
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private final double cellSize;
+    private int bucketMask;
+    private int[][] buckets;
+    private int[] bucketSizes;
+    private int[] usedBuckets;
+    private boolean[] bucketListed; // Bucket is in usedBuckets, even if emptied by remove
+    private int usedBucketCount;
+
+    private Object[] items;
+    private double[] bounds; // x, y, width, height per item
+    private int[] queryStamps;
+    private int queryStamp;
+    private int slotCount; // Slots ever handed out; removed ones are null and on the free list
+    private int[] freeSlots;
+    private int freeCount;
+    private int size;
+
+    public SpatialHash(double cellSize, int initialBuckets) {
+        this.cellSize = cellSize;
+        int bucketCount = Integer.highestOneBit(Math.max(16, initialBuckets - 1) << 1);
+        allocateBuckets(bucketCount);
+        this.items = new Object[64];
+        this.bounds = new double[64 * 4];
+        this.queryStamps = new int[64];
+        this.freeSlots = new int[16];
+        this.size = 0;
+    }
+
+    private void allocateBuckets(int bucketCount) {
+        this.bucketMask = bucketCount - 1;
+        this.buckets = new int[bucketCount][];
+        this.bucketSizes = new int[bucketCount];
+        this.usedBuckets = new int[bucketCount];
+        this.bucketListed = new boolean[bucketCount];
+        this.usedBucketCount = 0;
+    }
+
+    /**
+     * Insert an item with its bounding box
+     */
+    public void insert(T item, double x, double y, double width, double height) {
+        int index;
+        if (freeCount > 0) {
+            index = freeSlots[--freeCount];
+        } else {
+            if (slotCount == items.length) {
+                int capacity = slotCount * 2;
+                items = Arrays.copyOf(items, capacity);
+                bounds = Arrays.copyOf(bounds, capacity * 4);
+                queryStamps = Arrays.copyOf(queryStamps, capacity);
+            }
+            index = slotCount++;
+        }
+        size++;
+        items[index] = item;
+        bounds[index * 4] = x;
+        bounds[index * 4 + 1] = y;
+        bounds[index * 4 + 2] = width;
+        bounds[index * 4 + 3] = height;
+        queryStamps[index] = 0;
+
+        // Keep buckets short as the item count grows
+        if (size > (bucketMask + 1) * 2) {
+            rehash((bucketMask + 1) * 2);
+        } else {
+            addToCells(index);
+        }
+    }
+
+    private void rehash(int bucketCount) {
+        allocateBuckets(bucketCount);
+        for (int i = 0; i < slotCount; i++) {
+            if (items[i] != null) {
+                addToCells(i);
+            }
+        }
+    }
+
+    /**
+     * Remove an item by identity, given the bounding box it was inserted with
+     * The box only locates the item; if it moved since, every slot is searched instead.
+     * @return false if the item was not in the hash
+     */
+    public boolean remove(T item, double x, double y) {
+        int index = find(item, bucketFor(cell(x), cell(y)));
+        if (index < 0) {
+            for (int i = 0; i < slotCount && index < 0; i++) {
+                if (items[i] == item) {
+                    index = i;
+                }
+            }
+            if (index < 0) return false;
+        }
+
+        int minCellX = cell(bounds[index * 4]);
+        int minCellY = cell(bounds[index * 4 + 1]);
+        int maxCellX = cell(bounds[index * 4] + bounds[index * 4 + 2]);
+        int maxCellY = cell(bounds[index * 4 + 1] + bounds[index * 4 + 3]);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                removeFromBucket(bucketFor(cx, cy), index);
+            }
+        }
+        items[index] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = index;
+        size--;
+        return true;
+    }
+
+    private int find(Object item, int bucket) {
+        int[] entries = buckets[bucket];
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            if (items[entries[i]] == item) {
+                return entries[i];
+            }
+        }
+        return -1;
+    }
+
+    private void removeFromBucket(int bucket, int index) {
+        int[] entries = buckets[bucket];
+        int count = bucketSizes[bucket];
+        int kept = 0;
+        // Keep the others in insertion order so query results stay in a stable order
+        for (int i = 0; i < count; i++) {
+            if (entries[i] != index) {
+                entries[kept++] = entries[i];
+            }
+        }
+        bucketSizes[bucket] = kept;
+    }
+
+    private void addToCells(int index) {
+        double x = bounds[index * 4];
+        double y = bounds[index * 4 + 1];
+        int minCellX = cell(x);
+        int minCellY = cell(y);
+        int maxCellX = cell(x + bounds[index * 4 + 2]);
+        int maxCellY = cell(y + bounds[index * 4 + 3]);
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                addToBucket(bucketFor(cx, cy), index);
+            }
+        }
+    }
+
+    private void addToBucket(int bucket, int index) {
+        int count = bucketSizes[bucket];
+        int[] entries = buckets[bucket];
+        if (entries == null) {
+            entries = new int[INITIAL_BUCKET_CAPACITY];
+            buckets[bucket] = entries;
+        } else if (count > 0 && entries[count - 1] == index) {
+            return; // Neighbouring cell of the same item hashed to the same bucket
+        } else if (count == entries.length) {
+            entries = Arrays.copyOf(entries, count * 2);
+            buckets[bucket] = entries;
+        }
+        if (!bucketListed[bucket]) {
+            bucketListed[bucket] = true;
+            usedBuckets[usedBucketCount++] = bucket;
+        }
+        entries[count] = index;
+        bucketSizes[bucket] = count + 1;
+    }
+
+    /**
+     * Remove all items, keeping the allocated storage for the next fill
+     */
+    public void clear() {
+        for (int i = 0; i < usedBucketCount; i++) {
+            bucketSizes[usedBuckets[i]] = 0;
+            bucketListed[usedBuckets[i]] = false;
+        }
+        usedBucketCount = 0;
+        Arrays.fill(items, 0, slotCount, null);
+        slotCount = 0;
+        freeCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Independent copy holding the same items in the same layout, so queries return them in the same order
+     */
+    public SpatialHash<T> copy() {
+        SpatialHash<T> copy = new SpatialHash<>(cellSize, bucketMask + 1);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Replace this hash's contents with an exact copy of another's, which must use the same cell size
+     */
+    public void copyFrom(SpatialHash<T> other) {
+        if (other.cellSize != cellSize) {
+            throw new IllegalArgumentException("Cell sizes differ: " + other.cellSize + " and " + cellSize);
+        }
+        bucketMask = other.bucketMask;
+        buckets = new int[other.buckets.length][];
+        for (int i = 0; i < buckets.length; i++) {
+            if (other.buckets[i] != null) {
+                buckets[i] = other.buckets[i].clone();
+            }
+        }
+        bucketSizes = other.bucketSizes.clone();
+        usedBuckets = other.usedBuckets.clone();
+        bucketListed = other.bucketListed.clone();
+        usedBucketCount = other.usedBucketCount;
+        items = other.items.clone();
+        bounds = other.bounds.clone();
+        queryStamps = other.queryStamps.clone();
+        queryStamp = other.queryStamp;
+        slotCount = other.slotCount;
+        freeSlots = other.freeSlots.clone();
+        freeCount = other.freeCount;
+        size = other.size;
+    }
+
+    /**
+     * Append every item whose bounding box overlaps the rectangle (edges touching count) to out
+     * @return number of items added
+     */
+    @SuppressWarnings("unchecked")
+    public int query(double x, double y, double width, double height, List<? super T> out) {
+        nextQueryStamp();
+        int found = 0;
+        int minCellX = cell(x);
+        int minCellY = cell(y);
+        int maxCellX = cell(x + width);
+        int maxCellY = cell(y + height);
+
+        // A query covering more cells than there are items is cheaper as a straight scan
+        long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+        if (cellCount >= size) {
+            for (int i = 0; i < slotCount; i++) {
+                if (items[i] != null && overlaps(i, x, y, width, height)) {
+                    out.add((T) items[i]);
+                    found++;
+                }
+            }
+            return found;
+        }
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cy = minCellY; cy <= maxCellY; cy++) {
+                int bucket = bucketFor(cx, cy);
+                int[] entries = buckets[bucket];
+                int count = bucketSizes[bucket];
+                for (int i = 0; i < count; i++) {
+                    int index = entries[i];
+                    if (queryStamps[index] == queryStamp) continue;
+                    queryStamps[index] = queryStamp;
+                    if (overlaps(index, x, y, width, height)) {
+                        out.add((T) items[index]);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void nextQueryStamp() {
+        queryStamp++;
+        if (queryStamp == Integer.MAX_VALUE) {
+            Arrays.fill(queryStamps, 0);
+            queryStamp = 1;
+        }
+    }
+
+    private boolean overlaps(int index, double x, double y, double width, double height) {
+        double itemX = bounds[index * 4];
+        double itemY = bounds[index * 4 + 1];
+        return itemX <= x + width && x <= itemX + bounds[index * 4 + 2]
+            && itemY <= y + height && y <= itemY + bounds[index * 4 + 3];
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int bucketFor(int cellX, int cellY) {
+        int h = cellX * 0x9E3779B1 ^ cellY * 0x85EBCA77;
+        h ^= h >>> 15;
+        return h & bucketMask;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+}
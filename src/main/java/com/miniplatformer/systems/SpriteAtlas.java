@@ -0,0 +1,228 @@
+package com.miniplatformer.systems;
+
+import com.miniplatformer.utils.GameLogger;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sprite atlas for the procedurally drawn entities
+ * Every frame of every sprite (facing, pose, animation phase) is rasterized once from the
+ * entity's vector drawing code into shared sheet pages, so an entity then draws with a single
+ * drawImage however detailed it is. Sprites are defined up front and packed the first time the
+ * atlas is built; both happen on the JavaFX application thread.
+ */
+public final class SpriteAtlas {
+    static final int PAGE_WIDTH = 2048;
+    static final int PAGE_HEIGHT = 1024;
+
+    /**
+     * Vector drawing code for one sprite
+     */
+    @FunctionalInterface
+    public interface FramePainter {
+        /**
+         * Draw the given frame with the sprite's box at (x, y)
+         */
+        void paint(GraphicsContext gc, int frame, double x, double y);
+    }
+
+    /**
+     * A set of same-sized frames drawn by one painter
+     */
+    public static final class Sprite {
+        private final int frameCount;
+        private final double width;
+        private final double height;
+        private final int margin;
+        private final int cellWidth;
+        private final int cellHeight;
+        private final FramePainter painter;
+        private final Image[] framePage;
+        private final int[] frameX;
+        private final int[] frameY;
+        private final int[] framePageIndex;
+        private final int[] framePageId; // Image id in RenderCommandBuffer
+        private boolean packed;
+
+        private Sprite(int frameCount, double width, double height, int margin, FramePainter painter) {
+            this.frameCount = frameCount;
+            this.width = width;
+            this.height = height;
+            this.margin = margin;
+            this.cellWidth = (int) Math.ceil(width) + margin * 2;
+            this.cellHeight = (int) Math.ceil(height) + margin * 2;
+            this.painter = painter;
+            this.framePage = new Image[frameCount];
+            this.frameX = new int[frameCount];
+            this.frameY = new int[frameCount];
+            this.framePageIndex = new int[frameCount];
+            this.framePageId = new int[frameCount];
+        }
+
+        /**
+         * Draw a frame with the sprite's box at (x, y), packing the atlas first if needed
+         */
+        public void draw(GraphicsContext gc, int frame, double x, double y) {
+            if (!packed) {
+                build();
+            }
+            gc.drawImage(framePage[frame], frameX[frame], frameY[frame], cellWidth, cellHeight,
+                x - margin, y - margin, cellWidth, cellHeight);
+        }
+
+        /**
+         * Record a frame into a command buffer, scaled to the given box if it differs from the sprite's size
+         */
+        public void record(RenderCommandBuffer buffer, int layer, int frame, double x, double y,
+                           double drawWidth, double drawHeight) {
+            if (!packed) {
+                build();
+            }
+            double scaleX = drawWidth / width;
+            double scaleY = drawHeight / height;
+            buffer.drawImage(layer, framePageId[frame], 1.0, frameX[frame], frameY[frame], cellWidth, cellHeight,
+                x - margin * scaleX, y - margin * scaleY, cellWidth * scaleX, cellHeight * scaleY);
+        }
+
+        /**
+         * Check if the sprite was rasterized at this size; other sizes must be drawn as vectors
+         */
+        public boolean fits(double drawWidth, double drawHeight) {
+            return drawWidth == width && drawHeight == height;
+        }
+
+        public int getFrameCount() {
+            return frameCount;
+        }
+    }
+
+    private static final List<Sprite> sprites = new ArrayList<>();
+    private static final List<Image> pages = new ArrayList<>();
+
+    private SpriteAtlas() {
+    }
+
+    /**
+     * Define a sprite
+     * @param margin room around the box for parts drawn outside it (wings, hands, strokes)
+     */
+    public static synchronized Sprite define(int frameCount, double width, double height, int margin, FramePainter painter) {
+        Sprite sprite = new Sprite(frameCount, width, height, margin, painter);
+        if (sprite.cellWidth > PAGE_WIDTH || sprite.cellHeight > PAGE_HEIGHT) {
+            throw new IllegalArgumentException("Sprite larger than an atlas page: " + width + "x" + height);
+        }
+        sprites.add(sprite);
+        return sprite;
+    }
+
+    /**
+     * Load the given classes so their sprites are defined, then rasterize everything
+     * Called at startup so no frame pays for packing.
+     */
+    public static void preload(Class<?>... owners) {
+        for (Class<?> owner : owners) {
+            try {
+                Class.forName(owner.getName(), true, owner.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        build();
+    }
+
+    /**
+     * Rasterize every sprite that is not packed yet into new sheet pages
+     */
+    public static synchronized void build() {
+        long start = System.nanoTime();
+        Canvas canvas = null;
+        GraphicsContext gc = null;
+        int cursorX = 0;
+        int cursorY = 0;
+        int rowHeight = 0;
+        int frames = 0;
+        int pagesBefore = pages.size();
+
+        for (Sprite sprite : sprites) {
+            if (sprite.packed) continue;
+            for (int frame = 0; frame < sprite.frameCount; frame++) {
+                if (cursorX + sprite.cellWidth > PAGE_WIDTH) {
+                    cursorX = 0;
+                    cursorY += rowHeight;
+                    rowHeight = 0;
+                }
+                if (canvas == null || cursorY + sprite.cellHeight > PAGE_HEIGHT) {
+                    if (canvas != null) {
+                        finishPage(canvas);
+                    }
+                    canvas = new Canvas(PAGE_WIDTH, PAGE_HEIGHT);
+                    gc = canvas.getGraphicsContext2D();
+                    cursorX = 0;
+                    cursorY = 0;
+                    rowHeight = 0;
+                }
+
+                // Isolate each frame so painters can't leak state or pixels into their neighbours
+                gc.save();
+                gc.beginPath();
+                gc.rect(cursorX, cursorY, sprite.cellWidth, sprite.cellHeight);
+                gc.clip();
+                sprite.painter.paint(gc, frame, cursorX + sprite.margin, cursorY + sprite.margin);
+                gc.restore();
+
+                sprite.frameX[frame] = cursorX;
+                sprite.frameY[frame] = cursorY;
+                sprite.framePageIndex[frame] = pages.size();
+                cursorX += sprite.cellWidth;
+                rowHeight = Math.max(rowHeight, sprite.cellHeight);
+                frames++;
+            }
+        }
+        if (canvas == null) return;
+        finishPage(canvas);
+
+        for (Sprite sprite : sprites) {
+            if (sprite.packed) continue;
+            for (int frame = 0; frame < sprite.frameCount; frame++) {
+                sprite.framePage[frame] = pages.get(sprite.framePageIndex[frame]);
+                sprite.framePageId[frame] = RenderCommandBuffer.imageId(sprite.framePage[frame]);
+            }
+            sprite.packed = true;
+        }
+        GameLogger.info("Sprite atlas: {} frames on {} pages in {} ms", frames, pages.size() - pagesBefore,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Bytes of the rasterized sheet pages (32-bit pixels)
+     */
+    public static synchronized long getFootprintBytes() {
+        return (long) pages.size() * PAGE_WIDTH * PAGE_HEIGHT * 4;
+    }
+
+    /**
+     * Frame index for a looping animation at the given phase (radians), out of frames per cycle
+     */
+    public static int phaseFrame(double phase, int frames) {
+        return Math.floorMod((int) Math.floor(phase / (2 * Math.PI) * frames), frames);
+    }
+
+    /**
+     * Phase (radians) a looping animation frame was rasterized at
+     */
+    public static double framePhase(int frame, int frames) {
+        return 2 * Math.PI * frame / frames;
+    }
+
+    private static void finishPage(Canvas canvas) {
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        pages.add(canvas.snapshot(parameters, null));
+    }
+}
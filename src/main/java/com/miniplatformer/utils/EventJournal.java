@@ -0,0 +1,231 @@
+package com.miniplatformer.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary gameplay event journal
+ * Every gameplay event is appended as a fixed 32-byte record to a memory-mapped file, which
+ * costs a few stores per event, so the journal stays on in production. Read it back with
+ * EventJournalReader instead of grepping game.log.
+ *
+ * Record layout (little endian):
+ *   long tick | short event | short reserved | int entity | float x | float y | long value
+ * The entity is a name id (see nameOf); value depends on the event (score, lives, state id...).
+ *
+ * Like the rest of the simulation, it must only be written from the game thread, the one that
+ * opened it. Another thread (a shutdown hook) may close it while that thread is still recording.
+ */
+public class EventJournal {
+
+    /**
+     * Journaled event types; the id is stored in each record, 0 marks an unwritten record
+     */
+    public enum Event {
+        STOMP(1),            // entity: enemy type
+        WEAPON_KILL(2),      // entity: enemy type
+        COIN(3),             // entity: collectible type, value: coin value
+        POWERUP(4),          // entity: power-up type
+        DAMAGE(5),           // entity: player, value: lives left
+        SHIELD_BREAK(6),     // entity: player, value: lives left
+        PROJECTILE_FIRED(7), // entity: shooter, value: horizontal velocity sign
+        STATE_CHANGE(8),     // entity: Game or Player, value: new state id
+        SCORE(9),            // entity: Game, value: total score
+        JUMP(10),            // entity: player
+        RESPAWN(11),         // entity: player
+        DROP(12);            // entity: dropped collectible type
+
+        private static final Event[] BY_ID = new Event[13];
+
+        static {
+            for (Event event : values()) {
+                BY_ID[event.id] = event;
+            }
+        }
+
+        private final int id;
+
+        Event(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public static Event fromId(int id) {
+            return id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+        }
+    }
+
+    public static final int RECORD_SIZE = 32;
+    static final int HEADER_SIZE = 32;
+    static final int MAGIC = 0x314A504D; // "MPJ1"
+    static final short VERSION = 1;
+    static final long SEGMENT_SIZE = 4L << 20; // 131072 records per mapping
+    static final long UNKNOWN_COUNT = -1;      // Header count while the writer is still open
+
+    // Entity and state names a record can refer to; ids are stable, append only
+    private static final String[] NAMES = {
+        "Player", "Game",
+        "Goomba", "Koopa", "FlyingEnemy", "Shooter",
+        "coin", "speedBoost", "shield", "weapon", "doubleJump", "invincibility",
+        "spike", "fire", "projectile",
+        "MENU", "PLAYING", "PAUSE", "GAME_OVER", "VICTORY",
+        "IDLE", "RUNNING", "JUMPING", "ATTACKING", "DEAD"
+    };
+    public static final int PLAYER = 0;
+    public static final int GAME = 1;
+
+    private static volatile FileChannel channel;
+    private static volatile MappedByteBuffer segment;
+    private static Thread writer;
+    private static long segmentOffset;
+    private static long count;
+    private static long tick;
+
+    /**
+     * Start journaling to the given file, replacing any previous journal
+     */
+    public static void open(Path file) throws IOException {
+        close();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writer = Thread.currentThread();
+        count = 0;
+        tick = 0;
+        writeHeader(channel, UNKNOWN_COUNT);
+        mapSegment(channel, HEADER_SIZE);
+    }
+
+    /**
+     * Flush the journal and record the final event count in its header
+     * Safe to call twice, e.g. from Application.stop and then the shutdown hook. Only the writer
+     * thread trims the file to the records written: another thread can't know the writer is not
+     * mid-record, and a store past the end of a truncated mapping faults.
+     */
+    public static synchronized void close() {
+        FileChannel file = channel;
+        if (file == null) return;
+        MappedByteBuffer buffer = segment;
+        segment = null; // Later records become no-ops
+        channel = null;
+        try {
+            if (buffer != null) { // Null once a failed grow stopped the journal
+                buffer.force();
+            }
+            writeHeader(file, count);
+            if (Thread.currentThread() == writer) {
+                try {
+                    file.truncate(HEADER_SIZE + count * RECORD_SIZE);
+                } catch (IOException e) {
+                    // Some platforms refuse to shrink a mapped file; readers stop at the header count anyway
+                }
+            }
+            file.close();
+        } catch (IOException e) {
+            GameLogger.error("Could not close event journal", e);
+        }
+        writer = null;
+    }
+
+    public static boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Set the simulation tick stamped on the following records
+     */
+    public static void setTick(long currentTick) {
+        tick = currentTick;
+    }
+
+    /**
+     * Append one event; a no-op when no journal is open
+     */
+    public static void record(Event event, int entity, double x, double y, long value) {
+        MappedByteBuffer buffer = segment;
+        if (buffer == null) return;
+        if (!buffer.hasRemaining()) {
+            buffer = nextSegment();
+            if (buffer == null) return;
+        }
+        buffer.putLong(tick)
+            .putShort((short) event.id)
+            .putShort((short) 0)
+            .putInt(entity)
+            .putFloat((float) x)
+            .putFloat((float) y)
+            .putLong(value);
+        count++;
+    }
+
+    public static void record(Event event, int entity, double x, double y) {
+        record(event, entity, x, y, 0);
+    }
+
+    /**
+     * Number of records written since the journal was opened
+     */
+    public static long getCount() {
+        return count;
+    }
+
+    /**
+     * Stable id of an entity or state name, or -1 if it has none
+     */
+    public static int nameId(String name) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Name behind an id written by nameId
+     */
+    public static String nameOf(int id) {
+        return id >= 0 && id < NAMES.length ? NAMES[id] : "?";
+    }
+
+    private static MappedByteBuffer nextSegment() {
+        FileChannel file = channel;
+        if (file == null) return null; // Closed by another thread
+        try {
+            return mapSegment(file, segmentOffset + SEGMENT_SIZE);
+        } catch (IOException e) {
+            if (channel != null) {
+                GameLogger.error("Event journal stopped: could not grow the file", e);
+            }
+            segment = null;
+            return null;
+        }
+    }
+
+    private static MappedByteBuffer mapSegment(FileChannel file, long offset) throws IOException {
+        segmentOffset = offset;
+        MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_WRITE, offset, SEGMENT_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        segment = buffer;
+        return buffer;
+    }
+
+    private static void writeHeader(FileChannel file, long recordCount) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(recordCount);
+        header.clear();
+        file.write(header, 0);
+    }
+}
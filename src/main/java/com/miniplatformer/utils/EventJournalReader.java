@@ -0,0 +1,156 @@
+package com.miniplatformer.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Streams records back from an EventJournal file
+ * Works as a cursor: next() moves to the following record and the getters read it in place,
+ * so scanning a long journal allocates nothing per record. A journal whose writer did not
+ * close cleanly is read up to its first unwritten record.
+ *
+ * Can also be run directly to dump a journal as text:
+ * java -cp mini-platformer.jar com.miniplatformer.utils.EventJournalReader logs/events.journal [EVENT...]
+ */
+public class EventJournalReader implements Closeable {
+    private final FileChannel channel;
+    private final long recordCount; // -1 when the writer never closed the journal
+    private final long fileSize;
+    private MappedByteBuffer segment;
+    private long segmentOffset;
+    private long index;
+    private int position;
+
+    public EventJournalReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(EventJournal.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < EventJournal.HEADER_SIZE || header.getInt() != EventJournal.MAGIC) {
+            channel.close();
+            throw new IOException("Not an event journal: " + file);
+        }
+        short version = header.getShort();
+        short recordSize = header.getShort();
+        if (version != EventJournal.VERSION || recordSize != EventJournal.RECORD_SIZE) {
+            channel.close();
+            throw new IOException("Unsupported event journal version " + version + " in " + file);
+        }
+        this.recordCount = header.getLong();
+        this.segmentOffset = EventJournal.HEADER_SIZE;
+        this.index = -1;
+        this.position = -EventJournal.RECORD_SIZE;
+        mapSegment();
+    }
+
+    /**
+     * Move to the next record
+     * @return false once every record has been read
+     */
+    public boolean next() {
+        if (recordCount >= 0 && index + 1 >= recordCount) return false;
+        int nextPosition = position + EventJournal.RECORD_SIZE;
+        if (nextPosition + EventJournal.RECORD_SIZE > segment.limit()) {
+            if (segmentOffset + segment.limit() >= fileSize) return false;
+            segmentOffset += segment.limit();
+            try {
+                mapSegment();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read event journal", e);
+            }
+            nextPosition = 0;
+        }
+        if (segment.getShort(nextPosition + 8) == 0) return false; // Never written
+        position = nextPosition;
+        index++;
+        return true;
+    }
+
+    private void mapSegment() throws IOException {
+        long length = Math.min(EventJournal.SEGMENT_SIZE, fileSize - segmentOffset);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentOffset, Math.max(0, length));
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public long getTick() {
+        return segment.getLong(position);
+    }
+
+    public EventJournal.Event getEvent() {
+        return EventJournal.Event.fromId(segment.getShort(position + 8));
+    }
+
+    public int getEntity() {
+        return segment.getInt(position + 12);
+    }
+
+    public String getEntityName() {
+        return EventJournal.nameOf(getEntity());
+    }
+
+    public float getX() {
+        return segment.getFloat(position + 16);
+    }
+
+    public float getY() {
+        return segment.getFloat(position + 20);
+    }
+
+    public long getValue() {
+        return segment.getLong(position + 24);
+    }
+
+    /**
+     * Index of the current record in the journal
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Number of records in the journal, or -1 if its writer did not close it
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: EventJournalReader FILE [EVENT...]");
+            System.exit(2);
+        }
+        Set<EventJournal.Event> filter = EnumSet.allOf(EventJournal.Event.class);
+        if (args.length > 1) {
+            filter.clear();
+            for (int i = 1; i < args.length; i++) {
+                filter.add(EventJournal.Event.valueOf(args[i]));
+            }
+        }
+
+        try (EventJournalReader reader = new EventJournalReader(Path.of(args[0]))) {
+            while (reader.next()) {
+                EventJournal.Event event = reader.getEvent();
+                if (!filter.contains(event)) continue;
+                String value = event == EventJournal.Event.STATE_CHANGE
+                    ? EventJournal.nameOf((int) reader.getValue())
+                    : Long.toString(reader.getValue());
+                System.out.printf("%8d %-16s %-14s %8.1f %8.1f %s%n", reader.getTick(), event,
+                    reader.getEntityName(), reader.getX(), reader.getY(), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.miniplatformer.utils;
+
+/**
+ * Per-phase frame profiler
+ * Each stage of a tick and of a rendered frame is timed with System.nanoTime into two
+ * preallocated LatencyHistograms: one for the whole session, dumped to the log on exit, and one
+ * for the last second, shown by the in-game overlay (F3). Timing a phase is two nanoTime calls
+ * and two array increments, so it stays on in production builds; -Dminiplatformer.profiler=false
+ * turns it off entirely.
+ *
+ * Usage, on the game thread:
+ *   long start = FrameProfiler.start();
+ *   ...
+ *   FrameProfiler.stop(FrameProfiler.Phase.ENEMIES, start);
+ */
+public final class FrameProfiler {
+    private static final boolean ENABLED = !"false".equals(System.getProperty("miniplatformer.profiler"));
+    private static final long OVERLAY_WINDOW_NANOS = 1_000_000_000L;
+
+    /**
+     * Timed stages; collision passes are nested in TICK, the render stages in FRAME
+     */
+    public enum Phase {
+        FRAME("frame"),
+        TICK("tick"),
+        STREAMING("streaming"),
+        PLAYER("player"),
+        ENEMIES("enemies"),
+        LEVEL("level"),
+        PROJECTILES("projectiles"),
+        BROADPHASE("broadphase"),
+        COLLIDE_PLATFORMS("collide platforms"),
+        COLLIDE_ENEMIES("collide enemies"),
+        COLLIDE_COLLECTIBLES("collide collectibles"),
+        COLLIDE_OBSTACLES("collide obstacles"),
+        COLLIDE_PROJECTILES("collide projectiles"),
+        CLEAR("clear"),
+        RECORD("record"),
+        FLUSH("flush");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final LatencyHistogram[] session = new LatencyHistogram[PHASES.length];
+    private static final LatencyHistogram[] window = new LatencyHistogram[PHASES.length];
+    private static final long[] last = new long[PHASES.length];
+    private static final String[] overlayLines = new String[PHASES.length + 1];
+    // p50, p99 and max of every phase over the last complete window, for readers on other threads
+    private static volatile long[] lastWindow = new long[PHASES.length * 3];
+    private static long windowStart;
+    private static boolean overlayVisible;
+
+    static {
+        for (int i = 0; i < PHASES.length; i++) {
+            session[i] = new LatencyHistogram();
+            window[i] = new LatencyHistogram();
+        }
+        overlayLines[0] = String.format("%-20s %7s %7s %7s", "phase (us)", "p50", "p99", "max");
+        for (int i = 0; i < PHASES.length; i++) {
+            overlayLines[i + 1] = "";
+        }
+    }
+
+    private FrameProfiler() {
+    }
+
+    /**
+     * Timestamp the start of a phase
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a phase that began at the given start() timestamp
+     */
+    public static void stop(Phase phase, long start) {
+        if (!ENABLED) return;
+        long elapsed = System.nanoTime() - start;
+        last[phase.ordinal()] = elapsed;
+        session[phase.ordinal()].record(elapsed);
+        window[phase.ordinal()].record(elapsed);
+    }
+
+    /**
+     * Called once per rendered frame: rolls the overlay's one-second window
+     */
+    public static void endFrame(long now) {
+        if (!ENABLED) return;
+        if (now - windowStart < OVERLAY_WINDOW_NANOS) return;
+        windowStart = now;
+        long[] summary = new long[PHASES.length * 3];
+        for (int i = 0; i < PHASES.length; i++) {
+            if (overlayVisible) {
+                overlayLines[i + 1] = format(PHASES[i], window[i], 1_000);
+            }
+            summary[i * 3] = window[i].getValueAtPercentile(50);
+            summary[i * 3 + 1] = window[i].getValueAtPercentile(99);
+            summary[i * 3 + 2] = window[i].getMax();
+            window[i].reset();
+        }
+        lastWindow = summary;
+    }
+
+    public static void toggleOverlay() {
+        overlayVisible = ENABLED && !overlayVisible;
+        windowStart = 0; // Refresh on the next frame
+    }
+
+    public static boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     * Overlay text, one line per phase, refreshed once a second while the overlay is visible
+     */
+    public static String[] getOverlayLines() {
+        return overlayLines;
+    }
+
+    /**
+     * Duration of the most recent run of a phase, in nanoseconds
+     */
+    public static long getLastNanos(Phase phase) {
+        return last[phase.ordinal()];
+    }
+
+    /**
+     * p50, p99 and max of a phase over the last complete one-second window, in nanoseconds
+     * Safe to call from any thread: the window is published as a whole when it rolls.
+     */
+    public static long[] getLastWindow(Phase phase) {
+        long[] summary = lastWindow;
+        int i = phase.ordinal() * 3;
+        return new long[] {summary[i], summary[i + 1], summary[i + 2]};
+    }
+
+    public static LatencyHistogram getHistogram(Phase phase) {
+        return session[phase.ordinal()];
+    }
+
+    /**
+     * Log p50/p99/max of every phase over the whole session
+     */
+    public static void logSummary() {
+        if (!ENABLED || session[Phase.TICK.ordinal()].getTotalCount() == 0) return;
+        GameLogger.info("Frame profile over {} ticks, {} frames:{}",
+            session[Phase.TICK.ordinal()].getTotalCount(), session[Phase.FRAME.ordinal()].getTotalCount(),
+            System.lineSeparator() + getSummary());
+    }
+
+    /**
+     * p50/p99/max of every phase recorded this session, one line each
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder(overlayLines[0]);
+        for (int i = 0; i < PHASES.length; i++) {
+            if (session[i].getTotalCount() > 0) {
+                summary.append(System.lineSeparator()).append(format(PHASES[i], session[i], 1_000));
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Forget everything recorded so far
+     */
+    public static void reset() {
+        for (int i = 0; i < PHASES.length; i++) {
+            session[i].reset();
+            window[i].reset();
+            last[i] = 0;
+        }
+        lastWindow = new long[PHASES.length * 3];
+    }
+
+    private static String format(Phase phase, LatencyHistogram histogram, long unit) {
+        return String.format("%-20s %7.1f %7.1f %7.1f", phase.getLabel(),
+            histogram.getValueAtPercentile(50) / (double) unit,
+            histogram.getValueAtPercentile(99) / (double) unit,
+            histogram.getMax() / (double) unit);
+    }
+}
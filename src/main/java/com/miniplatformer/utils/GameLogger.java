@@ -1,18 +1,51 @@
 package com.miniplatformer.utils;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerConfigDelegate;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.util.Unbox;
 
 /**
  * Logger utility for the game.
  * Provides logging with specific categories for state transitions, decorator applications, and game events.
+ * Messages are parameterized ({} placeholders) and only formatted by the async appender thread,
+ * so a disabled or filtered call costs a level check and allocates nothing.
  */
 public class GameLogger {
+
+    /**
+     * Log categories, each backed by its own logger so it can be gated independently
+     */
+    public enum Category {
+        GAMEPLAY("com.miniplatformer.gameplay"),
+        STATE("com.miniplatformer.state"),
+        DECORATOR("com.miniplatformer.decorator");
+
+        private final String loggerName;
+        private final Marker marker;
+        private final Logger logger;
+
+        Category(String loggerName) {
+            this.loggerName = loggerName;
+            this.marker = MarkerManager.getMarker(name());
+            this.logger = LogManager.getLogger(loggerName);
+        }
+
+        public String getLoggerName() {
+            return loggerName;
+        }
+    }
+
     private static final Logger logger = LogManager.getLogger(GameLogger.class);
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Category GAMEPLAY = Category.GAMEPLAY;
+    private static final Category STATE = Category.STATE;
+    private static final Category DECORATOR = Category.DECORATOR;
 
     /**
      * Log general info message
@@ -21,13 +54,28 @@ public class GameLogger {
         logger.info(message);
     }
 
+    public static void info(String pattern, Object p0) {
+        logger.info(pattern, p0);
+    }
+
+    public static void info(String pattern, Object p0, Object p1) {
+        logger.info(pattern, p0, p1);
+    }
+
+    public static void info(String pattern, Object p0, Object p1, Object p2) {
+        logger.info(pattern, p0, p1, p2);
+    }
+
+    public static void info(String pattern, Object p0, Object p1, Object p2, Object p3, Object p4, Object p5) {
+        logger.info(pattern, p0, p1, p2, p3, p4, p5);
+    }
+
     /**
      * Log state transition
      * Format: [STATE] Category: FROM -> TO
      */
     public static void logState(String category, String from, String to) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info(String.format("[STATE] %s: %s -> %s", category, from, to));
+        STATE.logger.info(STATE.marker, "{}: {} -> {}", category, from, to);
     }
 
     /**
@@ -35,8 +83,7 @@ public class GameLogger {
      * Format: [DECORATOR] DecoratorType applied to Target
      */
     public static void logDecorator(String decoratorType, String target) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info(String.format("[DECORATOR] %s applied to %s", decoratorType, target));
+        DECORATOR.logger.info(DECORATOR.marker, "{} applied to {}", decoratorType, target);
     }
 
     /**
@@ -44,8 +91,7 @@ public class GameLogger {
      * Format: [DECORATOR] DecoratorType removed from Target
      */
     public static void logDecoratorRemoval(String decoratorType, String target) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info(String.format("[DECORATOR] %s removed from %s", decoratorType, target));
+        DECORATOR.logger.info(DECORATOR.marker, "{} removed from {}", decoratorType, target);
     }
 
     /**
@@ -53,8 +99,52 @@ public class GameLogger {
      * Format: [GAMEPLAY] Event description
      */
     public static void logGameplay(String event) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        logger.info(String.format("[GAMEPLAY] %s", event));
+        GAMEPLAY.logger.info(GAMEPLAY.marker, event);
+    }
+
+    public static void logGameplay(String pattern, Object p0) {
+        GAMEPLAY.logger.info(GAMEPLAY.marker, pattern, p0);
+    }
+
+    public static void logGameplay(String pattern, int p0) {
+        if (!GAMEPLAY.logger.isInfoEnabled(GAMEPLAY.marker)) return;
+        GAMEPLAY.logger.info(GAMEPLAY.marker, pattern, Unbox.box(p0));
+    }
+
+    public static void logGameplay(String pattern, int p0, int p1) {
+        if (!GAMEPLAY.logger.isInfoEnabled(GAMEPLAY.marker)) return;
+        GAMEPLAY.logger.info(GAMEPLAY.marker, pattern, Unbox.box(p0), Unbox.box(p1));
+    }
+
+    /**
+     * Log a repeating gameplay event through a rate limiter
+     * Events over the limiter's budget are counted instead of logged; the count is reported
+     * with the next event that gets through.
+     */
+    public static void logGameplay(LogRateLimiter limiter, String event) {
+        if (!GAMEPLAY.logger.isInfoEnabled(GAMEPLAY.marker) || !limiter.tryAcquire()) return;
+        GAMEPLAY.logger.info(GAMEPLAY.marker, event);
+        reportSuppressed(limiter);
+    }
+
+    public static void logGameplay(LogRateLimiter limiter, String pattern, Object p0) {
+        if (!GAMEPLAY.logger.isInfoEnabled(GAMEPLAY.marker) || !limiter.tryAcquire()) return;
+        GAMEPLAY.logger.info(GAMEPLAY.marker, pattern, p0);
+        reportSuppressed(limiter);
+    }
+
+    public static void logGameplay(LogRateLimiter limiter, String pattern, int p0, int p1) {
+        if (!GAMEPLAY.logger.isInfoEnabled(GAMEPLAY.marker) || !limiter.tryAcquire()) return;
+        GAMEPLAY.logger.info(GAMEPLAY.marker, pattern, Unbox.box(p0), Unbox.box(p1));
+        reportSuppressed(limiter);
+    }
+
+    private static void reportSuppressed(LogRateLimiter limiter) {
+        long suppressed = limiter.drainSuppressed();
+        if (suppressed > 0) {
+            GAMEPLAY.logger.info(GAMEPLAY.marker, "{}: {} similar events suppressed",
+                limiter.getName(), Unbox.box(suppressed));
+        }
     }
 
     /**
@@ -77,4 +167,43 @@ public class GameLogger {
     public static void warn(String message) {
         logger.warn(message);
     }
+
+    public static void warn(String pattern, Object p0) {
+        logger.warn(pattern, p0);
+    }
+
+    /**
+     * Change the log level of every logger at runtime (e.g. "WARN" for fast batch simulations)
+     */
+    public static void setLevel(String level) {
+        Configurator.setAllLevels(LogManager.ROOT_LOGGER_NAME, Level.toLevel(level, Level.INFO));
+    }
+
+    /**
+     * Change the log level of a single category (e.g. silence GAMEPLAY while keeping STATE)
+     */
+    public static void setLevel(Category category, String level) {
+        Configurator.setLevel(category.loggerName, Level.toLevel(level, Level.INFO));
+    }
+
+    /**
+     * Number of log events queued in the async ring buffer and not yet written, or -1 if the
+     * loggers are not asynchronous; a growing backlog means the appenders can't keep up
+     * Reads the ring buffer cursors only, so it is safe to call from any thread.
+     */
+    public static long getBacklog() {
+        if (!(LogManager.getContext(false) instanceof LoggerContext)) return -1;
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        AsyncLoggerConfigDelegate delegate = context.getConfiguration().getAsyncLoggerConfigDelegate();
+        if (delegate == null) return -1;
+        RingBufferAdmin ringBuffer = delegate.createRingBufferAdmin(context.getName(), LogManager.ROOT_LOGGER_NAME);
+        return ringBuffer.getBufferSize() - ringBuffer.getRemainingCapacity();
+    }
+
+    /**
+     * Check whether a category would log at INFO, for callers that must compute arguments
+     */
+    public static boolean isEnabled(Category category) {
+        return category.logger.isInfoEnabled(category.marker);
+    }
 }
@@ -0,0 +1,82 @@
+package com.miniplatformer.utils;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of durations in nanoseconds, in the style of HdrHistogram
+ * Every power of two is split into 32 linear sub-buckets, so any recorded value is reported
+ * within about 3% of its true value, from 1 ns up to about 18 minutes, in one preallocated
+ * array. Recording is a couple of shifts and an increment: no allocation, no locking.
+ * Not thread-safe; each histogram is recorded from one thread.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40; // Values from 2^40 ns up land in the top bucket
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long max;
+
+    /**
+     * Record one duration
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Duration at or below which the given percentage (0-100) of recordings fall
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long threshold = Math.max(1, (long) Math.ceil(totalCount * Math.min(100, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        max = 0;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_MAGNITUDE);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) Math.min((value >>> shift) - SUB_BUCKETS, SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.miniplatformer.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-window rate limiter for repeating log events
+ * Lets at most a given number of events through per window and counts the rest, so a burst of
+ * identical events (coins, shots) costs one log line plus a suppressed-count summary.
+ */
+public class LogRateLimiter {
+    private final String name;
+    private final int maxPerWindow;
+    private final long windowNanos;
+
+    private long windowStart;
+    private int emittedInWindow;
+    private long suppressed;
+    private long totalSuppressed;
+
+    public LogRateLimiter(String name, int maxPerWindow, long window, TimeUnit unit) {
+        if (maxPerWindow <= 0) {
+            throw new IllegalArgumentException("Rate limit must be positive: " + maxPerWindow);
+        }
+        this.name = name;
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = unit.toNanos(window);
+        this.windowStart = System.nanoTime() - windowNanos;
+    }
+
+    /**
+     * Try to take a slot in the current window
+     * @return true if the event should be logged, false if it was counted as suppressed
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            emittedInWindow = 0;
+        }
+        if (emittedInWindow < maxPerWindow) {
+            emittedInWindow++;
+            return true;
+        }
+        suppressed++;
+        totalSuppressed++;
+        return false;
+    }
+
+    /**
+     * Return the number of events suppressed since the last drain and reset it
+     */
+    public synchronized long drainSuppressed() {
+        long count = suppressed;
+        suppressed = 0;
+        return count;
+    }
+
+    public synchronized long getTotalSuppressed() {
+        return totalSuppressed;
+    }
+
+    public String getName() {
+        return name;
+    }
+}